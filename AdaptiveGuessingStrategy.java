@@ -0,0 +1,105 @@
+/**
+ * @file AdaptiveGuessingStrategy.java
+ * @brief This file contains the AdaptiveGuessingStrategy class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @class AdaptiveGuessingStrategy
+ * @brief Guesses the letter found in most dictionary words that are still possible.
+ * @details Keeps the candidate words of the current game and narrows them after every guess,
+ *          so later guesses get cheaper. Not thread-safe, one instance per thread.
+ */
+class AdaptiveGuessingStrategy implements GuessingStrategy {
+
+    private final WordStore words; // dictionary the secret words come from
+    private final Alphabet alphabet; // letters of the dictionary
+    private final Map<Integer, int[]> wordsByLength = new HashMap<>(); // word ids per length, made when first needed
+    private int[] candidates = new int[0]; // ids of words still possible
+    private int candidateCount = 0; // number of valid entries in candidates
+    private final int[] letterCounts; // candidates containing each letter of the alphabet
+
+    /**
+	 * @method AdaptiveGuessingStrategy
+     * @brief Constructor of AdaptiveGuessingStrategy class.
+     * @param words Dictionary the secret words come from.
+     */
+    AdaptiveGuessingStrategy(WordStore words) {
+        this.words = words;
+        this.alphabet = words.getAlphabet();
+        this.letterCounts = new int[alphabet.size()];
+    }
+
+    @Override
+    public char nextGuess(String currentWord, int guessedLetters) {
+        if (guessedLetters == 0) {
+            // new game - every word of this length is possible
+            int[] all = wordsByLength.computeIfAbsent(currentWord.length(), words::wordsOfLength);
+            if (candidates.length < all.length) {
+                candidates = new int[all.length];
+            }
+            System.arraycopy(all, 0, candidates, 0, all.length);
+            candidateCount = all.length;
+        }
+
+        // letters that were guessed but not revealed are not in the word
+        int revealed = 0;
+        for (int i = 0; i < currentWord.length(); i++) {
+            revealed |= alphabet.bit(currentWord.charAt(i));
+        }
+        int missed = guessedLetters & ~revealed;
+
+        // keep candidates fitting the current word, count their letters
+        Arrays.fill(letterCounts, 0);
+        int kept = 0;
+        for (int c = 0; c < candidateCount; c++) {
+            int id = candidates[c];
+            int mask = words.getLetterMask(id);
+            if ((mask & missed) != 0 || !fits(id, currentWord, guessedLetters)) {
+                continue;
+            }
+            candidates[kept++] = id;
+            int unguessed = mask & ~guessedLetters;
+            while (unguessed != 0) {
+                letterCounts[Integer.numberOfTrailingZeros(unguessed)]++;
+                unguessed &= unguessed - 1;
+            }
+        }
+        candidateCount = kept;
+
+        int best = -1;
+        for (int letter = 0; letter < letterCounts.length; letter++) {
+            if (letterCounts[letter] > 0 && (best < 0 || letterCounts[letter] > letterCounts[best])) {
+                best = letter;
+            }
+        }
+        return best < 0 ? GuessingStrategy.firstUnguessed(guessedLetters, alphabet) : alphabet.letterAt(best);
+    }
+
+    /**
+	 * @method fits
+     * @brief Checks if a word agrees with the current representation of the secret word.
+     * @param id Word id.
+     * @param currentWord Current representation (??r??o??).
+     * @param guessedLetters Mask of guessed letters.
+     * @return <code>true</code> if the word could be the secret word, <code>false</code> otherwise.
+     */
+    private boolean fits(int id, String currentWord, int guessedLetters) {
+        for (int i = 0; i < currentWord.length(); i++) {
+            char shown = currentWord.charAt(i);
+            char c = words.letterAt(id, i);
+            int letter = alphabet.indexOf(c);
+            if (shown == '?' ? letter >= 0 && (guessedLetters & (1 << letter)) != 0
+                    : letter >= 0 ? letter != alphabet.indexOf(shown) : c != shown) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
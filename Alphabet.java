@@ -0,0 +1,305 @@
+/**
+ * @file Alphabet.java
+ * @brief This file contains the Alphabet class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/**
+ * @class Alphabet
+ * @brief The letters a dictionary is played with, numbered 0..size()-1 so that sets of them fit into an int.
+ * @details Every character folds to at most one letter: capitals to small letters, accented letters to
+ *          their base letter (e.g. '&#x451;' to '&#x435;' in RUSSIAN) and a few extra pairs such as the
+ *          Greek final sigma. Folding is worked out when an alphabet is made, for all characters below
+ *          TABLE_SIZE (Latin, Greek and Cyrillic with their extensions), so looking up a guess is a single
+ *          array read.
+ *          The built-in alphabets also know how often their letters occur in text, which WordStore rates the
+ *          difficulty of words with.
+ *          Instances are immutable and shared; letters must be small letters of the Basic Multilingual Plane.
+ */
+public final class Alphabet {
+
+    static final int MAX_LETTERS = 32; // letter masks of games, logs and archives are ints
+    private static final int TABLE_SIZE = 0x2000; // characters folded by the tables, at least
+    private static final byte NONE = -1; // table entry of characters that are no letter
+    private static final byte MARK = -2; // table entry of combining marks, dropped when normalizing
+    private static final char[] BASES = bases(); // letter every character below TABLE_SIZE is an accented form of
+
+    public static final Alphabet ENGLISH = new Alphabet("english", range('a', 'z'), "", new int[] {
+        82, 15, 28, 43, 127, 22, 20, 61, 70, 2, 8, 40, 24, 67, 75, 19, 1, 60, 63, 91, 28, 10, 24, 2, 20, 1
+    });
+    public static final Alphabet RUSSIAN = new Alphabet("russian", range('\u0430', '\u044f'), "", new int[] {
+        80, 16, 45, 17, 30, 85, 9, 17, 74, 12, 35, 44, 32, 67, 110, 28,
+        47, 55, 63, 26, 3, 10, 5, 14, 7, 4, 1, 19, 17, 3, 6, 20
+    }); // io folds to ie, and is counted with it
+    public static final Alphabet GREEK = new Alphabet("greek", range('\u03b1', '\u03c9').replace("\u03c2", ""),
+            "\u03c2\u03c3", new int[] {
+        120, 8, 18, 17, 80, 5, 55, 13, 80, 42, 30, 33, 60, 5, 98, 43, 43, 80, 88, 42, 8, 12, 2, 20
+    }); // final sigma folds to sigma, and is counted with it
+
+    private final String name; // name of the alphabet
+    private final char[] letters; // letter of every index
+    private final byte[] indexes; // index of the letter every character folds to, NONE or MARK
+    private final int[] frequencies; // relative frequency of every letter in text, per mille; null if not known
+
+    /**
+	 * @method Alphabet
+     * @brief Constructor of Alphabet class. Builds the folding table.
+     * @param name Name of the alphabet.
+     * @param letters Small letters in order.
+     * @param folds Pairs of extra characters and the letters they fold to.
+     * @param frequencies Frequency of every letter in text, per mille, or <code>null</code> if not known.
+     */
+    private Alphabet(String name, String letters, String folds, int[] frequencies) {
+        if (letters.isEmpty() || letters.length() > MAX_LETTERS || folds.length() % 2 != 0) {
+            throw new IllegalArgumentException("an alphabet has 1 to " + MAX_LETTERS + " letters: " + letters);
+        }
+        if (frequencies != null && frequencies.length != letters.length()) {
+            throw new IllegalArgumentException("an alphabet needs a frequency for every letter: " + letters);
+        }
+        this.name = name;
+        this.letters = letters.toCharArray();
+        this.frequencies = frequencies;
+        int size = TABLE_SIZE;
+        for (char letter : this.letters) {
+            if (Character.isSurrogate(letter) || letters.indexOf(letter) != letters.lastIndexOf(letter)) {
+                throw new IllegalArgumentException("letters of an alphabet must be distinct characters: " + letters);
+            }
+            size = Math.max(size, letter + 1);
+        }
+
+        indexes = new byte[size];
+        Arrays.fill(indexes, NONE);
+        for (int c = 0; c < size; c++) {
+            int index = fold(Character.toLowerCase((char) c), letters, folds);
+            if (index < 0 && c < TABLE_SIZE && BASES[c] != c) {
+                index = fold(Character.toLowerCase(BASES[c]), letters, folds);
+            }
+            if (index >= 0) {
+                indexes[c] = (byte) index;
+            } else if (isMark((char) c)) {
+                indexes[c] = MARK;
+            }
+        }
+    }
+
+    /**
+	 * @method bases
+     * @brief Finds the letter every accented letter below TABLE_SIZE decomposes to, once for all alphabets.
+     * @return The letter its canonical decomposition starts with if only marks follow, else the character itself.
+     */
+    private static char[] bases() {
+        char[] bases = new char[TABLE_SIZE];
+        for (int c = 0; c < TABLE_SIZE; c++) {
+            bases[c] = (char) c;
+            if (c >= 0x80 && Character.isLetter(c)) {
+                String decomposed = Normalizer.normalize(String.valueOf((char) c), Normalizer.Form.NFD);
+                boolean marksOnly = decomposed.length() > 1;
+                for (int i = 1; i < decomposed.length(); i++) {
+                    marksOnly &= isMark(decomposed.charAt(i));
+                }
+                if (marksOnly) {
+                    bases[c] = decomposed.charAt(0);
+                }
+            }
+        }
+        return bases;
+    }
+
+    /**
+	 * @method fold
+     * @brief Index of a small letter or of the letter an extra pair folds it to.
+     */
+    private static int fold(char c, String letters, String folds) {
+        int index = letters.indexOf(c);
+        for (int i = 0; index < 0 && i < folds.length(); i += 2) {
+            if (folds.charAt(i) == c) {
+                index = letters.indexOf(folds.charAt(i + 1));
+            }
+        }
+        return index;
+    }
+
+    /**
+	 * @method isMark
+     * @brief Checks if a character is a combining mark (accent).
+     */
+    private static boolean isMark(char c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    /**
+	 * @method range
+     * @brief Characters from one to another, both included.
+     */
+    private static String range(char first, char last) {
+        StringBuilder letters = new StringBuilder();
+        for (char c = first; c <= last; c++) {
+            letters.append(c);
+        }
+        return letters.toString();
+    }
+
+    /**
+	 * @method of
+     * @brief Alphabet of given letters, one of the built-in ones if they have the same letters.
+     * @param letters Small letters in order, at most MAX_LETTERS.
+     * @return The alphabet.
+     * @throws IllegalArgumentException If the letters are not distinct or too many.
+     */
+    public static Alphabet of(String letters) {
+        for (Alphabet alphabet : new Alphabet[] {ENGLISH, RUSSIAN, GREEK}) {
+            if (alphabet.getLetters().equals(letters)) {
+                return alphabet;
+            }
+        }
+        return new Alphabet(letters, letters, "", null);
+    }
+
+    /**
+	 * @method forName
+     * @brief Built-in alphabet by name, or an alphabet of the letters given instead.
+     * @param name "english", "russian", "greek" or the letters.
+     * @return The alphabet.
+     * @throws IllegalArgumentException If the name is neither.
+     */
+    public static Alphabet forName(String name) {
+        for (Alphabet alphabet : new Alphabet[] {ENGLISH, RUSSIAN, GREEK}) {
+            if (alphabet.name.equals(name)) {
+                return alphabet;
+            }
+        }
+        return of(name);
+    }
+
+    /**
+	 * @method getName
+     * @brief Getter method for the name of the alphabet.
+     * @return Name, the letters themselves for alphabets that are not built in.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+	 * @method size
+     * @brief Number of letters.
+     * @return Number of letters, at most MAX_LETTERS.
+     */
+    public int size() {
+        return letters.length;
+    }
+
+    /**
+	 * @method getLetters
+     * @brief All letters in order.
+     * @return String of the letters.
+     */
+    public String getLetters() {
+        return new String(letters);
+    }
+
+    /**
+	 * @method hasFrequencies
+     * @brief Checks if it is known how often the letters occur in text, as it is for the built-in alphabets.
+     * @return <code>true</code> if getFrequency gives the frequencies.
+     */
+    public boolean hasFrequencies() {
+        return frequencies != null;
+    }
+
+    /**
+	 * @method getFrequency
+     * @brief How often a letter occurs in text.
+     * @param index Index 0..size()-1.
+     * @return Frequency per mille, 0 if hasFrequencies is false.
+     */
+    public int getFrequency(int index) {
+        return frequencies == null ? 0 : frequencies[index];
+    }
+
+    /**
+	 * @method letterAt
+     * @brief Letter of an index.
+     * @param index Index 0..size()-1.
+     * @return Small letter.
+     */
+    public char letterAt(int index) {
+        return letters[index];
+    }
+
+    /**
+	 * @method indexOf
+     * @brief Index of the letter a character folds to.
+     * @param c Any character, e.g. a typed key.
+     * @return Index 0..size()-1, or -1 if the character is no letter of the alphabet.
+     */
+    public int indexOf(char c) {
+        return c < indexes.length ? Math.max(indexes[c], -1) : -1;
+    }
+
+    /**
+	 * @method bit
+     * @brief Bit of the letter a character folds to in a letter mask.
+     * @param c Any character.
+     * @return Bit of the letter, or 0 if the character is no letter of the alphabet.
+     */
+    public int bit(char c) {
+        int index = indexOf(c);
+        return index < 0 ? 0 : 1 << index;
+    }
+
+    /**
+	 * @method letterMask
+     * @brief Mask of the letters of a word.
+     * @param word Word.
+     * @return Mask with the bit of every letter the word's characters fold to.
+     */
+    public int letterMask(CharSequence word) {
+        int mask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            mask |= bit(word.charAt(i));
+        }
+        return mask;
+    }
+
+    /**
+	 * @method normalize
+     * @brief Folds every character of a word to its letter.
+     * @details Accents given as separate combining marks are composed first where that makes a letter
+     *          and dropped otherwise.
+     * @param word Word, e.g. a line of a word list.
+     * @return The word in small letters of this alphabet, or <code>null</code> if it has other characters.
+     */
+    public String normalize(String word) {
+        char[] folded = new char[word.length()];
+        int length = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            int index = c < indexes.length ? indexes[c] : NONE;
+            if (index == MARK) {
+                String composed = Normalizer.normalize(word, Normalizer.Form.NFC);
+                if (!composed.equals(word)) {
+                    return normalize(composed);
+                }
+                continue; // nothing to compose with, the accent is dropped
+            }
+            if (index == NONE) {
+                return null;
+            }
+            folded[length++] = letters[index];
+        }
+        return new String(folded, 0, length);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,454 @@
+/**
+ * @file CandidateIndex.java
+ * @brief This file contains the CandidateIndex class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.Arrays;
+
+/**
+ * @class CandidateIndex
+ * @brief Bitset index over all dictionary words of one length.
+ * @details Words of the length get dense local ids. For every (position, letter) and every letter there is
+ *          a bitset of local ids, so sets of candidate words can be filtered and split by a guess with
+ *          word-wide bit operations instead of looking at the words themselves. Letters are indexes in
+ *          the alphabet of the dictionary, so capital and accented forms count as their letter.
+ *          Indexes are immutable and shared; get them from WordStore.candidateIndex.
+ */
+final class CandidateIndex {
+
+    private final int length; // length of all words in the index
+    private final Alphabet alphabet; // letters of the words
+    private final int letters; // number of letters of the alphabet
+    private final int[] wordIds; // global word id of every local id, sorted
+    private final int words; // number of words
+    private final long[][] hasLetter; // [letter] words containing the letter
+    private final long[][] letterAt; // [position * letters + letter] words with the letter at the position
+
+    /**
+	 * @method CandidateIndex
+     * @brief Constructor of CandidateIndex class.
+     * @param store Dictionary.
+     * @param length Word length to index.
+     */
+    CandidateIndex(WordStore store, int length) {
+        this.length = length;
+        this.alphabet = store.getAlphabet();
+        this.letters = alphabet.size();
+        this.wordIds = store.wordsOfLength(length);
+        Arrays.sort(wordIds);
+        this.words = wordIds.length;
+
+        int size = (words + 63) >>> 6;
+        hasLetter = new long[letters][size];
+        letterAt = new long[length * letters][size];
+        for (int local = 0; local < words; local++) {
+            int id = wordIds[local];
+            String word = store.isAscii(id) ? null : store.getWord(id); // decoded once if not ASCII
+            long bit = 1L << local;
+            for (int position = 0; position < length; position++) {
+                int letter = alphabet.indexOf(word == null ? store.letterAt(id, position) : word.charAt(position));
+                if (letter >= 0) {
+                    hasLetter[letter][local >>> 6] |= bit;
+                    letterAt[position * letters + letter][local >>> 6] |= bit;
+                }
+            }
+        }
+    }
+
+    /**
+	 * @method size
+     * @brief Number of words in the index.
+     */
+    int size() {
+        return words;
+    }
+
+    /**
+	 * @method allWords
+     * @brief Bitset with every word of the index.
+     * @return New bitset.
+     */
+    long[] allWords() {
+        long[] all = new long[(words + 63) >>> 6];
+        Arrays.fill(all, -1L);
+        if ((words & 63) != 0) {
+            all[all.length - 1] = (1L << words) - 1; // shift uses only the low 6 bits of words
+        }
+        return all;
+    }
+
+    /**
+	 * @method wordId
+     * @brief Global word id of a local id.
+     */
+    int wordId(int local) {
+        return wordIds[local];
+    }
+
+    /**
+	 * @method localId
+     * @brief Local id of a global word id.
+     * @return Local id, or a negative number if the word has another length.
+     */
+    int localId(int wordId) {
+        return Arrays.binarySearch(wordIds, wordId);
+    }
+
+    /**
+	 * @method matching
+     * @brief Words that fit a current representation of the secret word and the guessed letters.
+     * @param currentWord Current representation (??r??o??), of the index's length.
+     * @param guessedLetters Mask of guessed letters, bit i is letter i of the alphabet.
+     * @return New bitset of fitting words.
+     */
+    long[] matching(String currentWord, int guessedLetters) {
+        long[] set = allWords();
+
+        int revealed = 0;
+        for (int position = 0; position < length; position++) {
+            revealed |= alphabet.bit(currentWord.charAt(position));
+        }
+
+        // letters that were guessed but not revealed are in none of the positions
+        int missed = guessedLetters & ~revealed;
+        while (missed != 0) {
+            andNot(set, hasLetter[Integer.numberOfTrailingZeros(missed)]);
+            missed &= missed - 1;
+        }
+
+        // revealed letters are exactly where they are shown
+        for (int position = 0; position < length; position++) {
+            int shown = alphabet.indexOf(currentWord.charAt(position));
+            if (shown >= 0) {
+                and(set, letterAt[position * letters + shown]);
+            } else {
+                int others = revealed;
+                while (others != 0) {
+                    andNot(set, letterAt[position * letters + Integer.numberOfTrailingZeros(others)]);
+                    others &= others - 1;
+                }
+            }
+        }
+        return set;
+    }
+
+    /**
+	 * @method countWithLetter
+     * @brief Number of words of a set that contain a letter.
+     * @param set Bitset of words.
+     * @param letter Index of the letter in the alphabet.
+     * @return Number of words.
+     */
+    int countWithLetter(long[] set, int letter) {
+        return countIn(set, hasLetter[letter]);
+    }
+
+    /**
+	 * @method countIn
+     * @brief Number of words of a set that are also in another set.
+     */
+    private static int countIn(long[] set, long[] other) {
+        int count = 0;
+        for (int i = 0; i < set.length; i++) {
+            count += Long.bitCount(set[i] & other[i]);
+        }
+        return count;
+    }
+
+    /**
+	 * @method largestPartition
+     * @brief Splits candidates by where a letter would be revealed and returns the largest part.
+     * @details Words without the letter form one part. Words with it are grouped by their reveal pattern
+     *          (bit p set if the letter is at position p), counted in one pass, and the largest group is
+     *          then collected with word-wide bit operations. On a tie the part without the letter wins,
+     *          so the player misses. Every group with the letter lies within the words with it, and within
+     *          the words with it at any one position, so when the part without it is at least as large as
+     *          those, which is usual, the groups are not counted at all.
+     * @param candidates Bitset of candidate words.
+     * @param l Index of the guessed letter in the alphabet.
+     * @return New bitset of the largest part.
+     */
+    long[] largestPartition(long[] candidates, int l) {
+        long[] has = hasLetter[l];
+        int absentSize = 0;
+        int presentSize = 0;
+        for (int i = 0; i < candidates.length; i++) {
+            absentSize += Long.bitCount(candidates[i] & ~has[i]);
+            presentSize += Long.bitCount(candidates[i] & has[i]);
+        }
+
+        boolean absentWins = absentSize >= presentSize;
+        if (!absentWins) {
+            int largestAt = 0;
+            for (int position = 0; position < length; position++) {
+                largestAt = Math.max(largestAt, countIn(candidates, letterAt[position * letters + l]));
+            }
+            absentWins = absentSize >= largestAt;
+        }
+        long best = 0;
+        if (!absentWins) {
+            PatternCounter patterns = countPatterns(candidates, l);
+            absentWins = patterns.bestCount() <= absentSize;
+            best = patterns.bestPattern();
+        }
+        if (absentWins) {
+            long[] absent = new long[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                absent[i] = candidates[i] & ~has[i];
+            }
+            return absent;
+        }
+
+        // collect the words of the largest pattern
+        long[] part = new long[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            long words = candidates[i] & has[i];
+            for (int position = 0; position < length && words != 0; position++) {
+                long[] at = letterAt[position * letters + l];
+                words &= ((best >>> position) & 1L) != 0 ? at[i] : ~at[i];
+            }
+            part[i] = words;
+        }
+        return part;
+    }
+
+    /**
+	 * @method largestPartition
+     * @brief Splits a few candidates by where a letter would be revealed and returns the largest part.
+     * @details Same split as for a bitset, but the work depends only on the number of candidates: the
+     *          reveal pattern of each word is read from the bitsets bit by bit.
+     * @param candidates Local ids of the candidate words, sorted.
+     * @param l Index of the guessed letter in the alphabet.
+     * @return New array of the local ids of the largest part, sorted.
+     */
+    int[] largestPartition(int[] candidates, int l) {
+        long[] has = hasLetter[l];
+        long[][] at = new long[length][];
+        for (int position = 0; position < length; position++) {
+            at[position] = letterAt[position * letters + l];
+        }
+        long[] patterns = new long[candidates.length]; // pattern of every candidate, 0 without the letter
+        PatternCounter counter = new PatternCounter();
+        int absentSize = 0;
+        for (int j = 0; j < candidates.length; j++) {
+            int local = candidates[j];
+            if ((has[local >>> 6] & (1L << local)) == 0) {
+                absentSize++;
+                continue;
+            }
+            long pattern = 0;
+            for (int position = 0; position < length; position++) {
+                pattern |= ((at[position][local >>> 6] >>> local) & 1L) << position;
+            }
+            patterns[j] = pattern;
+            counter.add(pattern, 1);
+        }
+
+        long best = counter.bestCount() > absentSize ? counter.bestPattern() : 0;
+        int[] part = new int[best == 0 ? absentSize : counter.bestCount()];
+        int filled = 0;
+        for (int j = 0; j < candidates.length; j++) {
+            if (patterns[j] == best) {
+                part[filled++] = candidates[j];
+            }
+        }
+        return part;
+    }
+
+    /**
+	 * @method largestGroupWith
+     * @brief Size of the largest group of candidates that would show a letter at the same positions.
+     * @param candidates Bitset of candidate words.
+     * @param l Index of the letter in the alphabet.
+     * @return Number of words in the group, 0 if no candidate contains the letter.
+     */
+    int largestGroupWith(long[] candidates, int l) {
+        return countPatterns(candidates, l).bestCount();
+    }
+
+    /**
+	 * @method countPatterns
+     * @brief Counts the candidates containing a letter by reveal pattern (bit p set if the letter is at position p).
+     * @details Words where the letter occurs once are counted with bit operations per position, only words
+     *          with a repeated letter are looked at one by one.
+     */
+    private PatternCounter countPatterns(long[] candidates, int l) {
+        long[] has = hasLetter[l];
+        long[][] at = new long[length][];
+        for (int position = 0; position < length; position++) {
+            at[position] = letterAt[position * letters + l];
+        }
+        int[] single = new int[length];
+        PatternCounter repeated = new PatternCounter();
+        for (int i = 0; i < candidates.length; i++) {
+            long present = candidates[i] & has[i];
+            if (present == 0) {
+                continue;
+            }
+            long once = 0;
+            long twice = 0;
+            for (int position = 0; position < length; position++) {
+                long here = at[position][i] & present;
+                twice |= once & here;
+                once |= here;
+            }
+            long onlyOnce = present & ~twice;
+            if (onlyOnce != 0) {
+                for (int position = 0; position < length; position++) {
+                    single[position] += Long.bitCount(at[position][i] & onlyOnce);
+                }
+            }
+            long more = present & twice;
+            while (more != 0) {
+                int bit = Long.numberOfTrailingZeros(more);
+                long pattern = 0;
+                for (int position = 0; position < length; position++) {
+                    pattern |= ((at[position][i] >>> bit) & 1L) << position;
+                }
+                repeated.add(pattern, 1);
+                more &= more - 1;
+            }
+        }
+        for (int position = 0; position < length; position++) {
+            if (single[position] > 0) {
+                repeated.add(1L << position, single[position]); // never one of the repeated patterns
+            }
+        }
+        return repeated;
+    }
+
+    /**
+     * @class PatternCounter
+     * @brief Counts reveal patterns in an open-addressing table of primitive longs.
+     */
+    private static final class PatternCounter {
+        private long[] patterns = new long[64]; // pattern per slot
+        private int[] counts = new int[64]; // count per slot, 0 for a free slot
+        private int used = 0; // occupied slots
+        private long bestPattern = 0; // pattern with the highest count so far
+        private int bestCount = 0; // its count
+
+        void add(long pattern, int times) {
+            if (used * 2 >= patterns.length) {
+                grow();
+            }
+            int slot = slot(pattern, patterns.length);
+            while (counts[slot] != 0 && patterns[slot] != pattern) {
+                slot = (slot + 1) & (patterns.length - 1);
+            }
+            if (counts[slot] == 0) {
+                patterns[slot] = pattern;
+                used++;
+            }
+            int count = counts[slot] += times;
+            if (count > bestCount) {
+                bestCount = count;
+                bestPattern = pattern;
+            }
+        }
+
+        int bestCount() {
+            return bestCount;
+        }
+
+        long bestPattern() {
+            return bestPattern;
+        }
+
+        private void grow() {
+            long[] oldPatterns = patterns;
+            int[] oldCounts = counts;
+            patterns = new long[oldPatterns.length * 2];
+            counts = new int[oldCounts.length * 2];
+            for (int i = 0; i < oldPatterns.length; i++) {
+                if (oldCounts[i] != 0) {
+                    int slot = slot(oldPatterns[i], patterns.length);
+                    while (counts[slot] != 0) {
+                        slot = (slot + 1) & (patterns.length - 1);
+                    }
+                    patterns[slot] = oldPatterns[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        private static int slot(long pattern, int size) {
+            return (int) ((pattern * 0x9E3779B97F4A7C15L) >>> 40) & (size - 1);
+        }
+    }
+
+    /**
+	 * @method and
+     * @brief Keeps only words that are also in another set.
+     */
+    private static void and(long[] set, long[] other) {
+        for (int i = 0; i < set.length; i++) {
+            set[i] &= other[i];
+        }
+    }
+
+    /**
+	 * @method andNot
+     * @brief Removes words that are in another set.
+     */
+    private static void andNot(long[] set, long[] other) {
+        for (int i = 0; i < set.length; i++) {
+            set[i] &= ~other[i];
+        }
+    }
+
+    /**
+	 * @method cardinality
+     * @brief Number of words in a bitset.
+     */
+    static int cardinality(long[] set) {
+        int count = 0;
+        for (long bits : set) {
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    /**
+	 * @method toList
+     * @brief Local ids of the words in a bitset.
+     * @param set Bitset of words.
+     * @param count Number of words in it.
+     * @return New array of local ids, sorted.
+     */
+    static int[] toList(long[] set, int count) {
+        int[] list = new int[count];
+        int filled = 0;
+        for (int i = 0; i < set.length && filled < count; i++) {
+            for (long bits = set[i]; bits != 0; bits &= bits - 1) {
+                list[filled++] = (i << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return list;
+    }
+
+    /**
+	 * @method firstWord
+     * @brief Lowest local id in a bitset.
+     * @return Local id, or -1 if the set is empty.
+     */
+    static int firstWord(long[] set) {
+        for (int i = 0; i < set.length; i++) {
+            if (set[i] != 0) {
+                return (i << 6) + Long.numberOfTrailingZeros(set[i]);
+            }
+        }
+        return -1;
+    }
+
+    /**
+	 * @method contains
+     * @brief Checks if a local id is in a bitset.
+     */
+    static boolean contains(long[] set, int local) {
+        return local >= 0 && (set[local >>> 6] & (1L << local)) != 0;
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * @file CountMinSketch.java
+ * @brief This file contains the CountMinSketch class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @class CountMinSketch
+ * @brief Fixed-size counters of how often keys were seen, never underestimating.
+ * @details Each of <code>depth</code> rows hashes a key to one of <code>width</code> counters. Adding
+ *          increases the key's counter in every row, and the estimate is the smallest of them, which is
+ *          off by at most about e/width of the total count with probability 1 - e^-depth.
+ *          Thread-safe without locks. Sketches of the same size can be merged by adding counters.
+ */
+final class CountMinSketch {
+
+    private final int depth; // number of rows
+    private final int width; // counters per row, a power of two
+    private final AtomicLongArray counts; // [row * width + column] counters
+
+    /**
+	 * @method CountMinSketch
+     * @brief Constructor of CountMinSketch class.
+     * @param depth Number of rows.
+     * @param width Counters per row, a power of two.
+     */
+    CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("depth must be positive and width a power of two");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counts = new AtomicLongArray(depth * width);
+    }
+
+    /**
+	 * @method column
+     * @brief Column of a key in a row; rows use independent hashes.
+     */
+    static int column(long key, int row, int width) {
+        return (int) (mix(key + (row + 1) * 0x9E3779B97F4A7C15L) >>> 32) & (width - 1);
+    }
+
+    /**
+	 * @method mix
+     * @brief 64-bit hash finalizer (variant 13 of Stafford's mix).
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+	 * @method add
+     * @brief Adds to the count of a key.
+     * @param key Key.
+     * @param count Amount to add, not negative.
+     */
+    void add(long key, long count) {
+        for (int row = 0; row < depth; row++) {
+            counts.addAndGet(row * width + column(key, row, width), count);
+        }
+    }
+
+    /**
+	 * @method estimate
+     * @brief Estimated count of a key, never less than the true count.
+     * @param key Key.
+     * @return Estimate.
+     */
+    long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.get(row * width + column(key, row, width)));
+        }
+        return estimate;
+    }
+
+    /**
+	 * @method merge
+     * @brief Adds the counts of another sketch of the same size.
+     * @param other Sketch to add, e.g. from another node.
+     * @throws IllegalArgumentException If the sketches differ in size.
+     */
+    void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("count-min sketches of different sizes can not be merged");
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            counts.addAndGet(i, other.counts.get(i));
+        }
+    }
+
+    /**
+	 * @method writeTo
+     * @brief Writes the sketch, to be read by readFrom.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(depth);
+        out.writeInt(width);
+        for (int i = 0; i < counts.length(); i++) {
+            out.writeLong(counts.get(i));
+        }
+    }
+
+    /**
+	 * @method readFrom
+     * @brief Reads a sketch written by writeTo.
+     */
+    static CountMinSketch readFrom(DataInput in) throws IOException {
+        int depth = in.readInt();
+        int width = in.readInt();
+        if (depth <= 0 || width <= 0 || Integer.bitCount(width) != 1 || (long) depth * width > 1 << 26) {
+            throw new IOException("not a count-min sketch");
+        }
+        CountMinSketch sketch = new CountMinSketch(depth, width);
+        for (int i = 0; i < sketch.counts.length(); i++) {
+            sketch.counts.set(i, in.readLong());
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * @file DistinctCountSketch.java
+ * @brief This file contains the DistinctCountSketch class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * @class DistinctCountSketch
+ * @brief Fixed-size estimate of how many distinct items were seen with each key.
+ * @details A count-min sketch whose cells are small HyperLogLogs instead of counters: adding an item
+ *          for a key adds it to the key's HyperLogLog in every row, and the estimate is the smallest of
+ *          those. Each HyperLogLog has 64 one-byte registers (about 13% standard error); a cell shared
+ *          with other keys can only overestimate, which more rows make less likely.
+ *          Registers are packed four to an int and raised with compare-and-set, so it is thread-safe
+ *          without locks. Sketches of the same size are merged by taking the larger register.
+ */
+final class DistinctCountSketch {
+
+    static final int PRECISION = 6; // bits of the hash choosing a register
+    static final int REGISTERS = 1 << PRECISION; // registers per HyperLogLog
+    private static final double ALPHA = 0.709; // bias correction of HyperLogLog for 64 registers
+
+    private final int depth; // number of rows
+    private final int width; // HyperLogLogs per row, a power of two
+    private final AtomicIntegerArray registers; // 4 registers per int, REGISTERS per cell
+
+    /**
+	 * @method DistinctCountSketch
+     * @brief Constructor of DistinctCountSketch class.
+     * @param depth Number of rows.
+     * @param width HyperLogLogs per row, a power of two.
+     */
+    DistinctCountSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("depth must be positive and width a power of two");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.registers = new AtomicIntegerArray(depth * width * REGISTERS / 4);
+    }
+
+    /**
+	 * @method add
+     * @brief Records that an item was seen with a key.
+     * @param key Key, e.g. a word.
+     * @param item Item, e.g. a player.
+     */
+    void add(long key, long item) {
+        long hash = CountMinSketch.mix(item ^ 0x5851F42D4C957F2DL);
+        int register = (int) (hash >>> (64 - PRECISION));
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        for (int row = 0; row < depth; row++) {
+            int cell = row * width + CountMinSketch.column(key, row, width);
+            raise(cell * REGISTERS + register, rank);
+        }
+    }
+
+    /**
+	 * @method raise
+     * @brief Sets a register to a rank if that is higher than its value.
+     */
+    private void raise(int register, int rank) {
+        int index = register >>> 2;
+        int shift = (register & 3) * 8;
+        while (true) {
+            int packed = registers.get(index);
+            if (((packed >>> shift) & 0xff) >= rank) {
+                return;
+            }
+            if (registers.compareAndSet(index, packed, (packed & ~(0xff << shift)) | (rank << shift))) {
+                return;
+            }
+        }
+    }
+
+    /**
+	 * @method estimate
+     * @brief Estimated number of distinct items seen with a key.
+     * @param key Key.
+     * @return Estimate.
+     */
+    long estimate(long key) {
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int cell = row * width + CountMinSketch.column(key, row, width);
+            estimate = Math.min(estimate, cardinality(cell));
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+	 * @method cardinality
+     * @brief HyperLogLog estimate of one cell, with the small-range correction.
+     */
+    private double cardinality(int cell) {
+        double sum = 0;
+        int zeros = 0;
+        for (int i = 0; i < REGISTERS; i++) {
+            int register = cell * REGISTERS + i;
+            int rank = (registers.get(register >>> 2) >>> ((register & 3) * 8)) & 0xff;
+            sum += Math.scalb(1.0, -rank);
+            if (rank == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros); // linear counting for small sets
+        }
+        return estimate;
+    }
+
+    /**
+	 * @method merge
+     * @brief Adds the items of another sketch of the same size.
+     * @param other Sketch to add, e.g. from another node.
+     * @throws IllegalArgumentException If the sketches differ in size.
+     */
+    void merge(DistinctCountSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("distinct count sketches of different sizes can not be merged");
+        }
+        for (int i = 0; i < other.registers.length() * 4; i++) {
+            int rank = (other.registers.get(i >>> 2) >>> ((i & 3) * 8)) & 0xff;
+            if (rank > 0) {
+                raise(i, rank);
+            }
+        }
+    }
+
+    /**
+	 * @method writeTo
+     * @brief Writes the sketch, to be read by readFrom.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(depth);
+        out.writeInt(width);
+        for (int i = 0; i < registers.length(); i++) {
+            out.writeInt(registers.get(i));
+        }
+    }
+
+    /**
+	 * @method readFrom
+     * @brief Reads a sketch written by writeTo.
+     */
+    static DistinctCountSketch readFrom(DataInput in) throws IOException {
+        int depth = in.readInt();
+        int width = in.readInt();
+        if (depth <= 0 || width <= 0 || Integer.bitCount(width) != 1 || (long) depth * width > 1 << 20) {
+            throw new IOException("not a distinct count sketch");
+        }
+        DistinctCountSketch sketch = new DistinctCountSketch(depth, width);
+        for (int i = 0; i < sketch.registers.length(); i++) {
+            sketch.registers.set(i, in.readInt());
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * @file EvilHangmanModel.java
+ * @brief This file contains the EvilHangmanModel class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * @class EvilHangmanModel
+ * @brief Hard mode of the game, where the secret word is not fixed.
+ * @details Keeps every dictionary word that fits the guesses so far. On each guess the candidates are split
+ *          by where the letter would show up, and the largest group is kept. The secret word is always one
+ *          of the candidates, so the current word, game status and win/loss work as in HangmanModel.
+ *          Candidates are a bitset over the words of the length while there are many of them, and a list of
+ *          word ids once there are few, so a guess costs a few passes over the bitset at first and then
+ *          only as much as the words still left.
+ */
+public class EvilHangmanModel extends HangmanModel {
+
+    static final int FEW_CANDIDATES = 4096; // candidates kept as a list of ids instead of a bitset
+
+    private final WordStore store; // dictionary with candidate indexes
+    private CandidateIndex index; // index of words with the length of the current game
+    private long[] candidates; // words still fitting all guesses, null for all words of the length or if few
+    private int[] few; // local ids of the words still fitting once there are few of them, otherwise null
+
+    /**
+	 * @method EvilHangmanModel
+     * @brief Constructor of EvilHangmanModel class.
+     * @param words Dictionary of words to guess.
+     * @param random Source of game seeds.
+     */
+    public EvilHangmanModel(WordStore words, RandomGenerator random) {
+        super(words, random);
+        this.store = words;
+    }
+
+    /**
+	 * @method EvilHangmanModel
+     * @brief Constructor of EvilHangmanModel class, games are seeded from the calling thread's random generator.
+     * @param words Dictionary of words to guess.
+     */
+    public EvilHangmanModel(WordStore words) {
+        this(words, THREAD_LOCAL_RANDOM);
+    }
+
+    /**
+	 * @method startGame
+     * @brief Starts a game; the picked word only sets the length, every word of that length is a candidate.
+     * @param index Index of the first secret word.
+     */
+    @Override
+    protected void startGame(int index) {
+        super.startGame(index);
+        this.index = null;
+        this.candidates = null;
+        this.few = null;
+    }
+
+    /**
+	 * @method processGuess
+     * @brief Keeps the largest group of candidates for the letter, then processes the guess as usual.
+     * @param letter Character to process.
+     */
+    @Override
+    protected void processGuess(char letter) {
+        int folded = getAlphabet().indexOf(letter); // capital and accented forms count as their letter
+        if (folded >= 0 && !isLetterGuessed(letter) && !isGameOver()) {
+            if (index == null) {
+                index = store.candidateIndex(getCurrentWord().length());
+                candidates = index.allWords();
+            }
+
+            // words too long to be indexed are played as usual
+            if (few != null) {
+                few = index.largestPartition(few, folded);
+
+                // make sure the secret word is one of the kept candidates
+                if (Arrays.binarySearch(few, index.localId(getWordIndex())) < 0) {
+                    switchWord(index.wordId(few[0]));
+                }
+            } else if (index.size() > 0) {
+                candidates = index.largestPartition(candidates, folded);
+                if (!CandidateIndex.contains(candidates, index.localId(getWordIndex()))) {
+                    switchWord(index.wordId(CandidateIndex.firstWord(candidates)));
+                }
+                int count = CandidateIndex.cardinality(candidates);
+                if (count <= FEW_CANDIDATES) {
+                    few = CandidateIndex.toList(candidates, count);
+                    candidates = null;
+                }
+            }
+        }
+        super.processGuess(letter);
+    }
+
+    /**
+	 * @method getCandidateCount
+     * @brief Number of words that still fit all guesses.
+     * @return Number of candidates.
+     */
+    protected int getCandidateCount() {
+        if (few != null) {
+            return few.length;
+        }
+        if (candidates == null) {
+            return store.candidateIndex(getCurrentWord().length()).size();
+        }
+        return CandidateIndex.cardinality(candidates);
+    }
+}
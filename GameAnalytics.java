@@ -0,0 +1,261 @@
+/**
+ * @file GameAnalytics.java
+ * @brief This file contains the GameAnalytics class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @class GameAnalytics
+ * @brief Per-word gameplay statistics, computed online from the events of a GameSessionRegistry.
+ * @details Wins, losses and misses per word are count-min sketches, distinct players per word a count-min
+ *          sketch of HyperLogLogs, and the most played words a Space-Saving summary. Memory is fixed by the
+ *          sizes given to the constructor, whatever the size of the dictionary or the number of games;
+ *          in exchange, per-word numbers are estimates that can only be too high.
+ *          First guesses are counted exactly per letter of the alphabet the analytics were made for.
+ *          Analytics of several nodes using the same dictionary, alphabet and sizes can be merged.
+ */
+public class GameAnalytics implements GameLifecycleListener {
+
+    static final int MAGIC = 0x48574732; // "HWG2", start of written analytics, followed by the alphabet
+    static final int DEFAULT_DEPTH = 4; // rows of the sketches
+    static final int DEFAULT_WIDTH = 2048; // columns of the sketches
+    static final int DEFAULT_TOP = 100; // most played words tracked
+
+    private final CountMinSketch wins; // games won per word
+    private final CountMinSketch losses; // games lost per word
+    private final CountMinSketch misses; // wrong guesses per word
+    private final DistinctCountSketch players; // distinct sessions per word
+    private final HeavyHitters mostPlayed; // words started most often
+    private final Alphabet alphabet; // letters first guesses are counted for
+    private final AtomicLongArray firstGuesses; // games opened with each letter of the alphabet
+
+    /**
+	 * @method GameAnalytics
+     * @brief Constructor of GameAnalytics class for English games with default sizes (about 0.8 MB).
+     */
+    public GameAnalytics() {
+        this(Alphabet.ENGLISH);
+    }
+
+    /**
+	 * @method GameAnalytics
+     * @brief Constructor of GameAnalytics class with default sizes (about 0.8 MB).
+     * @param alphabet Alphabet of the games; first guesses of other letters are not counted.
+     */
+    public GameAnalytics(Alphabet alphabet) {
+        this(DEFAULT_DEPTH, DEFAULT_WIDTH, DEFAULT_TOP, alphabet);
+    }
+
+    /**
+	 * @method GameAnalytics
+     * @brief Constructor of GameAnalytics class.
+     * @param depth Rows of the sketches; more rows make large errors less likely.
+     * @param width Columns of the sketches, a power of two; more columns make errors smaller.
+     * @param top Number of most played words tracked.
+     * @param alphabet Alphabet of the games; first guesses of other letters are not counted.
+     */
+    public GameAnalytics(int depth, int width, int top, Alphabet alphabet) {
+        this(alphabet, new CountMinSketch(depth, width), new CountMinSketch(depth, width),
+             new CountMinSketch(depth, width), new DistinctCountSketch(depth, width), new HeavyHitters(top));
+    }
+
+    private GameAnalytics(Alphabet alphabet, CountMinSketch wins, CountMinSketch losses, CountMinSketch misses,
+                          DistinctCountSketch players, HeavyHitters mostPlayed) {
+        this.alphabet = alphabet;
+        this.firstGuesses = new AtomicLongArray(alphabet.size());
+        this.wins = wins;
+        this.losses = losses;
+        this.misses = misses;
+        this.players = players;
+        this.mostPlayed = mostPlayed;
+    }
+
+    @Override
+    public void gameStarted(long sessionId, int wordIndex, long seed) {
+        players.add(wordIndex, sessionId);
+        mostPlayed.add(wordIndex);
+    }
+
+    @Override
+    public void letterGuessed(long sessionId, char letter, int guessedLetters) {
+        int index = alphabet.indexOf(letter);
+        if (Integer.bitCount(guessedLetters) == 1 && index >= 0) {
+            firstGuesses.incrementAndGet(index);
+        }
+    }
+
+    @Override
+    public void gameEnded(long sessionId, int wordIndex, boolean won, int missCount) {
+        (won ? wins : losses).add(wordIndex, 1);
+        misses.add(wordIndex, missCount);
+    }
+
+    /**
+	 * @method getWins
+     * @brief Estimated number of games won with a word.
+     * @param wordIndex Index of the word.
+     * @return Estimate, never too low.
+     */
+    public long getWins(int wordIndex) {
+        return wins.estimate(wordIndex);
+    }
+
+    /**
+	 * @method getLosses
+     * @brief Estimated number of games lost with a word.
+     * @param wordIndex Index of the word.
+     * @return Estimate, never too low.
+     */
+    public long getLosses(int wordIndex) {
+        return losses.estimate(wordIndex);
+    }
+
+    /**
+	 * @method getMeanMisses
+     * @brief Estimated average number of wrong guesses in finished games with a word.
+     * @param wordIndex Index of the word.
+     * @return Estimate, 0 if no game with the word has finished.
+     */
+    public double getMeanMisses(int wordIndex) {
+        long games = getWins(wordIndex) + getLosses(wordIndex);
+        return games == 0 ? 0 : (double) misses.estimate(wordIndex) / games;
+    }
+
+    /**
+	 * @method getDistinctPlayers
+     * @brief Estimated number of distinct sessions that got a word.
+     * @param wordIndex Index of the word.
+     * @return Estimate.
+     */
+    public long getDistinctPlayers(int wordIndex) {
+        return players.estimate(wordIndex);
+    }
+
+    /**
+	 * @method getMostPlayedWords
+     * @brief Words started most often; keys of the entries are word indexes.
+     * @param k Most words to return.
+     * @return Entries, most played first.
+     */
+    public List<HeavyHitters.Entry> getMostPlayedWords(int k) {
+        return mostPlayed.top(k);
+    }
+
+    /**
+	 * @method getFirstGuesses
+     * @brief How many games were opened with each letter.
+     * @return Counts, index i is getAlphabet().letterAt(i).
+     */
+    public long[] getFirstGuesses() {
+        long[] counts = new long[firstGuesses.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = firstGuesses.get(i);
+        }
+        return counts;
+    }
+
+    /**
+	 * @method getTopFirstGuesses
+     * @brief Letters most often guessed first, most frequent first.
+     * @return String of the letters that opened at least one game.
+     */
+    public String getTopFirstGuesses() {
+        long[] counts = getFirstGuesses();
+        StringBuilder letters = new StringBuilder();
+        while (true) {
+            int best = -1;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0 && (best < 0 || counts[i] > counts[best])) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                return letters.toString();
+            }
+            letters.append(alphabet.letterAt(best));
+            counts[best] = 0;
+        }
+    }
+
+    /**
+	 * @method getAlphabet
+     * @brief Getter method for the alphabet first guesses are counted for.
+     * @return The alphabet.
+     */
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+	 * @method merge
+     * @brief Adds the analytics of another node.
+     * @param other Analytics with the same sizes and alphabet, over the same dictionary.
+     * @throws IllegalArgumentException If the sizes or the alphabets differ.
+     */
+    public void merge(GameAnalytics other) {
+        if (!alphabet.getLetters().equals(other.alphabet.getLetters())) {
+            throw new IllegalArgumentException("analytics of different alphabets can not be merged");
+        }
+        wins.merge(other.wins);
+        losses.merge(other.losses);
+        misses.merge(other.misses);
+        players.merge(other.players);
+        mostPlayed.merge(other.mostPlayed);
+        for (int i = 0; i < firstGuesses.length(); i++) {
+            firstGuesses.addAndGet(i, other.firstGuesses.get(i));
+        }
+    }
+
+    /**
+	 * @method writeTo
+     * @brief Writes the analytics, e.g. to send them to the node merging them.
+     * @param out Where to write.
+     * @throws IOException If writing fails.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeUTF(alphabet.getLetters());
+        wins.writeTo(out);
+        losses.writeTo(out);
+        misses.writeTo(out);
+        players.writeTo(out);
+        mostPlayed.writeTo(out);
+        for (int i = 0; i < firstGuesses.length(); i++) {
+            out.writeLong(firstGuesses.get(i));
+        }
+    }
+
+    /**
+	 * @method readFrom
+     * @brief Reads analytics written by writeTo.
+     * @param in Where to read from.
+     * @return The analytics.
+     * @throws IOException If reading fails or the data are not analytics.
+     */
+    public static GameAnalytics readFrom(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not game analytics");
+        }
+        Alphabet alphabet;
+        try {
+            alphabet = Alphabet.of(in.readUTF());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("not game analytics", e);
+        }
+        GameAnalytics analytics = new GameAnalytics(alphabet, CountMinSketch.readFrom(in),
+                CountMinSketch.readFrom(in), CountMinSketch.readFrom(in), DistinctCountSketch.readFrom(in),
+                HeavyHitters.readFrom(in));
+        for (int i = 0; i < alphabet.size(); i++) {
+            analytics.firstGuesses.set(i, in.readLong());
+        }
+        return analytics;
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * @file GameChange.java
+ * @brief This file contains the GameChange class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+/**
+ * @class GameChange
+ * @brief An immutable description of what a step of a game changed, published by HangmanModel.
+ * @details Observers that draw or send only what changed need not compare the whole game state
+ *          before and after a guess. A guess publishes LettersRevealed or Miss, followed by Won or Lost
+ *          if it ended the game; a repeated letter or a guess after the end publishes nothing.
+ *          toString gives a short line form, e.g. for sending changes to network clients:
+ *          <pre>
+ *          NEW &lt;length&gt;                      a game with a word of that length has started
+ *          REVEAL &lt;letter&gt; &lt;position&gt;...      the letter was found at these positions (from 0)
+ *          MISS &lt;letter&gt; &lt;guesses left&gt;      the letter is not in the word
+ *          WON &lt;guesses left&gt;                the word was guessed
+ *          LOST &lt;word&gt;                      no guesses are left, the word is shown
+ *          </pre>
+ */
+public abstract class GameChange {
+
+    GameChange() {
+    }
+
+    /**
+     * @class NewGame
+     * @brief A new game has started.
+     */
+    public static final class NewGame extends GameChange {
+        private final int wordLength; // length of the secret word
+        private final int guessesLeft; // guesses at the start
+
+        NewGame(int wordLength, int guessesLeft) {
+            this.wordLength = wordLength;
+            this.guessesLeft = guessesLeft;
+        }
+
+        /**
+    	 * @method getWordLength
+         * @brief Length of the secret word.
+         */
+        public int getWordLength() {
+            return wordLength;
+        }
+
+        /**
+    	 * @method getGuessesLeft
+         * @brief Guesses the player has at the start.
+         */
+        public int getGuessesLeft() {
+            return guessesLeft;
+        }
+
+        @Override
+        public String toString() {
+            return "NEW " + wordLength;
+        }
+    }
+
+    /**
+     * @class LettersRevealed
+     * @brief A guessed letter is in the word and is now shown.
+     */
+    public static final class LettersRevealed extends GameChange {
+        private final char letter; // guessed letter
+        private final int[] positions; // where the letter shows up, ascending
+
+        LettersRevealed(char letter, int[] positions) {
+            this.letter = letter;
+            this.positions = positions;
+        }
+
+        /**
+    	 * @method getLetter
+         * @brief Guessed letter.
+         */
+        public char getLetter() {
+            return letter;
+        }
+
+        /**
+    	 * @method getPositions
+         * @brief Positions of the word where the letter shows up, ascending.
+         * @return A copy of the positions.
+         */
+        public int[] getPositions() {
+            return positions.clone();
+        }
+
+        /**
+    	 * @method getPositionCount
+         * @brief Number of positions where the letter shows up.
+         */
+        public int getPositionCount() {
+            return positions.length;
+        }
+
+        /**
+    	 * @method getPosition
+         * @brief One of the positions where the letter shows up.
+         * @param i Which one, 0..getPositionCount()-1.
+         */
+        public int getPosition(int i) {
+            return positions[i];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder line = new StringBuilder("REVEAL ").append(letter);
+            for (int position : positions) {
+                line.append(' ').append(position);
+            }
+            return line.toString();
+        }
+    }
+
+    /**
+     * @class Miss
+     * @brief A guessed letter is not in the word and cost a guess.
+     */
+    public static final class Miss extends GameChange {
+        private final char letter; // guessed letter
+        private final int guessesLeft; // guesses left after the miss
+
+        Miss(char letter, int guessesLeft) {
+            this.letter = letter;
+            this.guessesLeft = guessesLeft;
+        }
+
+        /**
+    	 * @method getLetter
+         * @brief Guessed letter.
+         */
+        public char getLetter() {
+            return letter;
+        }
+
+        /**
+    	 * @method getGuessesLeft
+         * @brief Guesses left after the miss.
+         */
+        public int getGuessesLeft() {
+            return guessesLeft;
+        }
+
+        @Override
+        public String toString() {
+            return "MISS " + letter + " " + guessesLeft;
+        }
+    }
+
+    /**
+     * @class Won
+     * @brief The word was guessed.
+     */
+    public static final class Won extends GameChange {
+        private final int guessesLeft; // guesses left at the end
+
+        Won(int guessesLeft) {
+            this.guessesLeft = guessesLeft;
+        }
+
+        /**
+    	 * @method getGuessesLeft
+         * @brief Guesses the player had left.
+         */
+        public int getGuessesLeft() {
+            return guessesLeft;
+        }
+
+        @Override
+        public String toString() {
+            return "WON " + guessesLeft;
+        }
+    }
+
+    /**
+     * @class Lost
+     * @brief No guesses are left.
+     */
+    public static final class Lost extends GameChange {
+        private final String word; // the secret word
+
+        Lost(String word) {
+            this.word = word;
+        }
+
+        /**
+    	 * @method getWord
+         * @brief The secret word, which can be shown now.
+         */
+        public String getWord() {
+            return word;
+        }
+
+        @Override
+        public String toString() {
+            return "LOST " + word;
+        }
+    }
+}
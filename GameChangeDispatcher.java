@@ -0,0 +1,67 @@
+/**
+ * @file GameChangeDispatcher.java
+ * @brief This file contains the GameChangeDispatcher class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * @class GameChangeDispatcher
+ * @brief Passes the changes of a model to a consumer on another thread, in batches.
+ * @details Changes are queued without blocking the model's thread. The first change of a burst schedules
+ *          one delivery on the executor, which hands over every change queued by then, in order,
+ *          e.g. <code>new GameChangeDispatcher(EventQueue::invokeLater, batch -> ...)</code> repaints once
+ *          per burst on the Swing thread. Deliveries do not overlap as long as the executor runs its tasks
+ *          one at a time.
+ */
+public class GameChangeDispatcher implements GameChangeListener {
+
+    private final Executor executor; // runs deliveries
+    private final Consumer<List<GameChange>> consumer; // receives batches of changes
+    private final Queue<GameChange> pending = new ConcurrentLinkedQueue<>(); // changes not delivered yet
+    private final AtomicBoolean scheduled = new AtomicBoolean(); // a delivery is waiting to run
+
+    /**
+	 * @method GameChangeDispatcher
+     * @brief Constructor of GameChangeDispatcher class.
+     * @param executor Runs deliveries, e.g. the thread of a GUI or of a connection.
+     * @param consumer Receives batches of changes, in the order they happened.
+     */
+    public GameChangeDispatcher(Executor executor, Consumer<List<GameChange>> consumer) {
+        this.executor = executor;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void gameChanged(GameChange change) {
+        pending.add(change);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::deliver);
+        }
+    }
+
+    /**
+	 * @method deliver
+     * @brief Hands every queued change to the consumer.
+     */
+    private void deliver() {
+        scheduled.set(false); // changes queued from now on schedule another delivery
+        List<GameChange> batch = new ArrayList<>();
+        GameChange change;
+        while ((change = pending.poll()) != null) {
+            batch.add(change);
+        }
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * @file GameChangeListener.java
+ * @brief This file contains the GameChangeListener interface.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+/**
+ * @interface GameChangeListener
+ * @brief Receives the changes of a HangmanModel's game.
+ * @details Called synchronously by the thread changing the model, right after each change.
+ *          Wrap a listener in a GameChangeDispatcher to receive changes in batches on another thread.
+ */
+public interface GameChangeListener {
+
+    /**
+	 * @method gameChanged
+     * @brief The game has changed.
+     * @param change What has changed.
+     */
+    void gameChanged(GameChange change);
+}
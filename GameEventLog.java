@@ -0,0 +1,598 @@
+/**
+ * @file GameEventLog.java
+ * @brief This file contains the GameEventLog class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * @class GameEventLog
+ * @brief Persists the games of a GameSessionRegistry as an append-only log of events, so they survive restarts.
+ * @details Every event is one fixed 32-byte record in a memory-mapped segment file. Writers reserve their
+ *          record with one atomic add and copy it into the mapping, so the guess path never waits for a lock
+ *          or for the disk. A background thread forces new records to disk every few milliseconds, up to the
+ *          first record that is reserved but not written yet, and sync() waits until the records before its
+ *          call are forced, so concurrent callers share one force (group commit).
+ *          Snapshots write the state of all sessions, sorted by session id, and drop the segments before
+ *          them. Recovery maps the snapshot, so its sessions are resumed one by one when first used, and
+ *          replays only the events logged after it.
+ *          <p>
+ *          Record: type (1 byte), letter or won flag (2, low byte first), unused (1), word index (4),
+ *          session id (8), seed (8), unused (4), check (4). The type byte is written last and the check
+ *          covers the other fields, so a record torn by a crash is skipped on recovery.
+ */
+public class GameEventLog implements GameLifecycleListener, Closeable {
+
+    static final int RECORD_SIZE = 32; // bytes per event, divides the page size so no record spans two pages
+    static final int DEFAULT_SEGMENT_SIZE = 64 << 20; // bytes per segment file
+    static final long DEFAULT_FLUSH_MILLIS = 5; // longest time a record stays in memory only
+
+    static final int SNAPSHOT_MAGIC = 0x48575353; // "HWSS"
+    static final int SNAPSHOT_VERSION = 2; // current snapshot format version, 1 had unsorted records
+    private static final int SNAPSHOT_HEADER_SIZE = 20; // magic, version, log position, number of sessions
+    private static final int SNAPSHOT_RECORD_SIZE = SessionCheckpoint.RECORD_SIZE; // id, word, letters, seed
+    private static final String SNAPSHOT_FILE = "snapshot.bin"; // name of the snapshot in the log directory
+
+    private static final byte STARTED = 1; // event types
+    private static final byte GUESSED = 2;
+    private static final byte ENDED = 3;
+    private static final byte CLOSED = 4;
+
+    private final Path directory; // where segments and the snapshot are
+    private final int segmentSize; // bytes per segment
+    private final long flushMillis; // interval of forced writes
+    private final AtomicLong tail; // log position of the next record
+    private final Map<Long, Segment> segments = new HashMap<>(); // mapped segments by number, guarded by this
+    private volatile Segment current; // segment records are being appended to
+    private volatile long droppedBefore = 0; // log position before which segments were deleted by a snapshot
+
+    private final Object flushLock = new Object(); // guards the fields below
+    private long forced; // log position everything before which is written and on disk
+    private boolean syncRequested = false; // a writer waits in sync()
+    private boolean closed = false; // log was closed
+    private final Thread flusher; // thread forcing records to disk
+    private ScheduledExecutorService snapshots; // takes periodic snapshots, null if not scheduled
+
+    /**
+	 * @method GameEventLog
+     * @brief Constructor of GameEventLog class with default segment size and flush interval.
+     * @param directory Directory of the log, created if missing.
+     * @throws IOException If the log can not be opened.
+     */
+    public GameEventLog(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_FLUSH_MILLIS);
+    }
+
+    /**
+	 * @method GameEventLog
+     * @brief Constructor of GameEventLog class. Opens the log and continues after its last record.
+     * @param directory Directory of the log, created if missing.
+     * @param segmentSize Bytes per segment file, a multiple of RECORD_SIZE.
+     * @param flushMillis Longest time a record stays in memory only.
+     * @throws IOException If the log can not be opened.
+     */
+    public GameEventLog(Path directory, int segmentSize, long flushMillis) throws IOException {
+        if (segmentSize <= 0 || segmentSize % RECORD_SIZE != 0) {
+            throw new IllegalArgumentException("segment size must be a positive multiple of " + RECORD_SIZE);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushMillis = flushMillis;
+        Files.createDirectories(directory);
+
+        // continue after the last record of the last segment, but never before the snapshot
+        long end = Math.max(0, snapshotPosition());
+        long last = lastSegment();
+        if (last >= 0) {
+            MappedByteBuffer segment = segment(last).buffer;
+            int slot = segmentSize / RECORD_SIZE - 1;
+            while (slot >= 0 && segment.get(slot * RECORD_SIZE) == 0) {
+                slot--;
+            }
+            end = Math.max(end, last * segmentSize + (slot + 1) * (long) RECORD_SIZE);
+        }
+        tail = new AtomicLong(end);
+        forced = end;
+        current = segment(end / segmentSize);
+
+        flusher = new Thread(this::flushLoop, "hangman-event-log");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void gameStarted(long sessionId, int wordIndex, long seed) {
+        append(STARTED, 0, wordIndex, sessionId, seed);
+    }
+
+    @Override
+    public void letterGuessed(long sessionId, char letter, int guessedLetters) {
+        append(GUESSED, letter, 0, sessionId, 0);
+    }
+
+    @Override
+    public void gameEnded(long sessionId, int wordIndex, boolean won, int misses) {
+        append(ENDED, won ? 1 : 0, wordIndex, sessionId, 0);
+    }
+
+    @Override
+    public void sessionClosed(long sessionId) {
+        append(CLOSED, 0, 0, sessionId, 0);
+    }
+
+    /**
+	 * @method append
+     * @brief Reserves the next record and writes an event into it.
+     */
+    private void append(byte type, int value, int word, long session, long seed) {
+        long position = tail.getAndAdd(RECORD_SIZE);
+        long number = position / segmentSize;
+        Segment appending = current;
+        MappedByteBuffer segment = appending.number == number ? appending.buffer : advance(number).buffer;
+        int offset = (int) (position % segmentSize);
+
+        segment.put(offset + 1, (byte) value);
+        segment.put(offset + 2, (byte) (value >>> 8));
+        segment.putInt(offset + 4, word);
+        segment.putLong(offset + 8, session);
+        segment.putLong(offset + 16, seed);
+        segment.putInt(offset + 28, check(type, value, word, session, seed));
+        VarHandle.releaseFence(); // the other fields are stored before the type
+        segment.put(offset, type); // written last, the record counts only once it is complete
+    }
+
+    /**
+	 * @method check
+     * @brief Check value of a record's fields.
+     */
+    private static int check(byte type, int value, int word, long session, long seed) {
+        long hash = session * 0x9E3779B97F4A7C15L ^ seed;
+        hash = (hash ^ (hash >>> 29) ^ ((long) type << 56 ^ (long) (value & 0xffff) << 48 | (word & 0xffffffffL)))
+                * 0xbf58476d1ce4e5b9L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * @class Segment
+     * @brief A mapped segment file and its number.
+     */
+    private static final class Segment {
+        final long number; // number of the segment, its first record is at number * segmentSize
+        final MappedByteBuffer buffer; // mapping of the whole file
+
+        Segment(long number, MappedByteBuffer buffer) {
+            this.number = number;
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+	 * @method segment
+     * @brief Mapped segment by number, mapping (and creating) its file if needed.
+     */
+    private synchronized Segment segment(long number) {
+        Segment segment = segments.get(number);
+        if (segment == null) {
+            try (FileChannel channel = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                segment = new Segment(number, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            segments.put(number, segment);
+        }
+        return segment;
+    }
+
+    /**
+	 * @method advance
+     * @brief Segment for a record outside the current one, which becomes current if it is newer.
+     */
+    private synchronized Segment advance(long number) {
+        Segment segment = segment(number);
+        if (number > current.number) {
+            current = segment;
+        }
+        return segment;
+    }
+
+    /**
+	 * @method segmentPath
+     * @brief Path of a segment file.
+     */
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("events-%010d.log", number));
+    }
+
+    /**
+	 * @method segmentNumber
+     * @brief Number of a segment file, or -1 if the file is not a segment.
+     */
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith("events-") || !name.endsWith(".log")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(7, name.length() - 4));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+	 * @method lastSegment
+     * @brief Number of the newest segment file, or -1 if there is none.
+     */
+    private long lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(GameEventLog::segmentNumber).max().orElse(-1);
+        }
+    }
+
+    /**
+	 * @method flushLoop
+     * @brief Forces new records to disk every flush interval, or at once when sync() is waiting.
+     */
+    private void flushLoop() {
+        while (true) {
+            synchronized (flushLock) {
+                long until = System.nanoTime() + flushMillis * 1_000_000;
+                try {
+                    long left;
+                    while (!syncRequested && !closed && (left = until - System.nanoTime()) > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(flushLock, left);
+                    }
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+                syncRequested = false;
+            }
+
+            long from;
+            synchronized (flushLock) {
+                from = forced;
+            }
+            long reserved = tail.get();
+            long target = written(from, reserved);
+            if (target > from) {
+                force(from, target);
+            } else if (reserved > from) {
+                Thread.yield(); // a writer has reserved the next record but not written it yet
+            }
+            synchronized (flushLock) {
+                forced = target;
+                flushLock.notifyAll();
+                if (closed) {
+                    return;
+                }
+            }
+
+            // map the next segment ahead of time, so writers do not have to
+            if (target % segmentSize > segmentSize - segmentSize / 4) {
+                segment(target / segmentSize + 1);
+            }
+        }
+    }
+
+    /**
+	 * @method written
+     * @brief Finds how far the log is written without gaps.
+     * @details Writers finish their records in any order, so a record reserved earlier may still be empty
+     *          when later ones are complete. Records are looked at one by one from the last forced position.
+     * @param from Log position whose records before it are all written.
+     * @param to Log position of the next record to reserve.
+     * @return Position of the first record in the range that is not written yet, or to.
+     */
+    private long written(long from, long to) {
+        long at = Math.max(from, Math.min(droppedBefore, to)); // records saved by a snapshot need no force
+        while (at < to) {
+            long number = at / segmentSize;
+            Segment segment;
+            synchronized (this) {
+                if (number * segmentSize < droppedBefore) {
+                    at = droppedBefore;
+                    continue;
+                }
+                segment = segment(number);
+            }
+            long end = Math.min(to, (number + 1) * segmentSize);
+            for (; at < end; at += RECORD_SIZE) {
+                if (segment.buffer.get((int) (at % segmentSize)) == 0) {
+                    VarHandle.acquireFence();
+                    return at;
+                }
+            }
+        }
+        VarHandle.acquireFence();
+        return to;
+    }
+
+    /**
+	 * @method force
+     * @brief Writes a range of the log to disk and lets go of segments that are complete.
+     */
+    private void force(long from, long to) {
+        for (long number = from / segmentSize; number <= (to - 1) / segmentSize; number++) {
+            Segment segment;
+            synchronized (this) {
+                segment = segments.get(number);
+            }
+            if (segment == null) {
+                continue; // already dropped by a snapshot
+            }
+            int start = number == from / segmentSize ? (int) (from % segmentSize) : 0;
+            int end = number == (to - 1) / segmentSize ? (int) ((to - 1) % segmentSize) + 1 : segmentSize;
+            segment.buffer.force(start, end - start);
+        }
+
+        // segments before the previous one are full and on disk; the previous one stays mapped for late writers
+        synchronized (this) {
+            segments.keySet().removeIf(number -> number < to / segmentSize - 1);
+        }
+    }
+
+    /**
+	 * @method sync
+     * @brief Waits until every event logged so far is on disk.
+     * @details Callers waiting at the same time are served by the same force. Events still being written by
+     *          other threads when it is called are waited for as well.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void sync() throws InterruptedException {
+        long target = tail.get();
+        synchronized (flushLock) {
+            while (forced < target && !closed) {
+                if (!syncRequested) { // other waiters asked for this force already
+                    syncRequested = true;
+                    flushLock.notifyAll();
+                }
+                flushLock.wait();
+            }
+        }
+    }
+
+    /**
+	 * @method snapshot
+     * @brief Saves the state of all sessions and deletes the segments no longer needed for recovery.
+     * @details Sessions keep playing while the snapshot is taken; events logged meanwhile are replayed
+     *          on top of it, which is harmless because replaying a guess twice changes nothing.
+     *          The records are collected in memory, 24 bytes per session, and written with one write.
+     * @param registry Sessions to save, the ones this log listens to.
+     * @throws IOException If the snapshot can not be written.
+     */
+    public void snapshot(GameSessionRegistry registry) throws IOException {
+        long position = registry.positionBetweenRegistrations(tail::get); // events from here on are replayed
+        ByteBuffer buffer = registry.saveSessions(SNAPSHOT_HEADER_SIZE);
+        int count = (buffer.position() - SNAPSHOT_HEADER_SIZE) / SNAPSHOT_RECORD_SIZE;
+        buffer.putInt(0, SNAPSHOT_MAGIC).putInt(4, SNAPSHOT_VERSION).putLong(8, position).putInt(16, count).flip();
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+
+        // every writer that reserved a record before the snapshot position has finished: a new session
+        // was put before the position was read, and saving a session waited for its guess, so older segments can go
+        long firstNeeded = position / segmentSize;
+        synchronized (this) {
+            droppedBefore = Math.max(droppedBefore, firstNeeded * segmentSize);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                long number = segmentNumber(file);
+                if (number >= 0 && number < firstNeeded) {
+                    synchronized (this) {
+                        segments.remove(number);
+                    }
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+	 * @method scheduleSnapshots
+     * @brief Takes a snapshot of a registry periodically, on a background thread.
+     * @param registry Sessions to save.
+     * @param periodSeconds Seconds between snapshots.
+     */
+    public synchronized void scheduleSnapshots(GameSessionRegistry registry, long periodSeconds) {
+        if (snapshots == null) {
+            snapshots = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "hangman-snapshots");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        snapshots.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot(registry);
+            } catch (IOException e) {
+                System.err.println("Hangman snapshot failed: " + e.getMessage());
+            }
+        }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+	 * @method recover
+     * @brief Restores the sessions saved in the log into an empty registry.
+     * @details Maps the snapshot, whose sessions the registry resumes when they are first used, then replays
+     *          the events logged after it. Restored sessions keep their ids and report no events. Call it
+     *          before the registry is used.
+     * @param registry Registry to restore into.
+     * @return Number of replayed events.
+     * @throws IOException If the log can not be read.
+     */
+    public long recover(GameSessionRegistry registry) throws IOException {
+        long position = 0;
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                position = readSnapshotHeader(buffer, channel.size(), snapshot);
+                int count = buffer.getInt(16);
+                if (buffer.getInt(4) == SNAPSHOT_VERSION) {
+                    registry.resumeLazily(new SessionCheckpoint(buffer, SNAPSHOT_HEADER_SIZE, count));
+                    count = 0; // the mapping stays valid after the channel is closed
+                }
+                for (int i = 0; i < count; i++) { // unsorted records of version 1 are restored at once
+                    int offset = SNAPSHOT_HEADER_SIZE + i * SNAPSHOT_RECORD_SIZE;
+                    registry.restoreSession(buffer.getLong(offset), buffer.getInt(offset + 8),
+                            buffer.getLong(offset + 16), buffer.getInt(offset + 12));
+                }
+            }
+        }
+
+        long replayed = 0;
+        long end = tail.get();
+        for (long number = position / segmentSize; number * segmentSize < end; number++) {
+            Path path = segmentPath(number);
+            if (!Files.exists(path)) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, segmentSize);
+                long first = Math.max(position, number * segmentSize);
+                long last = Math.min(end, (number + 1) * segmentSize);
+                for (long at = first; at < last; at += RECORD_SIZE) {
+                    if (replay(segment, (int) (at % segmentSize), registry)) {
+                        replayed++;
+                    }
+                }
+            }
+        }
+        return replayed;
+    }
+
+    /**
+	 * @method replay
+     * @brief Applies one logged event to a registry.
+     * @return <code>false</code> if the record is empty or torn.
+     */
+    private static boolean replay(ByteBuffer segment, int offset, GameSessionRegistry registry) {
+        byte type = segment.get(offset);
+        int value = (segment.get(offset + 1) & 0xff) | (segment.get(offset + 2) & 0xff) << 8;
+        int word = segment.getInt(offset + 4);
+        long id = segment.getLong(offset + 8);
+        long seed = segment.getLong(offset + 16);
+        if (type < STARTED || type > CLOSED || segment.getInt(offset + 28) != check(type, value, word, id, seed)) {
+            return false;
+        }
+
+        GameSession session = registry.getSession(id);
+        switch (type) {
+            case STARTED:
+                if (session == null) {
+                    registry.restoreSession(id, word, seed, 0);
+                } else {
+                    session.restore(word, seed, 0);
+                }
+                break;
+            case GUESSED:
+                if (session != null) {
+                    session.replayGuess((char) value);
+                }
+                break;
+            case CLOSED:
+                registry.discardSession(id);
+                break;
+            default:
+                break; // the end of a game follows from its guesses
+        }
+        return true;
+    }
+
+    /**
+	 * @method snapshotPosition
+     * @brief Log position of the snapshot in the directory, or -1 if there is none.
+     */
+    private long snapshotPosition() throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshot)) {
+            return -1;
+        }
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read the whole header
+            }
+            return readSnapshotHeader(header, channel.size(), snapshot);
+        }
+    }
+
+    /**
+	 * @method readSnapshotHeader
+     * @brief Validates a snapshot header.
+     * @return Log position of the snapshot.
+     */
+    private static long readSnapshotHeader(ByteBuffer buffer, long size, Path path) throws IOException {
+        if (size < SNAPSHOT_HEADER_SIZE) {
+            throw new IOException("not a game snapshot: " + path);
+        }
+        int version = buffer.getInt(4);
+        if (buffer.getInt(0) != SNAPSHOT_MAGIC || version < 1 || version > SNAPSHOT_VERSION
+                || SNAPSHOT_HEADER_SIZE + (long) buffer.getInt(16) * SNAPSHOT_RECORD_SIZE != size) {
+            throw new IOException("not a game snapshot: " + path);
+        }
+        return buffer.getLong(8);
+    }
+
+    /**
+	 * @method writeFully
+     * @brief Writes all remaining bytes of a buffer.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+	 * @method close
+     * @brief Forces everything logged to disk and stops the background threads.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (snapshots != null) {
+                snapshots.shutdown();
+            }
+        }
+        synchronized (flushLock) {
+            closed = true;
+            flushLock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
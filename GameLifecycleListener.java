@@ -0,0 +1,97 @@
+/**
+ * @file GameLifecycleListener.java
+ * @brief This file contains the GameLifecycleListener interface.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+/**
+ * @interface GameLifecycleListener
+ * @brief Receives what happens in the sessions of a GameSessionRegistry.
+ * @details Methods are called while the session is locked, so the events of one session arrive in order,
+ *          and they run on the player's thread, so they must be quick and must not block.
+ *          Every method does nothing by default.
+ */
+public interface GameLifecycleListener {
+
+    GameLifecycleListener NONE = new GameLifecycleListener() { }; // listener ignoring everything
+
+    /**
+	 * @method all
+     * @brief Listener passing every event to several listeners, in order.
+     * @param listeners Listeners to pass events to.
+     * @return Combined listener.
+     */
+    static GameLifecycleListener all(GameLifecycleListener... listeners) {
+        GameLifecycleListener[] targets = listeners.clone();
+        return new GameLifecycleListener() {
+            @Override
+            public void gameStarted(long sessionId, int wordIndex, long seed) {
+                for (GameLifecycleListener target : targets) {
+                    target.gameStarted(sessionId, wordIndex, seed);
+                }
+            }
+
+            @Override
+            public void letterGuessed(long sessionId, char letter, int guessedLetters) {
+                for (GameLifecycleListener target : targets) {
+                    target.letterGuessed(sessionId, letter, guessedLetters);
+                }
+            }
+
+            @Override
+            public void gameEnded(long sessionId, int wordIndex, boolean won, int misses) {
+                for (GameLifecycleListener target : targets) {
+                    target.gameEnded(sessionId, wordIndex, won, misses);
+                }
+            }
+
+            @Override
+            public void sessionClosed(long sessionId) {
+                for (GameLifecycleListener target : targets) {
+                    target.sessionClosed(sessionId);
+                }
+            }
+        };
+    }
+
+    /**
+	 * @method gameStarted
+     * @brief A game has started in a session.
+     * @param sessionId Id of the session.
+     * @param wordIndex Index of the secret word in the dictionary.
+     * @param seed Seed of the game.
+     */
+    default void gameStarted(long sessionId, int wordIndex, long seed) {
+    }
+
+    /**
+	 * @method letterGuessed
+     * @brief A letter was guessed for the first time in the current game of a session.
+     * @param sessionId Id of the session.
+     * @param letter Guessed letter 'a'..'z'.
+     * @param guessedLetters Mask of letters guessed in the game so far, this one included.
+     */
+    default void letterGuessed(long sessionId, char letter, int guessedLetters) {
+    }
+
+    /**
+	 * @method gameEnded
+     * @brief The current game of a session has ended.
+     * @param sessionId Id of the session.
+     * @param wordIndex Index of the secret word in the dictionary.
+     * @param won <code>true</code> if the player has won, <code>false</code> if they have lost.
+     * @param misses Number of wrong guesses in the game.
+     */
+    default void gameEnded(long sessionId, int wordIndex, boolean won, int misses) {
+    }
+
+    /**
+	 * @method sessionClosed
+     * @brief A session was removed from the registry.
+     * @param sessionId Id of the session.
+     */
+    default void sessionClosed(long sessionId) {
+    }
+}
@@ -0,0 +1,346 @@
+/**
+ * @file GameMetrics.java
+ * @brief This file contains the GameMetrics class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.sun.net.httpserver.HttpServer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * @class GameMetrics
+ * @brief Counters and latency histograms of the games of a GameSessionRegistry.
+ * @details Sessions report every new game with its time (picking the word included). Guesses are counted
+ *          by each session under its own lock and reported in batches (at the end of a game, or after
+ *          GUESS_BATCH guesses), and only every GUESS_SAMPLE-th guess of a session is timed, so most guesses
+ *          pay for neither a clock read nor a shared counter. Counters are LongAdders and histograms are striped, so
+ *          recording threads do not contend. Every new game, guess, win and loss is also a Flight Recorder
+ *          event, which costs nothing unless a recording enables it.
+ *          Values can be read through getters, JMX (registerMBean) or in the Prometheus text format
+ *          (writePrometheus, or over HTTP with serveHttp).
+ */
+public class GameMetrics implements GameMetricsMXBean {
+
+    static final int GUESS_BATCH = 32; // most guesses a session counts before reporting them
+    static final int GUESS_SAMPLE = 16; // a session times one of this many guesses, a power of two
+
+    private final LongAdder gamesStarted = new LongAdder(); // games started
+    private final LongAdder guesses = new LongAdder(); // all guesses
+    private final LongAdder hits = new LongAdder(); // guesses revealing a letter
+    private final LongAdder misses = new LongAdder(); // guesses costing a life
+    private final LongAdder wins = new LongAdder(); // games won
+    private final LongAdder losses = new LongAdder(); // games lost
+    private final LatencyHistogram guessLatency = new LatencyHistogram(); // time of sampled processGuess calls
+    private final LatencyHistogram newGameLatency = new LatencyHistogram(); // time of startNewGame
+
+    /**
+     * @class GameStartEvent
+     * @brief Flight Recorder event of a started game.
+     */
+    @Name("hangman.GameStart")
+    @Label("Game Start")
+    @Category("Hangman")
+    static final class GameStartEvent extends Event {
+        @Label("Session Id")
+        long sessionId;
+        @Label("Word Index")
+        int wordIndex;
+        @Label("Latency")
+        @Timespan(Timespan.NANOSECONDS)
+        long latency;
+    }
+
+    /**
+     * @class GuessEvent
+     * @brief Flight Recorder event of a guess.
+     */
+    @Name("hangman.Guess")
+    @Label("Guess")
+    @Category("Hangman")
+    static final class GuessEvent extends Event {
+        @Label("Session Id")
+        long sessionId;
+        @Label("Letter")
+        char letter;
+        @Label("Accepted")
+        boolean accepted;
+        @Label("Hit")
+        boolean hit;
+    }
+
+    /**
+     * @class WinEvent
+     * @brief Flight Recorder event of a won game.
+     */
+    @Name("hangman.Win")
+    @Label("Win")
+    @Category("Hangman")
+    static final class WinEvent extends Event {
+        @Label("Session Id")
+        long sessionId;
+    }
+
+    /**
+     * @class LossEvent
+     * @brief Flight Recorder event of a lost game.
+     */
+    @Name("hangman.Loss")
+    @Label("Loss")
+    @Category("Hangman")
+    static final class LossEvent extends Event {
+        @Label("Session Id")
+        long sessionId;
+    }
+
+    /**
+	 * @method gameStarted
+     * @brief Records a started game.
+     * @param sessionId Id of the session.
+     * @param wordIndex Index of the secret word.
+     * @param nanos Time it took to start the game.
+     */
+    void gameStarted(long sessionId, int wordIndex, long nanos) {
+        gamesStarted.increment();
+        newGameLatency.record(nanos);
+        GameStartEvent event = new GameStartEvent();
+        if (event.shouldCommit()) {
+            event.sessionId = sessionId;
+            event.wordIndex = wordIndex;
+            event.latency = nanos;
+            event.commit();
+        }
+    }
+
+    /**
+	 * @method guessEvent
+     * @brief Emits the Flight Recorder event of a guess, if a recording wants it.
+     * @param sessionId Id of the session.
+     * @param letter Guessed letter.
+     * @param accepted <code>false</code> if the guess was ignored (repeated, invalid or after the end of the game).
+     * @param hit <code>true</code> if the guess revealed a letter.
+     */
+    void guessEvent(long sessionId, char letter, boolean accepted, boolean hit) {
+        GuessEvent event = new GuessEvent();
+        if (event.shouldCommit()) {
+            event.sessionId = sessionId;
+            event.letter = letter;
+            event.accepted = accepted;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+
+    /**
+	 * @method guessesProcessed
+     * @brief Records a batch of guesses counted by a session.
+     * @param count Number of guesses.
+     * @param hitCount How many of them revealed a letter.
+     * @param missCount How many of them cost a life.
+     */
+    void guessesProcessed(int count, int hitCount, int missCount) {
+        guesses.add(count);
+        hits.add(hitCount);
+        misses.add(missCount);
+    }
+
+    /**
+	 * @method guessTimed
+     * @brief Records the time of a sampled guess.
+     * @param nanos Time it took to process the guess.
+     */
+    void guessTimed(long nanos) {
+        guessLatency.record(nanos);
+    }
+
+    /**
+	 * @method gameEnded
+     * @brief Records the end of a game.
+     * @param sessionId Id of the session.
+     * @param won <code>true</code> if the player has won.
+     */
+    void gameEnded(long sessionId, boolean won) {
+        if (won) {
+            wins.increment();
+            WinEvent event = new WinEvent();
+            if (event.shouldCommit()) {
+                event.sessionId = sessionId;
+                event.commit();
+            }
+        } else {
+            losses.increment();
+            LossEvent event = new LossEvent();
+            if (event.shouldCommit()) {
+                event.sessionId = sessionId;
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public long getGamesStarted() {
+        return gamesStarted.sum();
+    }
+
+    @Override
+    public long getGuesses() {
+        return guesses.sum();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getWins() {
+        return wins.sum();
+    }
+
+    @Override
+    public long getLosses() {
+        return losses.sum();
+    }
+
+    @Override
+    public long getGuessLatencyP50Nanos() {
+        return guessLatency.quantile(0.5);
+    }
+
+    @Override
+    public long getGuessLatencyP99Nanos() {
+        return guessLatency.quantile(0.99);
+    }
+
+    @Override
+    public long getGuessLatencyP999Nanos() {
+        return guessLatency.quantile(0.999);
+    }
+
+    @Override
+    public long getNewGameLatencyP50Nanos() {
+        return newGameLatency.quantile(0.5);
+    }
+
+    @Override
+    public long getNewGameLatencyP99Nanos() {
+        return newGameLatency.quantile(0.99);
+    }
+
+    /**
+	 * @method registerMBean
+     * @brief Makes the metrics visible over JMX as <code>hangman:type=GameMetrics,name=&lt;name&gt;</code>.
+     * @param name Name telling registries apart.
+     * @throws JMException If the name is taken or invalid.
+     */
+    public void registerMBean(String name) throws JMException {
+        ManagementFactory.getPlatformMBeanServer()
+                .registerMBean(this, new ObjectName("hangman:type=GameMetrics,name=" + ObjectName.quote(name)));
+    }
+
+    /**
+	 * @method writePrometheus
+     * @brief Writes all metrics in the Prometheus text exposition format.
+     * @param out Where to write.
+     * @throws IOException If writing fails.
+     */
+    public void writePrometheus(Appendable out) throws IOException {
+        counter(out, "hangman_games_started_total", "Games started.", getGamesStarted());
+        counter(out, "hangman_guesses_total", "Guesses, including repeated and invalid ones.", getGuesses());
+        counter(out, "hangman_hits_total", "Guesses that revealed a letter.", getHits());
+        counter(out, "hangman_misses_total", "Guesses that cost a life.", getMisses());
+        counter(out, "hangman_wins_total", "Games won.", getWins());
+        counter(out, "hangman_losses_total", "Games lost.", getLosses());
+        summary(out, "hangman_guess_seconds", "Time to process a guess, sampled.", guessLatency);
+        summary(out, "hangman_new_game_seconds", "Time to start a game, picking the word included.", newGameLatency);
+    }
+
+    /**
+	 * @method writePrometheus
+     * @brief Writes all metrics in the Prometheus text format to a file, replacing it at once.
+     * @details Meant for the node exporter's textfile collector, which must never see a half-written file.
+     * @param path File to write.
+     * @throws IOException If the file can not be written.
+     */
+    public void writePrometheus(Path path) throws IOException {
+        StringBuilder text = new StringBuilder();
+        writePrometheus(text);
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporary, text.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+	 * @method serveHttp
+     * @brief Serves the metrics in the Prometheus text format at <code>http://host:port/metrics</code>.
+     * @param port Port to listen on, 0 for any free port.
+     * @return The started server, stop it to stop serving.
+     * @throws IOException If the port can not be bound.
+     */
+    public HttpServer serveHttp(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/metrics", exchange -> {
+            StringBuilder text = new StringBuilder();
+            writePrometheus(text);
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    /**
+	 * @method counter
+     * @brief Writes one Prometheus counter.
+     */
+    private static void counter(Appendable out, String name, String help, long value) throws IOException {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        out.append(name).append(' ').append(Long.toString(value)).append('\n');
+    }
+
+    /**
+	 * @method summary
+     * @brief Writes one Prometheus summary with the usual quantiles of a histogram, in seconds.
+     */
+    private static void summary(Appendable out, String name, String help, LatencyHistogram histogram)
+            throws IOException {
+        long[] counts = histogram.counts();
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" summary\n");
+        for (double q : new double[] {0.5, 0.9, 0.99, 0.999}) {
+            out.append(name).append("{quantile=\"").append(Double.toString(q)).append("\"} ")
+               .append(Double.toString(LatencyHistogram.quantile(counts, q) / 1e9)).append('\n');
+        }
+        out.append(name).append("_sum ").append(Double.toString(histogram.getSum() / 1e9)).append('\n');
+        out.append(name).append("_count ").append(Long.toString(histogram.getCount())).append('\n');
+    }
+}
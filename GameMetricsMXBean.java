@@ -0,0 +1,80 @@
+/**
+ * @file GameMetricsMXBean.java
+ * @brief This file contains the GameMetricsMXBean interface.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+/**
+ * @interface GameMetricsMXBean
+ * @brief Management interface of GameMetrics, as shown in JMX consoles.
+ */
+public interface GameMetricsMXBean {
+
+    /**
+	 * @method getGamesStarted
+     * @brief Number of games started.
+     */
+    long getGamesStarted();
+
+    /**
+	 * @method getGuesses
+     * @brief Number of guesses, including repeated and invalid ones.
+     */
+    long getGuesses();
+
+    /**
+	 * @method getHits
+     * @brief Number of guesses that revealed a letter.
+     */
+    long getHits();
+
+    /**
+	 * @method getMisses
+     * @brief Number of guesses that cost a life.
+     */
+    long getMisses();
+
+    /**
+	 * @method getWins
+     * @brief Number of games won.
+     */
+    long getWins();
+
+    /**
+	 * @method getLosses
+     * @brief Number of games lost.
+     */
+    long getLosses();
+
+    /**
+	 * @method getGuessLatencyP50Nanos
+     * @brief Median time of a guess, in nanoseconds.
+     */
+    long getGuessLatencyP50Nanos();
+
+    /**
+	 * @method getGuessLatencyP99Nanos
+     * @brief 99th percentile time of a guess, in nanoseconds.
+     */
+    long getGuessLatencyP99Nanos();
+
+    /**
+	 * @method getGuessLatencyP999Nanos
+     * @brief 99.9th percentile time of a guess, in nanoseconds.
+     */
+    long getGuessLatencyP999Nanos();
+
+    /**
+	 * @method getNewGameLatencyP50Nanos
+     * @brief Median time to start a game (picking the word included), in nanoseconds.
+     */
+    long getNewGameLatencyP50Nanos();
+
+    /**
+	 * @method getNewGameLatencyP99Nanos
+     * @brief 99th percentile time to start a game, in nanoseconds.
+     */
+    long getNewGameLatencyP99Nanos();
+}
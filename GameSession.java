@@ -0,0 +1,337 @@
+/**
+ * @file GameSession.java
+ * @brief This file contains the GameSession class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.nio.ByteBuffer;
+
+/**
+ * @class GameSession
+ * @brief A single player's game, safe to use from several threads.
+ * @details Wraps its own HangmanModel and guards it with a per-session lock,
+ *          so different sessions never contend with each other.
+ *          Changes of the game are reported to the registry's GameLifecycleListener,
+ *          and guesses and new games are timed for its GameMetrics, if it has any.
+ */
+public class GameSession {
+
+    private final long id; // unique id of the session
+    private final HangmanModel model; // game state of this session only
+    private final GameLifecycleListener listener; // receives the events of this session
+    private final GameMetrics metrics; // records counters and latencies, null if not measured
+    private volatile long lastActive = System.nanoTime(); // time of the last new game or guess, or of the restart
+    private int unreportedGuesses = 0; // guesses not yet reported to the metrics
+    private int unreportedHits = 0; // hits among them
+    private int unreportedMisses = 0; // misses among them
+    private int guessNumber = 0; // guesses in this session, to pick the ones that are timed
+
+    /**
+	 * @method GameSession
+     * @brief Constructor of GameSession class.
+     * @param id Unique id of the session.
+     * @param words Dictionary of words to guess.
+     * @param listener Receives the events of this session.
+     * @param metrics Records counters and latencies, or <code>null</code>.
+     */
+    GameSession(long id, WordSource words, GameLifecycleListener listener, GameMetrics metrics) {
+        this.id = id;
+        this.model = new HangmanModel(words);
+        this.listener = listener;
+        this.metrics = metrics;
+    }
+
+    /**
+	 * @method getId
+     * @brief Getter method for the session id.
+     * @return Id of the session.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+	 * @method addListener
+     * @brief Starts telling a listener about every change of this session's game.
+     * @param listener Listener, called while the session is locked; wrap it in a GameChangeDispatcher
+     *                 to receive the changes on another thread.
+     */
+    public synchronized void addListener(GameChangeListener listener) {
+        model.addListener(listener);
+    }
+
+    /**
+	 * @method removeListener
+     * @brief Stops telling a listener about changes.
+     * @param listener Listener added before.
+     */
+    public synchronized void removeListener(GameChangeListener listener) {
+        model.removeListener(listener);
+    }
+
+    /**
+	 * @method startNewGame
+     * @brief Starts a new game in this session.
+     */
+    public synchronized void startNewGame() {
+        long start = System.nanoTime();
+        lastActive = start;
+        model.startNewGame();
+        gameStarted(start);
+    }
+
+    /**
+	 * @method startNewGame
+     * @brief Starts a new game in this session with a word matching a constraint.
+     * @param constraint Which words are acceptable.
+     */
+    public synchronized void startNewGame(WordConstraint constraint) {
+        long start = System.nanoTime();
+        lastActive = start;
+        model.startNewGame(constraint);
+        gameStarted(start);
+    }
+
+    /**
+	 * @method startNewGame
+     * @brief Starts a new game in this session with the next word of a player's rotation.
+     * @param rotation Rotation of the player; not to be used by another session at the same time.
+     */
+    public synchronized void startNewGame(WordRotation rotation) {
+        long start = System.nanoTime();
+        lastActive = start;
+        model.startNewGame(rotation);
+        gameStarted(start);
+    }
+
+    /**
+	 * @method gameStarted
+     * @brief Reports a game that has just been started.
+     * @param start Time the start began.
+     */
+    private void gameStarted(long start) {
+        if (metrics != null) {
+            metrics.gameStarted(id, model.getWordIndex(), System.nanoTime() - start);
+            reportGuesses();
+        }
+        listener.gameStarted(id, model.getWordIndex(), model.getGameSeed());
+    }
+
+    /**
+	 * @method processGuess
+     * @brief Processes a guessed letter in this session.
+     * @param letter Character to process.
+     */
+    public synchronized void processGuess(char letter) {
+        long start = System.nanoTime();
+        lastActive = start;
+        int guessedBefore = model.getGuessedLetters();
+        int guessesLeftBefore = model.getGuessesLeft();
+        model.processGuess(letter);
+        boolean accepted = model.getGuessedLetters() != guessedBefore;
+        if (metrics != null) {
+            boolean hit = accepted && model.getGuessesLeft() == guessesLeftBefore;
+            unreportedGuesses++;
+            if (accepted) {
+                if (hit) {
+                    unreportedHits++;
+                } else {
+                    unreportedMisses++;
+                }
+            }
+            metrics.guessEvent(id, letter, accepted, hit);
+            if ((++guessNumber & (GameMetrics.GUESS_SAMPLE - 1)) == 0) {
+                metrics.guessTimed(System.nanoTime() - start);
+            }
+            if (unreportedGuesses == GameMetrics.GUESS_BATCH) {
+                reportGuesses();
+            }
+        }
+        if (accepted) {
+            // report the letter of the alphabet the guess was folded to
+            int index = Integer.numberOfTrailingZeros(model.getGuessedLetters() ^ guessedBefore);
+            listener.letterGuessed(id, model.getAlphabet().letterAt(index), model.getGuessedLetters());
+            if (model.isGameOver()) {
+                if (metrics != null) {
+                    metrics.gameEnded(id, model.isWordGuessed());
+                    reportGuesses();
+                }
+                listener.gameEnded(id, model.getWordIndex(), model.isWordGuessed(),
+                        HangmanModel.TOTAL_NUMBER_OF_GUESSES - model.getGuessesLeft());
+            }
+        }
+    }
+
+    /**
+	 * @method reportGuesses
+     * @brief Adds the guesses counted so far to the metrics.
+     */
+    private void reportGuesses() {
+        if (unreportedGuesses > 0) {
+            metrics.guessesProcessed(unreportedGuesses, unreportedHits, unreportedMisses);
+            unreportedGuesses = 0;
+            unreportedHits = 0;
+            unreportedMisses = 0;
+        }
+    }
+
+    /**
+	 * @method flushMetrics
+     * @brief Reports the guesses not reported yet, when the session is removed in the middle of a game.
+     */
+    synchronized void flushMetrics() {
+        if (metrics != null) {
+            reportGuesses();
+        }
+    }
+
+    /**
+	 * @method getWordIndex
+     * @brief Getter method for the index of the secret word in the dictionary.
+     * @return Index of the secret word.
+     */
+    public synchronized int getWordIndex() {
+        return model.getWordIndex();
+    }
+
+    /**
+	 * @method getGameSeed
+     * @brief Getter method for the seed the current game was started from.
+     * @return Seed of the game.
+     */
+    public synchronized long getGameSeed() {
+        return model.getGameSeed();
+    }
+
+    /**
+	 * @method getAlphabet
+     * @brief Getter method for the alphabet the session is played with.
+     * @return Alphabet of the session's dictionary.
+     */
+    public Alphabet getAlphabet() {
+        return model.getAlphabet();
+    }
+
+    /**
+	 * @method getGuessedLetters
+     * @brief Getter method for the mask of guessed letters.
+     * @return Mask of guessed letters, bit i is letter i of the alphabet.
+     */
+    public synchronized int getGuessedLetters() {
+        return model.getGuessedLetters();
+    }
+
+    /**
+	 * @method getLastActive
+     * @brief Time of the last new game or guess in this session.
+     * @return Value of System.nanoTime() at that moment.
+     */
+    long getLastActive() {
+        return lastActive;
+    }
+
+    /**
+	 * @method setLastActive
+     * @brief Sets the time the session was last known to be active, e.g. the restart for a resumed session.
+     * @param time Value of System.nanoTime() at that moment.
+     */
+    void setLastActive(long time) {
+        lastActive = time;
+    }
+
+    /**
+	 * @method getCurrentWord
+     * @brief Current representation of a secret word (??r??o??).
+     * @return Current representation of a word.
+     */
+    public synchronized String getCurrentWord() {
+        return model.getCurrentWord();
+    }
+
+    /**
+	 * @method getGuessesLeft
+     * @brief Getter method for number of guesses left.
+     * @return Number of guesses left.
+     */
+    public synchronized int getGuessesLeft() {
+        return model.getGuessesLeft();
+    }
+
+    /**
+	 * @method isLetterGuessed
+     * @brief Checks if letter was guessed before.
+     * @param letter Character to check.
+     * @return <code>true</code> if letter was already guessed, <code>false</code> otherwise.
+     */
+    public synchronized boolean isLetterGuessed(char letter) {
+        return model.isLetterGuessed(letter);
+    }
+
+    /**
+	 * @method isWordGuessed
+     * @brief Checks if the word is guessed.
+     * @return <code>true</code> if the player has won, <code>false</code> otherwise.
+     */
+    public synchronized boolean isWordGuessed() {
+        return model.isWordGuessed();
+    }
+
+    /**
+	 * @method isGameOver
+     * @brief Checks if the game has ended.
+     * @return <code>true</code> if the player has won or lost, <code>false</code> otherwise.
+     */
+    public synchronized boolean isGameOver() {
+        return model.isGameOver();
+    }
+
+    /**
+	 * @method getHint
+     * @brief Suggests the next letter to guess in this session.
+     * @param hints Hint engine for the session's dictionary.
+     * @return A letter not guessed yet.
+     */
+    public synchronized char getHint(HintEngine hints) {
+        return hints.hint(model);
+    }
+
+    /**
+	 * @method getCurrentGameStatus
+     * @brief Constructs game status string.
+     * @return String to represent game status.
+     */
+    public synchronized String getCurrentGameStatus() {
+        return model.getCurrentGameStatus();
+    }
+
+    /**
+	 * @method saveState
+     * @brief Writes the id and game state of this session: id, word index, guessed letters, seed.
+     * @param out Buffer with at least 24 bytes left.
+     */
+    synchronized void saveState(ByteBuffer out) {
+        out.putLong(id).putInt(model.getWordIndex()).putInt(model.getGuessedLetters()).putLong(model.getGameSeed());
+    }
+
+    /**
+	 * @method restore
+     * @brief Puts the session back into a saved game state, without reporting events.
+     * @param wordIndex Index of the secret word.
+     * @param seed Seed of the game.
+     * @param guessedLetters Mask of guessed letters.
+     */
+    synchronized void restore(int wordIndex, long seed, int guessedLetters) {
+        model.restoreGame(seed, wordIndex, guessedLetters);
+    }
+
+    /**
+	 * @method replayGuess
+     * @brief Processes a guess again while recovering, without reporting events.
+     * @param letter Guessed letter.
+     */
+    synchronized void replayGuess(char letter) {
+        model.processGuess(letter);
+    }
+}
@@ -0,0 +1,361 @@
+/**
+ * @file GameSessionRegistry.java
+ * @brief This file contains the GameSessionRegistry class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * @class GameSessionRegistry
+ * @brief Keeps all live game sessions, keyed by session id.
+ * @details Lookups do not lock, and sessions are removed without a global lock. Creating a session
+ *          takes the shared side of a lock whose exclusive side only a snapshot takes, for an instant,
+ *          so a session whose start is logged before the snapshot position is always in the snapshot.
+ *          After a restart, the sessions of a snapshot stay in its mapping and are resumed when first
+ *          looked up, so restoring any number of them takes no time up front.
+ */
+public class GameSessionRegistry {
+
+    private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>(); // live sessions
+    private final AtomicLong nextId = new AtomicLong(1); // id of the next created session
+    private final WordSource words; // dictionary shared by all sessions
+    private final GameLifecycleListener listener; // receives the events of all sessions
+    private final GameMetrics metrics; // records counters and latencies of all sessions, null if not measured
+    private volatile SessionExpiry expiry; // removes idle sessions, null if they are kept forever
+    private volatile SessionCheckpoint checkpoint; // saved sessions not resumed yet, null if none
+    private final ReadWriteLock registering = new ReentrantReadWriteLock(); // shared while a session is logged and put
+
+    /**
+	 * @method GameSessionRegistry
+     * @brief Constructor of GameSessionRegistry class, sessions use the built-in words.
+     */
+    public GameSessionRegistry() {
+        this(HangmanModel.DEFAULT_WORDS);
+    }
+
+    /**
+	 * @method GameSessionRegistry
+     * @brief Constructor of GameSessionRegistry class.
+     * @param words Dictionary shared by all sessions.
+     */
+    public GameSessionRegistry(WordSource words) {
+        this(words, GameLifecycleListener.NONE);
+    }
+
+    /**
+	 * @method GameSessionRegistry
+     * @brief Constructor of GameSessionRegistry class.
+     * @param words Dictionary shared by all sessions.
+     * @param listener Receives the events of all sessions.
+     */
+    public GameSessionRegistry(WordSource words, GameLifecycleListener listener) {
+        this(words, listener, null);
+    }
+
+    /**
+	 * @method GameSessionRegistry
+     * @brief Constructor of GameSessionRegistry class.
+     * @param words Dictionary shared by all sessions.
+     * @param listener Receives the events of all sessions.
+     * @param metrics Records counters and latencies of all sessions, or <code>null</code>.
+     */
+    public GameSessionRegistry(WordSource words, GameLifecycleListener listener, GameMetrics metrics) {
+        this.words = words;
+        this.listener = listener;
+        this.metrics = metrics;
+    }
+
+    /**
+	 * @method createSession
+     * @brief Creates a session with a fresh game and registers it.
+     * @return Newly created session.
+     */
+    public GameSession createSession() {
+        long start = System.nanoTime();
+        GameSession session = new GameSession(nextId.getAndIncrement(), words, listener, metrics);
+        if (metrics != null) {
+            metrics.gameStarted(session.getId(), session.getWordIndex(), System.nanoTime() - start);
+        }
+        // logged before the session can be found, so no guess of it is logged before its start,
+        // and put before a snapshot can take its position, so the snapshot holds it or replays its start
+        registering.readLock().lock();
+        try {
+            listener.gameStarted(session.getId(), session.getWordIndex(), session.getGameSeed());
+            sessions.put(session.getId(), session);
+        } finally {
+            registering.readLock().unlock();
+        }
+        scheduleExpiry(session);
+        return session;
+    }
+
+    /**
+	 * @method getSession
+     * @brief Looks up a session by id, resuming it if it is still saved in a checkpoint.
+     * @param id Id of the session.
+     * @return The session, or <code>null</code> if there is no such session.
+     */
+    public GameSession getSession(long id) {
+        GameSession session = sessions.get(id);
+        if (session == null && checkpoint != null) {
+            session = resume(id);
+        }
+        return session;
+    }
+
+    /**
+	 * @method resume
+     * @brief Restores a session of the checkpoint into the registry.
+     * @param id Id of the session.
+     * @return The session, or <code>null</code> if there is no such session.
+     */
+    private GameSession resume(long id) {
+        SessionCheckpoint saved = checkpoint;
+        int record = saved == null ? -1 : saved.find(id);
+        if (record < 0) {
+            return sessions.get(id);
+        }
+        GameSession session;
+        synchronized (saved.lock(record)) {
+            if (!saved.take(record)) {
+                return sessions.get(id); // resumed by another thread, or discarded
+            }
+            session = new GameSession(id, words, listener, metrics);
+            session.restore(saved.getWordIndex(record), saved.getSeed(record), saved.getGuessedLetters(record));
+            session.setLastActive(saved.getOpened()); // idle since the restart, not since the lookup
+            sessions.put(id, session);
+        }
+        release(saved);
+        scheduleExpiry(session);
+        return session;
+    }
+
+    /**
+	 * @method release
+     * @brief Drops the checkpoint once all its sessions are taken, so its mapping can be unmapped.
+     */
+    private void release(SessionCheckpoint saved) {
+        if (saved.remaining() == 0 && checkpoint == saved) {
+            checkpoint = null;
+        }
+    }
+
+    /**
+	 * @method rotation
+     * @brief Creates or restores a player's rotation through the dictionary of the sessions.
+     * @param key Key of the player's rotation, e.g. random when the player signs up.
+     * @param position Words of the current pass already played, 0 for a new player.
+     * @return Rotation to pass to GameSession.startNewGame.
+     */
+    public WordRotation rotation(long key, int position) {
+        return new WordRotation(words.size(), key, position);
+    }
+
+    /**
+	 * @method removeSession
+     * @brief Removes a session from the registry.
+     * @param id Id of the session.
+     * @return The removed session, or <code>null</code> if there was no such session.
+     */
+    public GameSession removeSession(long id) {
+        if (checkpoint != null) {
+            resume(id); // a saved session is resumed to be returned
+        }
+        GameSession session = sessions.remove(id);
+        if (session != null) {
+            session.flushMetrics();
+            listener.sessionClosed(id);
+        }
+        return session;
+    }
+
+    /**
+	 * @method expireIdle
+     * @brief Starts removing sessions without a new game or guess for a time to live.
+     * @param ttlMillis How long a session may be idle, in milliseconds.
+     * @param tickMillis Precision of expiry, in milliseconds.
+     * @param onExpire Called with an idle session before it is removed, e.g. to archive it; may be <code>null</code>.
+     * @return The expiry, close it to stop removing sessions.
+     * @throws IllegalStateException If idle sessions are already being removed.
+     */
+    public synchronized SessionExpiry expireIdle(long ttlMillis, long tickMillis, Consumer<GameSession> onExpire) {
+        if (expiry != null) {
+            throw new IllegalStateException("idle sessions are already expired");
+        }
+        SessionExpiry started = new SessionExpiry(this, ttlMillis, tickMillis, onExpire);
+        expiry = started;
+        for (GameSession session : sessions.values()) {
+            started.schedule(session); // a session created meanwhile may be scheduled twice, which is harmless
+        }
+        SessionCheckpoint saved = checkpoint;
+        if (saved != null) {
+            started.schedule(saved);
+        }
+        return started;
+    }
+
+    /**
+	 * @method scheduleExpiry
+     * @brief Lets the expiry watch a new session, if idle sessions are removed.
+     */
+    private void scheduleExpiry(GameSession session) {
+        SessionExpiry watching = expiry;
+        if (watching != null) {
+            watching.schedule(session);
+        }
+    }
+
+    /**
+	 * @method sessions
+     * @brief All live sessions, except those still saved in a checkpoint.
+     * @return Unmodifiable view of the sessions, reflecting later changes.
+     */
+    public Collection<GameSession> sessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    /**
+	 * @method resumeLazily
+     * @brief Lets the sessions of a checkpoint be resumed when they are first looked up.
+     * @param saved Sessions of a snapshot, sorted by id, none of them in the registry yet.
+     */
+    void resumeLazily(SessionCheckpoint saved) {
+        if (saved.size() > 0) {
+            nextId.accumulateAndGet(saved.getId(saved.size() - 1) + 1, Math::max);
+            checkpoint = saved;
+            SessionExpiry watching = expiry;
+            if (watching != null) {
+                watching.schedule(saved);
+            }
+        }
+    }
+
+    /**
+	 * @method positionBetweenRegistrations
+     * @brief Reads a log position while no session is being created.
+     * @details Every session whose start was logged before the position is in the registry when this
+     *          returns, so saveSessions finds it.
+     * @param position Reads the position, e.g. the tail of the log.
+     * @return The position read.
+     */
+    long positionBetweenRegistrations(LongSupplier position) {
+        registering.writeLock().lock();
+        try {
+            return position.getAsLong();
+        } finally {
+            registering.writeLock().unlock();
+        }
+    }
+
+    /**
+	 * @method saveSessions
+     * @brief Writes the state of all sessions, live or still saved in the checkpoint, sorted by id.
+     * @details Saved sessions are copied from the checkpoint without being resumed. A session created
+     *          meanwhile may be left out, and one removed meanwhile may be kept.
+     * @param offset Bytes left free before the records, e.g. for a header.
+     * @return Buffer holding the records at the offset, positioned after the last one.
+     */
+    ByteBuffer saveSessions(int offset) {
+        SessionCheckpoint saved = checkpoint;
+        long[] ids = new long[sessions.size() + 16];
+        int live = 0;
+        for (Long id : sessions.keySet()) {
+            if (live == ids.length) {
+                ids = Arrays.copyOf(ids, live * 2);
+            }
+            ids[live++] = id;
+        }
+        Arrays.sort(ids, 0, live);
+
+        int records = saved == null ? 0 : saved.size();
+        ByteBuffer out = ByteBuffer.allocate(offset + Math.multiplyExact(live + records, SessionCheckpoint.RECORD_SIZE));
+        out.position(offset);
+        int i = 0;
+        int record = 0;
+        while (i < live || record < records) {
+            if (record == records || (i < live && ids[i] < saved.getId(record))) {
+                GameSession session = sessions.get(ids[i++]);
+                if (session != null) {
+                    session.saveState(out);
+                }
+                continue;
+            }
+            if (i < live && ids[i] == saved.getId(record)) {
+                i++; // resumed, saved below
+            }
+            GameSession session;
+            synchronized (saved.lock(record)) {
+                if (!saved.isTaken(record)) {
+                    saved.copy(record, out);
+                    record++;
+                    continue;
+                }
+                session = sessions.get(saved.getId(record++)); // taken and put into the map under this lock
+            }
+            if (session != null) {
+                session.saveState(out);
+            }
+        }
+        return out;
+    }
+
+    /**
+	 * @method restoreSession
+     * @brief Registers a session with a saved id and game state, without reporting events.
+     * @param id Id of the session.
+     * @param wordIndex Index of the secret word.
+     * @param seed Seed of the game.
+     * @param guessedLetters Mask of guessed letters.
+     * @return The restored session.
+     */
+    GameSession restoreSession(long id, int wordIndex, long seed, int guessedLetters) {
+        GameSession session = new GameSession(id, words, listener, metrics);
+        session.restore(wordIndex, seed, guessedLetters);
+        sessions.put(id, session);
+        nextId.accumulateAndGet(id + 1, Math::max);
+        scheduleExpiry(session);
+        return session;
+    }
+
+    /**
+	 * @method discardSession
+     * @brief Removes a session without reporting events.
+     * @param id Id of the session.
+     */
+    void discardSession(long id) {
+        SessionCheckpoint saved = checkpoint;
+        int record = saved == null ? -1 : saved.find(id);
+        if (record >= 0) {
+            synchronized (saved.lock(record)) {
+                saved.take(record);
+            }
+            release(saved);
+        }
+        GameSession session = sessions.remove(id);
+        if (session != null) {
+            session.flushMetrics();
+        }
+    }
+
+    /**
+	 * @method size
+     * @brief Number of live sessions.
+     * @return Number of sessions in the registry, including those still saved in a checkpoint.
+     */
+    public int size() {
+        SessionCheckpoint saved = checkpoint;
+        return sessions.size() + (saved == null ? 0 : saved.remaining());
+    }
+}
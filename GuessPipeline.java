@@ -0,0 +1,403 @@
+/**
+ * @file GuessPipeline.java
+ * @brief This file contains the GuessPipeline class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.Closeable;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @class GuessPipeline
+ * @brief Plays games on a fixed number of shards, each owning its sessions and running on its own thread.
+ * @details Sessions are routed to shards by id. Requests are written into the shard's bounded ring buffer
+ *          by any number of threads without locks; the shard's thread drains the ring in batches and
+ *          plays on plain HangmanModels, so guesses need no synchronization and a shard's games stay in
+ *          its core's cache. The results of a batch are handed to the listener at once, on the shard's
+ *          thread. Requests of one session are processed in the order they were submitted.
+ *          A full ring makes submitting threads wait, so it also limits how much work is queued.
+ */
+public class GuessPipeline implements Closeable {
+
+    public static final int PLAYING = 0; // result status: the game goes on
+    public static final int WON = 1; // result status: the word was guessed
+    public static final int LOST = 2; // result status: no guesses are left
+    public static final int NO_GAME = 3; // result status: the session has no game, start one first
+    public static final int CLOSED = 4; // result status: the session was closed
+
+    private static final int NEW = 1; // request: start a new game
+    private static final int GUESS = 2; // request: guess a letter
+    private static final int CLOSE = 3; // request: forget the session
+    private static final int MAX_BATCH = 256; // most requests processed before results are published
+    private static final int SPINS = 200; // busy checks before a waiting thread yields or parks
+
+    /**
+     * @interface Listener
+     * @brief Receives the results of the requests, a batch at a time.
+     */
+    public interface Listener {
+
+        /**
+    	 * @method published
+         * @brief Called on a shard's thread after it has processed a batch of requests.
+         * @details The results are reused for the next batch, so they must not be kept after the call.
+         *          The shard processes nothing else meanwhile, so this should be quick.
+         * @param results Results of the batch, in the order the requests were processed.
+         */
+        void published(Results results);
+    }
+
+    /**
+     * @class Results
+     * @brief The results of a batch of requests of one shard.
+     */
+    public static final class Results {
+        private final WordSource words; // dictionary, to show current words
+        private final Alphabet alphabet; // letters of the dictionary's words
+        private final long[] sessionIds = new long[MAX_BATCH]; // session of every result
+        private final long[] tags = new long[MAX_BATCH]; // tag of the request of every result
+        private final int[] statuses = new int[MAX_BATCH]; // PLAYING, WON, LOST, NO_GAME or CLOSED
+        private final int[] guessesLeft = new int[MAX_BATCH]; // guesses left after the request
+        private final int[] guessedLetters = new int[MAX_BATCH]; // mask of guessed letters after the request
+        private final int[] wordIndexes = new int[MAX_BATCH]; // secret word after the request
+        private int size; // number of results
+
+        Results(WordSource words) {
+            this.words = words;
+            this.alphabet = words.getAlphabet();
+        }
+
+        /**
+    	 * @method add
+         * @brief Adds the result of a request, with the state of its game.
+         */
+        void add(long sessionId, long tag, HangmanModel game, int status) {
+            sessionIds[size] = sessionId;
+            tags[size] = tag;
+            if (game != null) {
+                status = game.isWordGuessed() ? WON : game.isGameOver() ? LOST : PLAYING;
+                guessesLeft[size] = game.getGuessesLeft();
+                guessedLetters[size] = game.getGuessedLetters();
+                wordIndexes[size] = game.getWordIndex();
+            }
+            statuses[size] = status;
+            size++;
+        }
+
+        /**
+    	 * @method size
+         * @brief Number of results in the batch.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+    	 * @method getSessionId
+         * @brief Session a result belongs to.
+         */
+        public long getSessionId(int i) {
+            return sessionIds[i];
+        }
+
+        /**
+    	 * @method getTag
+         * @brief Tag the request was submitted with.
+         */
+        public long getTag(int i) {
+            return tags[i];
+        }
+
+        /**
+    	 * @method getStatus
+         * @brief Status of the game after the request: PLAYING, WON, LOST, NO_GAME or CLOSED.
+         */
+        public int getStatus(int i) {
+            return statuses[i];
+        }
+
+        /**
+    	 * @method getGuessesLeft
+         * @brief Guesses left after the request; only for PLAYING, WON and LOST.
+         */
+        public int getGuessesLeft(int i) {
+            return guessesLeft[i];
+        }
+
+        /**
+    	 * @method getGuessedLetters
+         * @brief Mask of the letters guessed after the request, bit i is letter i of the alphabet; only for PLAYING, WON and LOST.
+         */
+        public int getGuessedLetters(int i) {
+            return guessedLetters[i];
+        }
+
+        /**
+    	 * @method getWordIndex
+         * @brief Index of the secret word in the dictionary; only for PLAYING, WON and LOST.
+         */
+        public int getWordIndex(int i) {
+            return wordIndexes[i];
+        }
+
+        /**
+    	 * @method getCurrentWord
+         * @brief The secret word as the player sees it, unguessed letters as '?'; only for PLAYING, WON and LOST.
+         */
+        public String getCurrentWord(int i) {
+            char[] word = words.getWord(wordIndexes[i]).toCharArray();
+            for (int j = 0; j < word.length; j++) {
+                int bit = alphabet.bit(word[j]);
+                if (bit != 0 && (guessedLetters[i] & bit) == 0) {
+                    word[j] = '?';
+                }
+            }
+            return new String(word);
+        }
+    }
+
+    private final WordSource words; // dictionary shared by all games
+    private final Listener listener; // receives the results
+    private final Shard[] shards; // shards sessions are routed to
+    private volatile boolean closed = false; // no more requests are accepted
+
+    /**
+	 * @method GuessPipeline
+     * @brief Constructor of GuessPipeline class. Starts the shards' threads.
+     * @param words Dictionary shared by all games.
+     * @param shards Number of shards, e.g. the number of cores left to the game.
+     * @param capacity Requests each shard can have waiting, a power of two.
+     * @param listener Receives the results.
+     */
+    public GuessPipeline(WordSource words, int shards, int capacity, Listener listener) {
+        if (shards <= 0 || capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("shards must be positive and capacity a power of two");
+        }
+        this.words = words;
+        this.listener = listener;
+        this.shards = new Shard[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new Shard(i, capacity);
+        }
+        for (Shard shard : this.shards) {
+            shard.thread.start();
+        }
+    }
+
+    /**
+	 * @method startNewGame
+     * @brief Requests a new game in a session, creating the session if it does not exist.
+     * @param sessionId Id of the session.
+     * @param tag Any value, returned with the result.
+     */
+    public void startNewGame(long sessionId, long tag) {
+        shardOf(sessionId).submit(sessionId, NEW << 16, tag);
+    }
+
+    /**
+	 * @method processGuess
+     * @brief Requests a guess in the current game of a session.
+     * @param sessionId Id of the session.
+     * @param letter Guessed letter of the dictionary's alphabet.
+     * @param tag Any value, returned with the result.
+     * @throws IllegalArgumentException If the letter is not in the dictionary's alphabet.
+     */
+    public void processGuess(long sessionId, char letter, long tag) {
+        if (words.getAlphabet().indexOf(letter) < 0) {
+            throw new IllegalArgumentException("letter must be one of " + words.getAlphabet().getLetters());
+        }
+        shardOf(sessionId).submit(sessionId, GUESS << 16 | letter, tag);
+    }
+
+    /**
+	 * @method closeSession
+     * @brief Requests a session to be forgotten.
+     * @param sessionId Id of the session.
+     * @param tag Any value, returned with the result.
+     */
+    public void closeSession(long sessionId, long tag) {
+        shardOf(sessionId).submit(sessionId, CLOSE << 16, tag);
+    }
+
+    /**
+	 * @method getShardCount
+     * @brief Getter method for the number of shards.
+     * @return Number of shards.
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+	 * @method shardOf
+     * @brief Shard owning a session.
+     */
+    private Shard shardOf(long sessionId) {
+        if (closed) {
+            throw new IllegalStateException("the pipeline is closed");
+        }
+        return shards[HangmanModel.indexForSeed(sessionId, shards.length)];
+    }
+
+    /**
+	 * @method close
+     * @brief Processes the requests already submitted, then stops the shards.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.thread);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @class Shard
+     * @brief A ring buffer of requests and the thread that owns the shard's games and drains it.
+     * @details Submitting threads claim a sequence number, wait until its slot was drained, write the
+     *          request into the slot and publish the sequence number for the slot. The shard's thread
+     *          takes every consecutive published request, up to a batch, and then frees their slots.
+     */
+    private final class Shard implements Runnable {
+        final Thread thread; // the only thread touching games and results
+        final int mask; // capacity - 1, maps a sequence number to its slot
+        final long[] sessionIds; // session of the request in every slot
+        final long[] tags; // tag of the request in every slot
+        final int[] commands; // kind of request << 16 | letter, for every slot
+        final AtomicLongArray published; // sequence number written into every slot
+        final AtomicLong claimed = new AtomicLong(); // next sequence number to be claimed
+        final AtomicLong drained = new AtomicLong(); // sequence numbers below this were processed
+        volatile boolean sleeping = false; // the thread is parked, waiting for requests
+        final LongMap<HangmanModel> games = new LongMap<>(); // games of the shard's sessions, by session id
+        final SplittableRandom random; // seeds of the shard's games
+        final Results results = new Results(words); // results of the current batch
+
+        Shard(int number, int capacity) {
+            mask = capacity - 1;
+            sessionIds = new long[capacity];
+            tags = new long[capacity];
+            commands = new int[capacity];
+            published = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                published.set(i, -1); // nothing published yet, not even sequence 0
+            }
+            random = new SplittableRandom();
+            thread = new Thread(this, "hangman-shard-" + number);
+            thread.setDaemon(true);
+        }
+
+        /**
+    	 * @method submit
+         * @brief Puts a request into the ring, waiting while the ring is full.
+         */
+        void submit(long sessionId, int command, long tag) {
+            long sequence = claimed.getAndIncrement();
+            int spins = 0;
+            while (sequence - drained.get() > mask) {
+                if (++spins < SPINS) {
+                    Thread.onSpinWait();
+                } else if (!thread.isAlive()) {
+                    throw new IllegalStateException("the pipeline is closed");
+                } else {
+                    Thread.yield();
+                }
+            }
+            int slot = (int) sequence & mask;
+            sessionIds[slot] = sessionId;
+            tags[slot] = tag;
+            commands[slot] = command;
+            published.set(slot, sequence); // makes the slot's contents visible to the shard
+            if (sleeping) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            long next = 0; // sequence number of the next request to process
+            while (true) {
+                int count = 0;
+                while (count < MAX_BATCH && published.get((int) (next + count) & mask) == next + count) {
+                    count++;
+                }
+                if (count == 0) {
+                    if (closed && claimed.get() == next) {
+                        return;
+                    }
+                    await(next);
+                    continue;
+                }
+
+                results.size = 0;
+                for (int i = 0; i < count; i++) {
+                    int slot = (int) (next + i) & mask;
+                    process(sessionIds[slot], commands[slot], tags[slot]);
+                }
+                next += count;
+                drained.set(next); // frees the slots for submitting threads
+                listener.published(results);
+            }
+        }
+
+        /**
+    	 * @method await
+         * @brief Waits until a request is published: spins a little, then parks.
+         */
+        private void await(long next) {
+            int slot = (int) next & mask;
+            for (int i = 0; i < SPINS; i++) {
+                if (published.get(slot) == next) {
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+            sleeping = true;
+            // checked again after announcing the sleep, a request published before was not woken for
+            if (published.get(slot) != next && !closed) {
+                LockSupport.parkNanos(this, 1_000_000);
+            }
+            sleeping = false;
+        }
+
+        /**
+    	 * @method process
+         * @brief Plays one request and adds its result to the batch.
+         */
+        private void process(long sessionId, int command, long tag) {
+            HangmanModel game = games.get(sessionId);
+            switch (command >>> 16) {
+                case NEW:
+                    if (game == null) {
+                        game = new HangmanModel(words, random); // starts with a new game already
+                        games.put(sessionId, game);
+                    } else {
+                        game.startNewGame();
+                    }
+                    results.add(sessionId, tag, game, PLAYING);
+                    break;
+                case GUESS:
+                    if (game != null) {
+                        game.processGuess((char) (command & 0xffff));
+                    }
+                    results.add(sessionId, tag, game, NO_GAME);
+                    break;
+                default:
+                    games.remove(sessionId);
+                    results.add(sessionId, tag, null, CLOSED);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * @file GuessingStrategy.java
+ * @brief This file contains the GuessingStrategy interface and its standard implementations.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.SplittableRandom;
+
+/**
+ * @interface GuessingStrategy
+ * @brief An automated player that chooses the next letter to guess.
+ * @details A strategy may keep state about the current game, so every thread needs its own instance.
+ *          A new game is recognized by an empty mask of guessed letters.
+ */
+public interface GuessingStrategy {
+
+    String FREQUENCY_ORDER = "etaoinshrdlcumwfgypbvkjxqz"; // English letters from the most to the least frequent
+
+    /**
+	 * @method nextGuess
+     * @brief Chooses the next letter.
+     * @param currentWord Current representation of the secret word (??r??o??).
+     * @param guessedLetters Mask of letters guessed so far, bit i is letter i of the alphabet ('a' in English).
+     * @return A letter of the strategy's alphabet that has not been guessed yet.
+     */
+    char nextGuess(String currentWord, int guessedLetters);
+
+    /**
+	 * @method frequency
+     * @brief Strategy guessing English letters in order of their frequency in English.
+     * @return New strategy.
+     */
+    static GuessingStrategy frequency() {
+        return frequency(Alphabet.ENGLISH);
+    }
+
+    /**
+	 * @method frequency
+     * @brief Strategy guessing letters in order of their frequency; alphabets without one in their order.
+     * @param alphabet Alphabet of the games.
+     * @return New strategy.
+     */
+    static GuessingStrategy frequency(Alphabet alphabet) {
+        return (currentWord, guessedLetters) -> firstUnguessed(guessedLetters, alphabet);
+    }
+
+    /**
+	 * @method random
+     * @brief Strategy guessing English letters at random.
+     * @param seed Seed of the strategy's random generator.
+     * @return New strategy.
+     */
+    static GuessingStrategy random(long seed) {
+        return random(seed, Alphabet.ENGLISH);
+    }
+
+    /**
+	 * @method random
+     * @brief Strategy guessing letters at random.
+     * @param seed Seed of the strategy's random generator.
+     * @param alphabet Alphabet of the games.
+     * @return New strategy.
+     */
+    static GuessingStrategy random(long seed, Alphabet alphabet) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return (currentWord, guessedLetters) -> {
+            // pick one of the letters not guessed yet
+            int left = alphabet.size() - Integer.bitCount(guessedLetters);
+            int skip = random.nextInt(left);
+            for (int letter = 0; letter < alphabet.size(); letter++) {
+                if ((guessedLetters & (1 << letter)) == 0 && skip-- == 0) {
+                    return alphabet.letterAt(letter);
+                }
+            }
+            throw new IllegalStateException("all letters are guessed");
+        };
+    }
+
+    /**
+	 * @method adaptive
+     * @brief Strategy guessing the letter found in most dictionary words that still fit the game.
+     * @param words Dictionary the secret words come from.
+     * @return New strategy.
+     */
+    static GuessingStrategy adaptive(WordStore words) {
+        return new AdaptiveGuessingStrategy(words);
+    }
+
+    /**
+	 * @method firstUnguessed
+     * @brief The most frequent letter not guessed yet; for alphabets other than English, the first one.
+     * @param guessedLetters Mask of guessed letters.
+     * @param alphabet Alphabet of the game.
+     * @return The letter.
+     */
+    static char firstUnguessed(int guessedLetters, Alphabet alphabet) {
+        String order = alphabet == Alphabet.ENGLISH ? FREQUENCY_ORDER : alphabet.getLetters();
+        for (int i = 0; i < order.length(); i++) {
+            char letter = order.charAt(i);
+            if ((guessedLetters & alphabet.bit(letter)) == 0) {
+                return letter;
+            }
+        }
+        throw new IllegalStateException("all letters are guessed");
+    }
+}
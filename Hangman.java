@@ -11,45 +11,26 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
-import java.awt.Image;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.FontMetrics;
+import java.awt.image.BufferedImage;
 
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Random;
-import java.util.Set;
-
 /**
  * @class Hangman
  * @brief Represents the main page of the Hangman game application.
  */ 
 public class Hangman implements ActionListener, KeyListener {
 	
-	// Array with questions
-	final private static ArrayList<String> SECRET_WORDS = new ArrayList<String>();
-	// Array with answers
-	final private static ArrayList<String> LETTERS = new ArrayList<String>();
-	
-	private Set<Character> guessedLetters = new HashSet<>();
-
-	final private static int TOTAL_NUMBER_OF_GUESSES = 6;
-	
-	private static String secret_word;
-	
-	private static int guesses_left = 6;
-	
-	private static boolean userWon = false;
-	private static boolean userLost = false;
+	// Game state and logic
+	final private HangmanModel model = new HangmanModel();
 	
 	JButton newGameButton;
 	JPanel drawingPanel;
@@ -61,31 +42,9 @@ public class Hangman implements ActionListener, KeyListener {
      * 		  Instantiates all system-related objects and GUI.
      */
 	public Hangman(){
-		initializeSecretWords();
 		initializeGUI();
 	}
 	
-	/**
-	 * @method initializeQuestionsAndAnswers
-     * @brief Initializes all questions and answers.
-     */
-	private void initializeSecretWords() {
-		
-		SECRET_WORDS.add("accretion");
-		SECRET_WORDS.add("boisterous");
-		SECRET_WORDS.add("dullard");
-		SECRET_WORDS.add("feigned");
-		SECRET_WORDS.add("haughty");
-		SECRET_WORDS.add("insipid");
-		SECRET_WORDS.add("noisome");
-		SECRET_WORDS.add("obdurate");
-		SECRET_WORDS.add("parsimonious");
-		SECRET_WORDS.add("sycophant");
-		
-		secret_word = SECRET_WORDS.get(getRandomIndex(SECRET_WORDS.size()));
-	
-	}
-	
 	/**
 	 * @method initializeGUI
      * @brief Initializes all necessary GUI elements. GUI setup logic.
@@ -123,6 +82,9 @@ public class Hangman implements ActionListener, KeyListener {
         
         // Add action listener to the submit button
         newGameButton.addActionListener(this);
+        
+        // Load images in the background, show them once they are there
+        HangmanImages.preload(drawingPanel::repaint);
 		
         // Application will exit after user clicks close button
  		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -146,7 +108,7 @@ public class Hangman implements ActionListener, KeyListener {
             setBackground(Color.WHITE);
          
             displayHangmanImage(g);       
-            displayCurrentWord(g, getCurrentWord());         
+            displayCurrentWord(g, model.getCurrentWord());         
             displayGameStatus(g);      
             displayAlphabet(g);
 
@@ -154,12 +116,14 @@ public class Hangman implements ActionListener, KeyListener {
         
         private void displayHangmanImage(Graphics g) {
         	
-        	// Load and draw the .gif image
-        	ImageIcon hangmanImageIcon = new ImageIcon("images_hangman/hangman" + guesses_left + ".gif");
-            Image hangmanImage = hangmanImageIcon.getImage();
+        	// Take the image from the cache, it is not there only while images are being loaded
+        	BufferedImage hangmanImage = HangmanImages.get(model.getGuessesLeft());
+        	if (hangmanImage == null) {
+        		return;
+        	}
             
             // Calculate the position to center horizontally
-            int x = (getWidth() - hangmanImageIcon.getIconWidth()) / 2;
+            int x = (getWidth() - hangmanImage.getWidth()) / 2;
             int y = 10; // 10 pixels from the top
             
             g.drawImage(hangmanImage, x, y, this);
@@ -192,11 +156,11 @@ public class Hangman implements ActionListener, KeyListener {
             FontMetrics fontMetrics = g.getFontMetrics();
 
             // Calculate position to center horizontally
-            int x = (getWidth() - fontMetrics.stringWidth(getCurrentGameStatus())) / 2;
+            int x = (getWidth() - fontMetrics.stringWidth(model.getCurrentGameStatus())) / 2;
             int y = getHeight() - 40; // 40 pixels from the bottom
 
             // Draw the current game status
-            g.drawString(getCurrentGameStatus(), x, y);
+            g.drawString(model.getCurrentGameStatus(), x, y);
         }
         
         private void displayAlphabet(Graphics g) {
@@ -218,7 +182,7 @@ public class Hangman implements ActionListener, KeyListener {
             // Iterate through the alphabet and draw each letter
             for (char letter = 'a'; letter <= 'z'; letter++) {
                 // Check if the letter has been guessed or not
-                boolean guessed = isLetterGuessed(letter); // Replace this with your logic to check if the letter is guessed
+                boolean guessed = model.isLetterGuessed(letter); // Replace this with your logic to check if the letter is guessed
 
                 // Set color based on whether the letter has been guessed or not
                 if (guessed) {
@@ -237,69 +201,8 @@ public class Hangman implements ActionListener, KeyListener {
         }
     }
     
-    private String getCurrentWord() {
-        String currentWord = "";
-  
-        for (int i = 0; i < secret_word.length(); i++) {
-            char currentChar = secret_word.charAt(i);
-        
-            if (isLetterGuessed(currentChar)) {
-            	currentWord += currentChar;
-            } else {
-            	currentWord += "?";
-            }
-        }
-        
-        return currentWord;
-    }
-    
-    private String getCurrentGameStatus() {
-    	String status;
-    	
-    	if (userWon) {
-    		status = "You won with " + guesses_left + " guesses left!";
-    	} else if (userLost) {
-    		status = "You lost! (" + secret_word + ")";
-    	} else {
-    		status = guesses_left + " guesses left";
-    	}
-
-        return status;
-    }
-    
-    private boolean isLetterGuessed(char letter) {
-        return guessedLetters.contains(letter);
-    }
-    
-    /**
-     * @method getRandomIndex
-     * @brief computes random number between 0 (inclusive) and the length of the array (exclusive).
-     * @param arrayLength Length of array.
-     * @return Number from 0 to arrayLength.
-     */
-    private static int getRandomIndex(int arrayLength) {
-        Random random = new Random();
-        return random.nextInt(arrayLength);
-    }
-    
-    private boolean isWordGuessed() {
-    	
-    	for (int i = 0; i < secret_word.length(); i++) {
-            char currentChar = secret_word.charAt(i);
-            if (!isLetterGuessed(currentChar)) {
-            	return false;
-            }
-        }
-    	return true;
-    }
-    
-    
     private void startNewGame(){
-    	guessedLetters.clear();
-    	guesses_left = TOTAL_NUMBER_OF_GUESSES;
-    	userLost = false;
-    	userWon = false;
-    	secret_word = SECRET_WORDS.get(getRandomIndex(SECRET_WORDS.size()));
+    	model.startNewGame();
     	drawingPanel.repaint();
     	frame.requestFocus();
     }
@@ -338,8 +241,8 @@ public class Hangman implements ActionListener, KeyListener {
 
         // Check if the typed character is a lower case letter
         if (Character.isLowerCase(typedChar)) {
-            // Process the guess (you need to implement this method)
-            processGuess(typedChar);
+            // Process the guess
+            model.processGuess(typedChar);
 
             // Repaint the drawing panel
             drawingPanel.repaint();
@@ -347,29 +250,6 @@ public class Hangman implements ActionListener, KeyListener {
 		
 	}
 	
-	// Implement the processGuess method based on your game logic
-    private void processGuess(char letter) {
-    	
-    	boolean gameOver = userLost || userWon;
-    	
-    	if (!isLetterGuessed(letter) && !gameOver) {
-    		guessedLetters.add(letter);
-    		
-    		if (!secret_word.contains(String.valueOf(letter)) ) {
-            	guesses_left--;
-            } 
-    	}
-    	
-    	if (isWordGuessed()) {
-    		userWon = true; // game is over
-    	}
-    	
-        if (guesses_left == 0) {
-        	userLost = true; // game is over
-        }
-         
-    }
-
 	@Override
 	public void keyPressed(KeyEvent e) {
 		
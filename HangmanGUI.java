@@ -11,15 +11,17 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
-import java.awt.Image;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.FontMetrics;
+import java.awt.font.GlyphVector;
+import java.awt.image.BufferedImage;
 
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
@@ -37,13 +39,23 @@ public class HangmanGUI implements ActionListener, KeyListener {
 
     /**
 	 * @method HangmanGUI
-     * @brief Constructor of HangmanGUI class.
+     * @brief Constructor of HangmanGUI class, uses the built-in words.
      */
     public HangmanGUI() {
+        this(HangmanModel.DEFAULT_WORDS);
+    }
+
+    /**
+	 * @method HangmanGUI
+     * @brief Constructor of HangmanGUI class.
+     * @param words Dictionary of words to guess.
+     */
+    public HangmanGUI(WordSource words) {
         frame = new JFrame("Hangman");
         newGameButton = new JButton("New");
-        model = new HangmanModel();
+        model = new HangmanModel(words);
         drawingPanel = new DrawingPanel(model);
+        model.addListener(drawingPanel); // the panel repaints what each change touches
 
         initializeGUI();
     }
@@ -73,6 +85,9 @@ public class HangmanGUI implements ActionListener, KeyListener {
         contentPanel.add(drawingPanel, BorderLayout.CENTER);
 
         newGameButton.addActionListener(this);
+
+        // load images in the background, show them once they are there
+        HangmanImages.preload(drawingPanel::repaint);
     }
 
     /**
@@ -84,7 +99,6 @@ public class HangmanGUI implements ActionListener, KeyListener {
     public void actionPerformed(ActionEvent e) {
         if (e.getSource() == newGameButton) {
             model.startNewGame();
-            drawingPanel.repaint();
             frame.requestFocus();
         }
     }
@@ -98,10 +112,9 @@ public class HangmanGUI implements ActionListener, KeyListener {
     @Override
     public void keyTyped(KeyEvent e) {
         char typedChar = e.getKeyChar();
-        // only if lower case letter is typed
-        if (Character.isLowerCase(typedChar)) {
-            model.processGuess(typedChar); // process pressed letter
-            drawingPanel.repaint(); // update drawing panel
+        // only if a letter of the alphabet is typed, in any case and with or without accents
+        if (model.getAlphabet().indexOf(typedChar) >= 0) {
+            model.processGuess(typedChar); // process pressed letter, the panel hears what changed
         }
     }
 
@@ -129,14 +142,31 @@ public class HangmanGUI implements ActionListener, KeyListener {
      * @class DrawingPanel
      * @brief Custom JPanel class for rendering the Hangman game visuals.
      * @details It includes methods to display the hangman image, current word, game status, and the alphabet.
+     *          Fonts, text measurements and letter glyphs are kept between frames, and on every change
+     *          of the game only the parts of the panel it touches are repainted.
      */
-    private class DrawingPanel extends JPanel {
+    private class DrawingPanel extends JPanel implements GameChangeListener {
     	
     	// The serialVersionUID provides version control for serialized objects
         private static final long serialVersionUID = 1L;
         
+        private static final int LETTER_WIDTH = 14; // assume this letter width for all letters
+        private static final int IMAGE_TOP = 10; // image is 10 pixels from the top
+        private static final int WORD_BOTTOM = 60; // word baseline is 60 pixels from the bottom
+        private static final int STATUS_BOTTOM = 40; // status baseline is 40 pixels from the bottom
+        private static final int ALPHABET_BOTTOM = 20; // alphabet baseline is 20 pixels from the bottom
+        
+        private final Font font = new Font(null, Font.BOLD, 18); // font of all texts
+        
         // game model instance
         private final HangmanModel model;
+        
+        private FontMetrics fontMetrics; // metrics of the font, taken on first paint
+        private GlyphVector[] letterGlyphs; // glyphs of the letters of the alphabet, made on first paint
+        private String measuredWord; // last drawn word and its width
+        private int measuredWordWidth;
+        private String measuredStatus; // last drawn status and its width
+        private int measuredStatusWidth;
 
         /**
     	 * @method DrawingPanel
@@ -146,26 +176,120 @@ public class HangmanGUI implements ActionListener, KeyListener {
         public DrawingPanel(HangmanModel model) {
             this.model = model;
             setPreferredSize(new Dimension(450, 320));
+            setBackground(Color.WHITE); // white background color
+            setOpaque(true);
         }
         
         /**
          * @method paintComponent
          * @brief Overrides the paintComponent method to customize the rendering of the panel.
-         * @details Clears the panel, sets the background color, and then displays the hangman image,
-         * current word, game status, and alphabet using the provided Graphics object.
+         * @details Clears the panel and then displays the hangman image, current word, game status,
+         *          and alphabet, skipping the parts outside the area being repainted.
          * @param g The Graphics object used for painting components.
          */
         @Override
         protected void paintComponent(Graphics g) {
         	super.paintComponent(g);
-            
-        	// set white background color
-            setBackground(Color.WHITE);
+        	
+        	Graphics2D g2 = (Graphics2D) g;
+        	g2.setFont(font);
+        	if (fontMetrics == null) {
+        		fontMetrics = g2.getFontMetrics(font);
+        		Alphabet alphabet = model.getAlphabet();
+        		letterGlyphs = new GlyphVector[alphabet.size()];
+        		for (int i = 0; i < letterGlyphs.length; i++) {
+        			letterGlyphs[i] = font.createGlyphVector(g2.getFontRenderContext(), String.valueOf(alphabet.letterAt(i)));
+        		}
+        	}
+        	
+        	Rectangle clip = g.getClipBounds();
+        	if (clip == null) {
+        		clip = new Rectangle(0, 0, getWidth(), getHeight());
+        	}
          
-            displayHangmanImage(g); // hangman image    
-            displayCurrentWord(g, model.getCurrentWord()); // secret word 
-            displayGameStatus(g); // status of a game
-            displayAlphabet(g); // alphabet
+        	if (clip.intersects(imageBounds(model.getGuessesLeft()))) {
+        		displayHangmanImage(g); // hangman image
+        	}
+        	if (clip.intersects(textBounds(WORD_BOTTOM))) {
+        		displayCurrentWord(g, model.getCurrentWord()); // secret word
+        	}
+        	if (clip.intersects(textBounds(STATUS_BOTTOM))) {
+        		displayGameStatus(g); // status of a game
+        	}
+        	if (clip.intersects(textBounds(ALPHABET_BOTTOM))) {
+        		displayAlphabet(g2); // alphabet
+        	}
+        }
+        
+        /**
+         * @method gameChanged
+         * @brief Repaints only the parts of the panel a change of the game touches.
+         * @param change What has changed.
+         */
+        @Override
+        public void gameChanged(GameChange change) {
+        	if (fontMetrics == null || change instanceof GameChange.NewGame) {
+        		repaint(); // nothing painted yet, or everything is new
+        	} else if (change instanceof GameChange.LettersRevealed) {
+        		repaint(letterBounds(((GameChange.LettersRevealed) change).getLetter()));
+        		repaint(textBounds(WORD_BOTTOM));
+        	} else if (change instanceof GameChange.Miss) {
+        		GameChange.Miss miss = (GameChange.Miss) change;
+        		repaint(letterBounds(miss.getLetter()));
+        		repaint(imageBounds(miss.getGuessesLeft() + 1).union(imageBounds(miss.getGuessesLeft())));
+        		repaint(textBounds(STATUS_BOTTOM));
+        	} else {
+        		repaint(textBounds(STATUS_BOTTOM)); // won or lost
+        	}
+        }
+        
+        /**
+         * @method imageBounds
+         * @brief Area covered by the hangman image.
+         * @param guessesLeft Number of guesses left the image is shown for.
+         * @return Bounds of the image, the whole upper part of the panel while images are loading.
+         */
+        private Rectangle imageBounds(int guessesLeft) {
+        	BufferedImage hangmanImage = HangmanImages.get(guessesLeft);
+        	if (hangmanImage == null) {
+        		return new Rectangle(0, 0, getWidth(), getHeight() - WORD_BOTTOM);
+        	}
+        	return new Rectangle((getWidth() - hangmanImage.getWidth()) / 2, IMAGE_TOP,
+        			hangmanImage.getWidth(), hangmanImage.getHeight());
+        }
+        
+        /**
+         * @method textBounds
+         * @brief Area covered by a line of text across the panel.
+         * @param bottom Distance of the baseline from the bottom of the panel.
+         * @return Bounds of the line.
+         */
+        private Rectangle textBounds(int bottom) {
+        	int ascent = fontMetrics == null ? getHeight() : fontMetrics.getAscent();
+        	int descent = fontMetrics == null ? 0 : fontMetrics.getDescent();
+        	int baseline = getHeight() - bottom;
+        	return new Rectangle(0, baseline - ascent, getWidth(), ascent + descent);
+        }
+        
+        /**
+         * @method letterBounds
+         * @brief Area covered by one letter of the alphabet.
+         * @param letter Letter of the alphabet.
+         * @return Bounds of the letter.
+         */
+        private Rectangle letterBounds(char letter) {
+        	Rectangle line = textBounds(ALPHABET_BOTTOM);
+        	int x = alphabetStart() + model.getAlphabet().indexOf(letter) * LETTER_WIDTH;
+        	return new Rectangle(x, line.y, LETTER_WIDTH, line.height);
+        }
+        
+        /**
+         * @method alphabetStart
+         * @brief Position of the first letter of the alphabet, centered horizontally.
+         * @return X coordinate of the first letter.
+         */
+        private int alphabetStart() {
+        	return (getWidth() - model.getAlphabet().size() * LETTER_WIDTH) / 2;
         }
         
         /**
@@ -175,15 +299,16 @@ public class HangmanGUI implements ActionListener, KeyListener {
          */
         private void displayHangmanImage(Graphics g) {
         	
-        	// Load the .gif image
-        	ImageIcon hangmanImageIcon = new ImageIcon("images_hangman/hangman" + model.getGuessesLeft() + ".gif");
-            Image hangmanImage = hangmanImageIcon.getImage();
+        	// Take the image from the cache, it is not there only while images are being loaded
+        	BufferedImage hangmanImage = HangmanImages.get(model.getGuessesLeft());
+        	if (hangmanImage == null) {
+        		return;
+        	}
             
             // Calculate the position to center horizontally
-            int x = (getWidth() - hangmanImageIcon.getIconWidth()) / 2;
-            int y = 10; // 10 pixels from the top
+            int x = (getWidth() - hangmanImage.getWidth()) / 2;
             
-            g.drawImage(hangmanImage, x, y, this);
+            g.drawImage(hangmanImage, x, IMAGE_TOP, this);
         }
         
         /**
@@ -193,20 +318,19 @@ public class HangmanGUI implements ActionListener, KeyListener {
          * @param currentWord Current representation of a secret word (???a??w??).
          */
         private void displayCurrentWord(Graphics g, String currentWord) {
-            // Set font and color for the current word display
-            Font font = new Font(null, Font.BOLD, 18);
-            g.setFont(font);
             g.setColor(Color.BLACK);
 
-            // Get FontMetrics to calculate string width
-            FontMetrics fontMetrics = g.getFontMetrics();
+            // measure only when the word has changed
+            if (!currentWord.equals(measuredWord)) {
+            	measuredWord = currentWord;
+            	measuredWordWidth = fontMetrics.stringWidth(currentWord);
+            }
 
             // Calculate position to center horizontally
-            int x = (getWidth() - fontMetrics.stringWidth(currentWord)) / 2;
-            int y = getHeight() - 60; // 60 pixels from the bottom
+            int x = (getWidth() - measuredWordWidth) / 2;
 
             // Draw the current word
-            g.drawString(currentWord, x, y);
+            g.drawString(currentWord, x, getHeight() - WORD_BOTTOM);
         }
         
         /**
@@ -215,58 +339,43 @@ public class HangmanGUI implements ActionListener, KeyListener {
          * @param g The Graphics object used for painting components.
          */
         private void displayGameStatus(Graphics g) {
-            // Set font and color for the game status display
-            Font font = new Font(null, Font.BOLD, 18);
-            g.setFont(font);
             g.setColor(Color.BLACK);
 
-            // Get FontMetrics to calculate string width
-            FontMetrics fontMetrics = g.getFontMetrics();
+            // measure only when the status has changed
+            String status = model.getCurrentGameStatus();
+            if (!status.equals(measuredStatus)) {
+            	measuredStatus = status;
+            	measuredStatusWidth = fontMetrics.stringWidth(status);
+            }
 
             // Calculate position to center horizontally
-            int x = (getWidth() - fontMetrics.stringWidth(model.getCurrentGameStatus())) / 2;
-            int y = getHeight() - 40; // 40 pixels from the bottom
+            int x = (getWidth() - measuredStatusWidth) / 2;
 
             // Draw the current game status
-            g.drawString(model.getCurrentGameStatus(), x, y);
+            g.drawString(measuredStatus, x, getHeight() - STATUS_BOTTOM);
         }
         
         /**
          * @method displayAlphabet
-         * @brief Shows 26 English letters in order, grey - not guessed, blue - guessed.
+         * @brief Shows the letters of the alphabet in order, grey - not guessed, blue - guessed.
          * @param g The Graphics object used for painting components.
          */
-        private void displayAlphabet(Graphics g) {
-            // Set font for the alphabet display
-            Font font = new Font(null, Font.BOLD, 18);
-            g.setFont(font);
-
-            int letterWidth = 14; // assume this letter width for all letters
-            
-            // Calculate overall width of the alphabet string
-            int overallWidth = 26 * letterWidth;
-
-            // Calculate position to center horizontally
-            int x = (getWidth() - overallWidth) / 2;
+        private void displayAlphabet(Graphics2D g) {
+            Rectangle clip = g.getClipBounds();
+            int x = alphabetStart();
+            int y = getHeight() - ALPHABET_BOTTOM;
 
-            // Iterate through the alphabet and draw each letter
-            for (char letter = 'a'; letter <= 'z'; letter++) {
-                // Check if the letter has been guessed or not
-                boolean guessed = model.isLetterGuessed(letter); 
-
-                // Set color based on whether the letter has been guessed or not
-                if (guessed) {
-                    g.setColor(Color.BLUE);
-                } else {
-                    g.setColor(Color.LIGHT_GRAY);
+            // Iterate through the alphabet and draw each letter in the repainted area
+            int guessed = model.getGuessedLetters();
+            for (int letter = 0; letter < letterGlyphs.length; letter++) {
+                if (clip == null || clip.intersects(x, y - fontMetrics.getAscent(), LETTER_WIDTH, fontMetrics.getHeight())) {
+                    // Set color based on whether the letter has been guessed or not
+                    g.setColor((guessed & (1 << letter)) != 0 ? Color.BLUE : Color.LIGHT_GRAY);
+                    g.drawGlyphVector(letterGlyphs[letter], x, y);
                 }
 
-                // Draw the letter
-                String letterString = String.valueOf(letter);
-                g.drawString(letterString, x, getHeight() - 20); // 20 pixels from the bottom
-
                 // Move position 
-                x += letterWidth;
+                x += LETTER_WIDTH;
             }
         }
     }
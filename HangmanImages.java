@@ -0,0 +1,154 @@
+/**
+ * @file HangmanImages.java
+ * @brief This file contains the HangmanImages class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+
+/**
+ * @class HangmanImages
+ * @brief Cache of the hangman images, one per number of guesses left.
+ * @details All images are loaded once, on a background thread, and converted to images compatible
+ *          with the screen, so painting never reads or decodes files. If an image file is missing
+ *          or broken, a simple drawn picture of that stage is used instead.
+ */
+final class HangmanImages {
+
+    static final int STAGES = 7; // images for 0..6 guesses left
+    private static final String IMAGE_DIRECTORY = "images_hangman"; // where image files are looked for
+    private static final int FALLBACK_WIDTH = 180; // size of a drawn image
+    private static final int FALLBACK_HEIGHT = 200;
+
+    private static volatile BufferedImage[] images; // loaded images, null until loading is done
+    private static CompletableFuture<Void> loading; // loading in progress or done
+
+    private HangmanImages() {
+    }
+
+    /**
+	 * @method preload
+     * @brief Starts loading all images in the background, if not started yet.
+     * @param onLoaded Called on the Event Dispatch Thread once the images are ready.
+     */
+    static synchronized void preload(Runnable onLoaded) {
+        if (loading == null) {
+            loading = CompletableFuture.runAsync(HangmanImages::loadAll);
+        }
+        loading.thenRun(() -> SwingUtilities.invokeLater(onLoaded));
+    }
+
+    /**
+	 * @method get
+     * @brief Image for a number of guesses left.
+     * @param guessesLeft Number of guesses left, 0..6.
+     * @return The image, or <code>null</code> while images are still loading.
+     */
+    static BufferedImage get(int guessesLeft) {
+        BufferedImage[] loaded = images;
+        if (loaded == null) {
+            return null;
+        }
+        return loaded[Math.max(0, Math.min(guessesLeft, STAGES - 1))];
+    }
+
+    /**
+	 * @method loadAll
+     * @brief Loads every stage image, drawing the ones that can not be loaded.
+     */
+    private static void loadAll() {
+        BufferedImage[] loaded = new BufferedImage[STAGES];
+        for (int stage = 0; stage < STAGES; stage++) {
+            File file = new File(IMAGE_DIRECTORY, "hangman" + stage + ".gif");
+            BufferedImage image = null;
+            try {
+                image = ImageIO.read(file);
+            } catch (IOException e) {
+                // handled below as a missing image
+            }
+            if (image == null) {
+                System.err.println("Hangman image " + file + " not found, using a drawn image");
+                loaded[stage] = drawStage(stage);
+            } else {
+                loaded[stage] = toCompatibleImage(image);
+            }
+        }
+        images = loaded;
+    }
+
+    /**
+	 * @method toCompatibleImage
+     * @brief Copies an image into the format of the screen, so drawing it needs no conversion.
+     * @param image Decoded image.
+     * @return Image compatible with the screen, or the image itself when there is no screen.
+     */
+    private static BufferedImage toCompatibleImage(BufferedImage image) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return image;
+        }
+        BufferedImage compatible = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration()
+                .createCompatibleImage(image.getWidth(), image.getHeight(), Transparency.TRANSLUCENT);
+        Graphics2D g = compatible.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return compatible;
+    }
+
+    /**
+	 * @method drawStage
+     * @brief Draws a simple gallows with as many body parts as guesses were used.
+     * @param guessesLeft Number of guesses left, 0..6.
+     * @return Drawn image.
+     */
+    private static BufferedImage drawStage(int guessesLeft) {
+        BufferedImage image = new BufferedImage(FALLBACK_WIDTH, FALLBACK_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(Color.BLACK);
+        g.setStroke(new BasicStroke(3));
+
+        // gallows
+        g.drawLine(20, 190, 110, 190);
+        g.drawLine(50, 190, 50, 10);
+        g.drawLine(50, 10, 130, 10);
+        g.drawLine(130, 10, 130, 35);
+
+        int missed = STAGES - 1 - guessesLeft;
+        if (missed >= 1) {
+            g.drawOval(115, 35, 30, 30); // head
+        }
+        if (missed >= 2) {
+            g.drawLine(130, 65, 130, 120); // body
+        }
+        if (missed >= 3) {
+            g.drawLine(130, 80, 105, 100); // left arm
+        }
+        if (missed >= 4) {
+            g.drawLine(130, 80, 155, 100); // right arm
+        }
+        if (missed >= 5) {
+            g.drawLine(130, 120, 110, 155); // left leg
+        }
+        if (missed >= 6) {
+            g.drawLine(130, 120, 150, 155); // right leg
+        }
+
+        g.dispose();
+        return image;
+    }
+}
@@ -6,6 +6,9 @@
  */
 package hangman;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+
 import javax.swing.SwingUtilities;
 
 /**
@@ -17,10 +20,13 @@ public class HangmanMain {
 	/**
 	 * @method main
      * @brief Kick-starts the application.
+     * @details An optional argument is a dictionary file (word pack or text list) to use
+     *          instead of the built-in words.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+    	WordSource words = args.length > 0 ? WordSource.open(Paths.get(args[0])) : HangmanModel.DEFAULT_WORDS;
     	SwingUtilities.invokeLater(() -> {
-            HangmanGUI gui = new HangmanGUI();
+            HangmanGUI gui = new HangmanGUI(words);
         });
     }
 }
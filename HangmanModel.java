@@ -6,10 +6,12 @@
  */
 package hangman;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Random;
-import java.util.Set;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * @class HangmanModel
@@ -17,42 +19,227 @@ import java.util.Set;
  */
 public class HangmanModel {
 	
-    private static final ArrayList<String> SECRET_WORDS = new ArrayList<>(); // list of words to guess
-    private static final Set<Character> guessedLetters = new HashSet<>(); // set to remember already guessed letters
-    private static String secret_word; // word to guess
-    private static int guesses_left = 6; // how many attempts left
-    private static final int TOTAL_NUMBER_OF_GUESSES = 6; // how many attempts allowed in a game
-    private static boolean userWon = false; // flag indicating if user has won
-    private static boolean userLost = false; // flag indicating if user has lost
+    static final WordStore DEFAULT_WORDS = new WordStore(new ListWordSource(List.of(
+    		"accretion", "boisterous", "dullard", "feigned", "haughty",
+    		"insipid", "noisome", "obdurate", "parsimonious", "sycophant"))); // built-in words to guess
+    static final int TOTAL_NUMBER_OF_GUESSES = 6; // how many attempts allowed in a game
+    static final int SCAN_LENGTH = 64; // Latin-1 secrets this long are revealed by the letter matcher, if any
+    private static final GameChangeListener[] NO_LISTENERS = new GameChangeListener[0]; // nobody is listening
+
+    // randomness of the calling thread, shared by all models without contention
+    static final RandomGenerator THREAD_LOCAL_RANDOM = new RandomGenerator() {
+        @Override
+        public long nextLong() {
+            return ThreadLocalRandom.current().nextLong();
+        }
+    };
+    
+    private final WordSource words; // dictionary of words to guess
+    private final Alphabet alphabet; // letters of the dictionary, guesses are folded to them
+    private final RandomGenerator random; // source of game seeds
+    private long gameSeed; // seed the current game was started from
+    private int guessedLetters = 0; // bit mask of already guessed letters, bit i is letter i of the alphabet
+    private int secretLetters = 0; // bit mask of letters the secret word consists of
+    private String secret_word; // word to guess
+    private int wordIndex; // index of the secret word in the dictionary
+    private char[] maskedWord = new char[0]; // current representation of a secret word (??r??o??)
+    private byte[] maskedBytes = new byte[0]; // same for Latin-1 secrets, one byte per character
+    private boolean latin1; // the secret word is Latin-1 and shown from maskedBytes
+    private String maskedWordView; // cached immutable copy of maskedWord, null after a reveal
+    private int[] letterPositions = new int[0]; // positions of the secret word, grouped by letter
+    private byte[] letterCodes = new byte[0]; // letter index of every position of the secret word, -1 if none
+    private byte[] secretBytes = new byte[0]; // characters of a Latin-1 secret word, one byte each
+    private LetterMatcher matcher = LetterMatcher.VECTOR; // reveals by scanning long secrets, null if never
+    private boolean scanned; // letters of the secret word are revealed by the matcher, not the position index
+    private final int[] letterStart; // where each letter's group starts in letterPositions
+    private int guesses_left = TOTAL_NUMBER_OF_GUESSES; // how many attempts left
+    private boolean userWon = false; // flag indicating if user has won
+    private boolean userLost = false; // flag indicating if user has lost
+    private GameChangeListener[] listeners = NO_LISTENERS; // told about every change, replaced when changed
     
     /**
 	 * @method HangmanModel
      * @brief Constructor of HangmanModel class.
+     * @details Every instance holds the state of its own game, so several games can run side by side.
+     *          The model itself is not thread-safe, see GameSession for concurrent use.
+     *          Uses the built-in list of words.
      */
     public HangmanModel() {
-        initializeSecretWords();
+        this(DEFAULT_WORDS);
     }
 
     /**
-	 * @method initializeSecretWords
-     * @brief Initializes array of words to guess and randomly picks one of them as a secret word.
+	 * @method HangmanModel
+     * @brief Constructor of HangmanModel class, games are seeded from the calling thread's random generator.
+     * @param words Dictionary of words to guess, may be shared with other models.
      */
-    private void initializeSecretWords() {
-    	
-    	// populate array with words
-    	SECRET_WORDS.add("accretion");
-		SECRET_WORDS.add("boisterous");
-		SECRET_WORDS.add("dullard");
-		SECRET_WORDS.add("feigned");
-		SECRET_WORDS.add("haughty");
-		SECRET_WORDS.add("insipid");
-		SECRET_WORDS.add("noisome");
-		SECRET_WORDS.add("obdurate");
-		SECRET_WORDS.add("parsimonious");
-		SECRET_WORDS.add("sycophant");
-		
-		// pick a word
-		secret_word = SECRET_WORDS.get(getRandomIndex(SECRET_WORDS.size())); 
+    public HangmanModel(WordSource words) {
+        this(words, THREAD_LOCAL_RANDOM);
+    }
+
+    /**
+	 * @method HangmanModel
+     * @brief Constructor of HangmanModel class.
+     * @details Pass a seeded generator (e.g. <code>new SplittableRandom(seed)</code>) to get
+     *          the same sequence of games every time. Letters are those of the dictionary's alphabet.
+     * @param words Dictionary of words to guess, may be shared with other models.
+     * @param random Source of game seeds, used only by this model unless it is thread-safe.
+     */
+    public HangmanModel(WordSource words, RandomGenerator random) {
+        this.words = words;
+        this.random = random;
+        this.alphabet = words.getAlphabet();
+        this.letterStart = new int[alphabet.size() + 1];
+        initializeSecretWord();
+    }
+
+    /**
+	 * @method addListener
+     * @brief Starts telling a listener about every change of the game.
+     * @param listener Listener, called on the thread changing the model.
+     */
+    public void addListener(GameChangeListener listener) {
+        GameChangeListener[] more = Arrays.copyOf(listeners, listeners.length + 1);
+        more[listeners.length] = listener;
+        listeners = more;
+    }
+
+    /**
+	 * @method removeListener
+     * @brief Stops telling a listener about changes.
+     * @param listener Listener added before.
+     */
+    public void removeListener(GameChangeListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                GameChangeListener[] fewer = new GameChangeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, fewer, 0, i);
+                System.arraycopy(listeners, i + 1, fewer, i, fewer.length - i);
+                listeners = fewer;
+                return;
+            }
+        }
+    }
+
+    /**
+	 * @method publish
+     * @brief Tells every listener about a change.
+     * @param change What has changed.
+     */
+    private void publish(GameChange change) {
+        for (GameChangeListener listener : listeners) {
+            listener.gameChanged(change);
+        }
+    }
+
+    /**
+	 * @method initializeSecretWord
+     * @brief Randomly picks one of the secret words for the first game.
+     */
+    private void initializeSecretWord() {
+		gameSeed = random.nextLong();
+		startGame(indexForSeed(gameSeed, words.size())); 
+    }
+
+    /**
+	 * @method setSecretWord
+     * @brief Sets the secret word and precomputes the mask of its letters.
+     * @details Also builds the index of positions of every letter, so that a correct guess
+     *          only touches the positions that letter occupies, however long the word or phrase is.
+     *          Latin-1 words are kept one byte per character, which halves the copy of every view. Long
+     *          Latin-1 secrets need no index if a vector LetterMatcher scans them instead.
+     * @param word Word to guess.
+     */
+    private void setSecretWord(String word) {
+        int length = word.length();
+        if (maskedWord.length != length) {
+            maskedWord = new char[length];
+        }
+        if (letterPositions.length < length) {
+            letterPositions = new int[length];
+            letterCodes = new byte[length];
+            secretBytes = new byte[length];
+        }
+
+        // count occurrences of every letter (and build the mask of letters on the way)
+        Arrays.fill(letterStart, 0);
+        int mask = 0;
+        int high = 0; // all characters or-ed, Latin-1 if below 0x100
+        word.getChars(0, length, maskedWord, 0); // anything but letters is shown as it is
+        for (int i = 0; i < length; i++) {
+            char c = maskedWord[i];
+            high |= c;
+            secretBytes[i] = (byte) c; // used only if the word turns out to be Latin-1
+            int letter = alphabet.indexOf(c);
+            letterCodes[i] = (byte) letter;
+            if (letter >= 0) {
+                mask |= 1 << letter;
+                letterStart[letter + 1]++;
+                maskedWord[i] = '?'; // letters are hidden
+            }
+        }
+
+        latin1 = high < 0x100;
+        scanned = latin1 && matcher != null && length >= SCAN_LENGTH;
+        if (!scanned) {
+            // turn counts into start offsets and place every position into its letter's group
+            int letters = alphabet.size();
+            for (int letter = 0; letter < letters; letter++) {
+                letterStart[letter + 1] += letterStart[letter];
+            }
+            int[] next = Arrays.copyOf(letterStart, letters);
+            for (int i = 0; i < length; i++) {
+                int letter = letterCodes[i];
+                if (letter >= 0) {
+                    letterPositions[next[letter]++] = i;
+                }
+            }
+        }
+
+        if (latin1) {
+            if (maskedBytes.length < length) {
+                maskedBytes = new byte[length];
+            }
+            for (int i = 0; i < length; i++) {
+                maskedBytes[i] = (byte) maskedWord[i];
+            }
+        }
+
+        secret_word = word;
+        secretLetters = mask;
+        maskedWordView = null;
+    }
+
+    /**
+	 * @method revealLetter
+     * @brief Shows a guessed letter at every position it occupies in the secret word.
+     * @details Positions show the character of the word, which may be a capital or accented form.
+     * @param letter Index of the guessed letter in the alphabet.
+     */
+    private void revealLetter(int letter) {
+        if (scanned) {
+            matcher.reveal(letterCodes, secretBytes, maskedBytes, 0, maskedWord.length, letter);
+        } else if (latin1) {
+            for (int i = letterStart[letter]; i < letterStart[letter + 1]; i++) {
+                int position = letterPositions[i];
+                maskedBytes[position] = (byte) secret_word.charAt(position);
+            }
+        } else {
+            for (int i = letterStart[letter]; i < letterStart[letter + 1]; i++) {
+                int position = letterPositions[i];
+                maskedWord[position] = secret_word.charAt(position);
+            }
+        }
+        maskedWordView = null; // representation has changed
+    }
+
+    /**
+	 * @method setLetterMatcher
+     * @brief Chooses how letters of long Latin-1 secrets are revealed, from the next secret word on.
+     * @param matcher Matcher scanning the secret, or <code>null</code> to always use the position index.
+     */
+    void setLetterMatcher(LetterMatcher matcher) {
+        this.matcher = matcher;
     }
 
     /**
@@ -60,33 +247,149 @@ public class HangmanModel {
      * @brief Resets everything to starting conditions in order to start a new game.
      */
     protected void startNewGame() {
-        guessedLetters.clear(); // clear set of guessed words
+        startNewGame(random.nextLong());
+    }
+
+    /**
+	 * @method startNewGame
+     * @brief Starts a new game from a seed.
+     * @details The word depends only on the seed and the dictionary, so a game can be
+     *          replayed from its seed and the letters guessed in it.
+     * @param seed Seed of the game.
+     */
+    protected void startNewGame(long seed) {
+        gameSeed = seed;
+        startGame(indexForSeed(seed, words.size())); // pick a word
+    }
+
+    /**
+	 * @method startNewGame
+     * @brief Starts a new game with a random word matching a constraint.
+     * @param constraint Which words are acceptable (length, distinct letters, difficulty).
+     * @throws IllegalStateException If the dictionary is not a WordStore, which is needed to search by constraint.
+     * @throws IllegalArgumentException If no word matches the constraint, or it limits the difficulty of words
+     *         of an alphabet whose letter frequencies are not known.
+     */
+    protected void startNewGame(WordConstraint constraint) {
+        if (!(words instanceof WordStore)) {
+            throw new IllegalStateException("picking words by constraint needs a WordStore dictionary");
+        }
+        long seed = random.nextLong();
+        int index = ((WordStore) words).pickWord(constraint, new SplittableRandom(seed));
+        if (index < 0) {
+            throw new IllegalArgumentException("no word matches " + constraint);
+        }
+        gameSeed = seed;
+        startGame(index);
+    }
+
+    /**
+	 * @method startNewGame
+     * @brief Starts a new game with the next word of a player's rotation, so words do not repeat.
+     * @details The seed of such a game is the key of the rotation, it does not choose the word.
+     * @param rotation Rotation of the player, advanced by one word.
+     * @throws IllegalArgumentException If the rotation is not over this model's dictionary.
+     */
+    protected void startNewGame(WordRotation rotation) {
+        if (rotation.getSize() != words.size()) {
+            throw new IllegalArgumentException("rotation over " + rotation.getSize()
+                    + " words used with a dictionary of " + words.size());
+        }
+        gameSeed = rotation.getKey();
+        startGame(rotation.next());
+    }
+
+    /**
+	 * @method startGame
+     * @brief Resets everything to starting conditions and sets a secret word.
+     * @param index Index of the secret word in the dictionary.
+     */
+    protected void startGame(int index) {
+        guessedLetters = 0; // clear mask of guessed letters
         guesses_left = TOTAL_NUMBER_OF_GUESSES; // set number of guesses left back to maximum
         userLost = false; // player has not lost yet
         userWon = false;// player has not win yet
-        secret_word = SECRET_WORDS.get(getRandomIndex(SECRET_WORDS.size())); // pick a word
+        wordIndex = index;
+        setSecretWord(words.getWord(index));
+        if (listeners.length > 0) {
+            publish(new GameChange.NewGame(secret_word.length(), guesses_left));
+        }
+    }
+
+    /**
+	 * @method restoreGame
+     * @brief Puts the model back into a saved game state.
+     * @param seed Seed the game was started from.
+     * @param index Index of the secret word in the dictionary.
+     * @param guessedLetters Mask of letters guessed in the game.
+     */
+    protected void restoreGame(long seed, int index, int guessedLetters) {
+        gameSeed = seed;
+        startGame(index);
+        int letters = guessedLetters;
+        while (letters != 0) {
+            processGuess(alphabet.letterAt(Integer.numberOfTrailingZeros(letters)));
+            letters &= letters - 1;
+        }
+    }
+
+    /**
+	 * @method switchWord
+     * @brief Replaces the secret word in the middle of a game, keeping the guesses made so far.
+     * @details The new word should show the same letters at the same positions as the old one,
+     *          otherwise the player sees the current word change.
+     * @param index Index of the new secret word in the dictionary.
+     */
+    protected void switchWord(int index) {
+        wordIndex = index;
+        setSecretWord(words.getWord(index));
+        int revealed = guessedLetters & secretLetters;
+        while (revealed != 0) {
+            revealLetter(Integer.numberOfTrailingZeros(revealed));
+            revealed &= revealed - 1;
+        }
+    }
+
+    /**
+	 * @method getAlphabet
+     * @brief Getter method for the alphabet the game is played with.
+     * @return Alphabet of the dictionary.
+     */
+    protected Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+	 * @method getGameSeed
+     * @brief Getter method for the seed the current game was started from.
+     * @return Seed of the game.
+     */
+    protected long getGameSeed() {
+        return gameSeed;
+    }
+
+    /**
+	 * @method getWordIndex
+     * @brief Getter method for the index of the secret word in the dictionary.
+     * @return Index of the secret word.
+     */
+    protected int getWordIndex() {
+        return wordIndex;
     }
     
     /**
 	 * @method getCurrentWord
-     * @brief Creates current representation of a secret word (??r??o??).
+     * @brief Current representation of a secret word (??r??o??).
+     * @details The representation is updated on every correct guess, the returned string
+     *          is cached until the next one.
      * @return Current representation of a word.
      */
     protected String getCurrentWord() {
-        String currentWord = "";
-  
-        for (int i = 0; i < secret_word.length(); i++) {
-            char currentChar = secret_word.charAt(i);
-            
-            if (isLetterGuessed(currentChar)) {
-            	// if letter is guessed, leave it as it is
-            	currentWord += currentChar;
-            } else {
-            	// if letter is not guessed present it as ?
-            	currentWord += "?";
-            }
+        if (maskedWordView == null) {
+            maskedWordView = latin1 ? new String(maskedBytes, 0, maskedWord.length, StandardCharsets.ISO_8859_1)
+                    : new String(maskedWord);
         }
-        return currentWord;
+        return maskedWordView;
     }
 
     /**
@@ -105,7 +408,25 @@ public class HangmanModel {
      * @return <code>true</code> if letter was already guessed, <code>false</code> otherwise.
      */
     protected boolean isLetterGuessed(char letter) {
-        return guessedLetters.contains(letter);
+        return (guessedLetters & alphabet.bit(letter)) != 0;
+    }
+
+    /**
+	 * @method getGuessedLetters
+     * @brief Getter method for the mask of guessed letters.
+     * @return Mask of guessed letters, bit i is letter i of the alphabet.
+     */
+    protected int getGuessedLetters() {
+        return guessedLetters;
+    }
+
+    /**
+	 * @method isGameOver
+     * @brief Checks if the game has ended.
+     * @return <code>true</code> if the user has won or lost, <code>false</code> otherwise.
+     */
+    protected boolean isGameOver() {
+        return userWon || userLost;
     }
 
     /**
@@ -114,13 +435,8 @@ public class HangmanModel {
      * @return <code>true</code> if word is guessed, <code>false</code> otherwise.
      */
     protected boolean isWordGuessed() {
-        for (int i = 0; i < secret_word.length(); i++) {
-            char currentChar = secret_word.charAt(i);
-            if (!isLetterGuessed(currentChar)) {
-                return false; // if unguessed letter appears - word is not guessed 
-            }
-        }
-        return true; // word is guessed 
+        // word is guessed when every letter of it is among guessed letters
+        return (guessedLetters & secretLetters) == secretLetters;
     }
     
     /**
@@ -148,21 +464,34 @@ public class HangmanModel {
     /**
 	 * @method processGuess
      * @brief Processes a keyboard-typed letter.
+     * @details Does not allocate unless there are listeners. Capitals and accented letters count as the
+     *          letter of the alphabet they fold to, other characters are ignored.
      * @param letter Character to process.
      */
     protected void processGuess(char letter) {
         boolean gameOver = userLost || userWon; // has game ended ?
+        int index = alphabet.indexOf(letter);
+        int bit = index < 0 ? 0 : 1 << index;
 
         // if the typed letter was not typed before AND game has not ended
         // so, the game will not "punish" you in case you enter a letter more than ones 
-        if (!isLetterGuessed(letter) && !gameOver) {
+        if (bit != 0 && (guessedLetters & bit) == 0 && !gameOver) {
         	
-        	// add letter to a set of guessed letters (already typed-in letters)
-            guessedLetters.add(letter);
+        	// add letter to a mask of guessed letters (already typed-in letters)
+            guessedLetters |= bit;
             
             // if letter is not in the secret word - you loose a guess
-            if (!secret_word.contains(String.valueOf(letter))) {
+            if ((secretLetters & bit) == 0) {
                 guesses_left--;
+                if (listeners.length > 0) {
+                    publish(new GameChange.Miss(alphabet.letterAt(index), guesses_left));
+                }
+            } else {
+                revealLetter(index);
+                if (listeners.length > 0) {
+                    publish(new GameChange.LettersRevealed(alphabet.letterAt(index),
+                            Arrays.copyOfRange(letterPositions, letterStart[index], letterStart[index + 1])));
+                }
             }
         }
 
@@ -175,16 +504,29 @@ public class HangmanModel {
         if (guesses_left == 0) {
             userLost = true;
         }
+
+        if (!gameOver && listeners.length > 0) {
+            if (userWon) {
+                publish(new GameChange.Won(guesses_left));
+            } else if (userLost) {
+                publish(new GameChange.Lost(secret_word));
+            }
+        }
     }
 
     /**
-	 * @method getRandomIndex
-     * @brief Generates random number.
+	 * @method indexForSeed
+     * @brief Maps a game seed to a word index.
+     * @param seed Seed of the game.
      * @param number Upper bound of range (excluding).
-     * @return Random number between 0 and number-1.
+     * @return Number between 0 and number-1, well spread even for consecutive seeds.
      */
-    private int getRandomIndex(int number) {
-        Random random = new Random();
-        return random.nextInt(number);
+    static int indexForSeed(long seed, int number) {
+        // finalizer of SplittableRandom (variant 13 of Stafford's mix)
+        long z = seed;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        z = z ^ (z >>> 31);
+        return (int) Math.floorMod(z, (long) number);
     }
 }
@@ -0,0 +1,514 @@
+/**
+ * @file HangmanServer.java
+ * @brief This file contains the HangmanServer class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+
+/**
+ * @class HangmanServer
+ * @brief Serves games to remote clients over a line-based text protocol.
+ * @details Connections are handled by a few non-blocking event loops (one selector each), so idle
+ *          connections cost only a key and a small buffer. Every connection plays in a GameSession, created
+ *          when it connects and announced with <code>HELLO &lt;session id&gt;</code>. A session outlives its
+ *          connection until it is idle for the registry's time to live, so a client that reconnects, also
+ *          after the server was restarted from its log, takes its game back with RESUME.
+ *          Requests and replies are UTF-8 lines, so games of any alphabet can be played; every request is
+ *          answered with one line:
+ *          <pre>
+ *          NEW            -> OK &lt;word&gt; &lt;guesses left&gt; PLAYING
+ *          RESUME &lt;id&gt;    -> OK &lt;word&gt; &lt;guesses left&gt; PLAYING|WON|LOST   (plays in that session)
+ *          GUESS &lt;letter&gt; -> OK &lt;word&gt; &lt;guesses left&gt; PLAYING|WON|LOST
+ *          STATE          -> OK &lt;word&gt; &lt;guesses left&gt; PLAYING|WON|LOST
+ *          HINT           -> HINT &lt;letter&gt;   (only if the server has a hint engine)
+ *          QUIT           -> session is ended and connection is closed
+ *          anything else  -> ERR &lt;reason&gt;
+ *          </pre>
+ *          A request in a session that has expired meanwhile is answered with
+ *          <code>ERR session expired, new session &lt;id&gt;</code> and the connection goes on in a new session.
+ *          Replies the socket does not take at once wait in a queue of the connection. A client that sends
+ *          requests without reading the replies is not read from while more than MAX_BACKLOG bytes wait, so
+ *          the server holds a bounded amount for it and TCP flow control stops the client.
+ */
+public class HangmanServer implements Closeable {
+
+    private static final int MAX_LINE = 64; // longest accepted request line
+    static final int MAX_BACKLOG = 64 * 1024; // reply bytes waiting for a connection before it is not read from
+    static final long SESSION_TTL_MINUTES = 30; // how long main keeps a session nobody plays in
+
+    private final GameSessionRegistry sessions; // sessions of all connections
+    private final HintEngine hints; // hint engine, null if hints are not offered
+    private final ServerSocketChannel server; // listening socket
+    private final EventLoop[] loops; // event loops connections are spread over
+    private int nextLoop = 0; // loop the next connection goes to
+
+    /**
+	 * @method HangmanServer
+     * @brief Constructor of HangmanServer class. Binds the port and starts the event loops.
+     * @param port Port to listen on, 0 for any free port.
+     * @param threads Number of event loops.
+     * @param sessions Registry the sessions of connections are kept in.
+     * @param hints Hint engine, or <code>null</code> to not offer hints.
+     * @throws IOException If the port can not be bound.
+     */
+    public HangmanServer(int port, int threads, GameSessionRegistry sessions, HintEngine hints) throws IOException {
+        this.sessions = sessions;
+        this.hints = hints;
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port), 1024);
+        server.configureBlocking(false);
+
+        loops = new EventLoop[threads];
+        for (int i = 0; i < threads; i++) {
+            loops[i] = new EventLoop(i);
+        }
+        server.register(loops[0].selector, SelectionKey.OP_ACCEPT);
+        for (EventLoop loop : loops) {
+            loop.thread.start();
+        }
+    }
+
+    /**
+	 * @method getPort
+     * @brief Port the server listens on.
+     * @return Port number.
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+	 * @method close
+     * @brief Stops the event loops and closes all connections.
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (EventLoop loop : loops) {
+            loop.thread.interrupt();
+            loop.selector.wakeup();
+        }
+    }
+
+    /**
+     * @class Connection
+     * @brief State of one client connection.
+     */
+    private static final class Connection {
+        final SocketChannel channel; // client socket
+        GameSession session; // game of this client
+        boolean fresh = true; // session was created on connect and not used yet
+        final ByteBuffer input = ByteBuffer.allocate(MAX_LINE); // bytes of the unfinished request line
+        final ArrayDeque<ByteBuffer> output = new ArrayDeque<>(); // replies not written yet, oldest first
+        int backlog = 0; // bytes waiting in output
+
+        Connection(SocketChannel channel, GameSession session) {
+            this.channel = channel;
+            this.session = session;
+        }
+    }
+
+    /**
+     * @class EventLoop
+     * @brief Thread with a selector serving a share of the connections.
+     */
+    private final class EventLoop implements Runnable {
+        final Selector selector; // selector of this loop
+        final Thread thread; // thread running this loop
+        final Queue<SocketChannel> accepted = new ConcurrentLinkedQueue<>(); // new connections to register
+        final ByteBuffer reply = ByteBuffer.allocate(MAX_LINE * 2); // buffer replies are encoded into
+
+        EventLoop(int number) throws IOException {
+            selector = Selector.open();
+            thread = new Thread(this, "hangman-server-" + number);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    selector.select();
+                    registerAccepted();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        handle(key);
+                    }
+                } catch (IOException e) {
+                    if (!server.isOpen()) {
+                        break;
+                    }
+                    System.err.println("Hangman server: " + e.getMessage());
+                }
+            }
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection) {
+                    close(key, (Connection) key.attachment()); // sessions are kept for the restart
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // shutting down anyway
+            }
+        }
+
+        /**
+    	 * @method registerAccepted
+         * @brief Registers connections handed over by the accepting loop and greets them with their session id.
+         */
+        private void registerAccepted() throws IOException {
+            SocketChannel channel;
+            while ((channel = accepted.poll()) != null) {
+                Connection connection = new Connection(channel, sessions.createSession());
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ, connection);
+                try {
+                    send(key, connection, "HELLO " + connection.session.getId());
+                } catch (IOException e) {
+                    close(key, connection);
+                }
+            }
+        }
+
+        /**
+    	 * @method handle
+         * @brief Handles a ready key: accepts, reads or writes.
+         */
+        private void handle(SelectionKey key) throws IOException {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                SocketChannel channel;
+                while ((channel = server.accept()) != null) {
+                    channel.configureBlocking(false);
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                    EventLoop loop = loops[nextLoop];
+                    nextLoop = (nextLoop + 1) % loops.length;
+                    loop.accepted.add(channel);
+                    if (loop != this) {
+                        loop.selector.wakeup();
+                    }
+                }
+                registerAccepted();
+                return;
+            }
+
+            Connection connection = (Connection) key.attachment();
+            try {
+                if (key.isWritable()) {
+                    flush(key, connection);
+                }
+                if (key.isValid() && key.isReadable()) {
+                    read(key, connection);
+                }
+            } catch (IOException e) {
+                close(key, connection); // client went away
+            }
+        }
+
+        /**
+    	 * @method read
+         * @brief Reads available bytes and answers every complete request line.
+         */
+        private void read(SelectionKey key, Connection connection) throws IOException {
+            if (connection.channel.read(connection.input) < 0) {
+                close(key, connection);
+                return;
+            }
+            ByteBuffer input = connection.input;
+            int start = 0;
+            for (int i = 0; i < input.position(); i++) {
+                if (input.get(i) == '\n') {
+                    int end = i > start && input.get(i - 1) == '\r' ? i - 1 : i;
+                    if (!answer(key, connection, input, start, end)) {
+                        return; // connection was closed
+                    }
+                    start = i + 1;
+                }
+            }
+
+            // keep the unfinished line at the start of the buffer
+            int remaining = input.position() - start;
+            if (remaining == input.capacity()) {
+                send(key, connection, "ERR line too long");
+                close(key, connection);
+                return;
+            }
+            for (int i = 0; i < remaining; i++) {
+                input.put(i, input.get(start + i));
+            }
+            input.position(remaining);
+        }
+
+        /**
+    	 * @method answer
+         * @brief Executes one request line and sends its reply.
+         * @return <code>false</code> if the connection was closed.
+         */
+        private boolean answer(SelectionKey key, Connection connection, ByteBuffer input, int start, int end)
+                throws IOException {
+            int length = end - start;
+            if (matches(input, start, length, "QUIT")) {
+                sessions.removeSession(connection.session.getId());
+                close(key, connection);
+                return false;
+            }
+            GameSession session = connection.session;
+            if (sessions.getSession(session.getId()) != session) {
+                connection.session = sessions.createSession();
+                connection.fresh = true;
+                send(key, connection, "ERR session expired, new session " + connection.session.getId());
+                return true;
+            }
+
+            if (length > 7 && matches(input, start, 7, "RESUME ")) {
+                long id = parseId(input, start + 7, end);
+                GameSession resumed = id < 0 ? null : sessions.getSession(id);
+                if (resumed == null) {
+                    send(key, connection, "ERR no session " + (id < 0 ? "with that id" : id));
+                    return true;
+                }
+                if (connection.fresh && resumed != session) {
+                    sessions.removeSession(session.getId()); // nobody knows about it but this client
+                }
+                connection.session = resumed;
+                connection.fresh = false;
+                sendState(key, connection);
+                return true;
+            }
+            connection.fresh = false;
+
+            if (matches(input, start, length, "NEW")) {
+                session.startNewGame();
+                sendState(key, connection);
+            } else if (length > 6 && matches(input, start, 6, "GUESS ")) {
+                int letter = decodeLetter(input, start + 6, end);
+                Alphabet alphabet = session.getAlphabet();
+                if (letter < 0 || alphabet.indexOf((char) letter) < 0) {
+                    send(key, connection, "ERR letter must be one of " + alphabet.getLetters());
+                } else {
+                    session.processGuess((char) letter);
+                    sendState(key, connection);
+                }
+            } else if (matches(input, start, length, "STATE")) {
+                sendState(key, connection);
+            } else if (matches(input, start, length, "HINT") && hints != null) {
+                send(key, connection, "HINT " + session.getHint(hints));
+            } else {
+                send(key, connection, "ERR unknown command");
+            }
+            return true;
+        }
+
+        /**
+    	 * @method sendState
+         * @brief Sends the state of the connection's game.
+         */
+        private void sendState(SelectionKey key, Connection connection) throws IOException {
+            GameSession session = connection.session;
+            String state = session.isWordGuessed() ? "WON" : session.isGameOver() ? "LOST" : "PLAYING";
+            send(key, connection, "OK " + session.getCurrentWord() + " " + session.getGuessesLeft() + " " + state);
+        }
+
+        /**
+    	 * @method send
+         * @brief Writes a reply line, queueing what the socket does not take for later.
+         * @details Once more than MAX_BACKLOG bytes are queued, the connection is not read from until flush
+         *          has written half of them.
+         */
+        private void send(SelectionKey key, Connection connection, String line) throws IOException {
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            if (!connection.output.isEmpty()) {
+                // earlier replies are still waiting, queue behind them
+                queue(key, connection, ByteBuffer.allocate(bytes.length + 1).put(bytes).put((byte) '\n').flip());
+                return;
+            }
+
+            ByteBuffer buffer = bytes.length + 1 <= reply.capacity() ? reply : ByteBuffer.allocate(bytes.length + 1);
+            buffer.clear();
+            buffer.put(bytes).put((byte) '\n').flip();
+            connection.channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                queue(key, connection, ByteBuffer.allocate(buffer.remaining()).put(buffer).flip());
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+            }
+        }
+
+        /**
+    	 * @method queue
+         * @brief Queues reply bytes and stops reading from the connection if too many are waiting.
+         */
+        private void queue(SelectionKey key, Connection connection, ByteBuffer bytes) {
+            connection.output.add(bytes);
+            connection.backlog += bytes.remaining();
+            if (connection.backlog > MAX_BACKLOG) {
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+            }
+        }
+
+        /**
+    	 * @method flush
+         * @brief Writes waiting replies once the socket can take them, reading again when few are left.
+         */
+        private void flush(SelectionKey key, Connection connection) throws IOException {
+            ByteBuffer next;
+            while ((next = connection.output.peek()) != null) {
+                int written = connection.channel.write(next);
+                connection.backlog -= written;
+                if (next.hasRemaining()) {
+                    break;
+                }
+                connection.output.poll();
+            }
+            int ops = key.interestOps();
+            if (connection.output.isEmpty()) {
+                ops &= ~SelectionKey.OP_WRITE;
+            }
+            if (connection.backlog <= MAX_BACKLOG / 2) {
+                ops |= SelectionKey.OP_READ;
+            }
+            key.interestOps(ops);
+        }
+
+        /**
+    	 * @method close
+         * @brief Closes a connection; its session stays, to be resumed or to expire, unless it was never used.
+         */
+        private void close(SelectionKey key, Connection connection) {
+            key.cancel();
+            if (connection.fresh) {
+                sessions.removeSession(connection.session.getId());
+            }
+            try {
+                connection.channel.close();
+            } catch (IOException e) {
+                // nothing more to do with it
+            }
+        }
+    }
+
+    /**
+	 * @method matches
+     * @brief Checks if bytes of a buffer are the given ASCII text.
+     */
+    private static boolean matches(ByteBuffer buffer, int start, int length, String text) {
+        if (length != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(start + i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+	 * @method parseId
+     * @brief Parses a session id of ASCII digits.
+     * @return The id, or -1 if the bytes are not a number of up to 18 digits.
+     */
+    private static long parseId(ByteBuffer buffer, int start, int end) {
+        if (end - start > 18) {
+            return -1;
+        }
+        long id = 0;
+        for (int i = start; i < end; i++) {
+            byte digit = buffer.get(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            id = id * 10 + (digit - '0');
+        }
+        return id;
+    }
+
+    /**
+	 * @method decodeLetter
+     * @brief Decodes bytes of a buffer that are one UTF-8 character of up to three bytes.
+     * @return The character, or -1 if the bytes are anything else.
+     */
+    private static int decodeLetter(ByteBuffer buffer, int start, int end) {
+        int first = buffer.get(start) & 0xff;
+        int length = first < 0x80 ? 1 : (first & 0xe0) == 0xc0 ? 2 : (first & 0xf0) == 0xe0 ? 3 : 0;
+        if (length == 0 || end - start != length) {
+            return -1;
+        }
+        int letter = length == 1 ? first : first & (0x3f >> (length - 1));
+        for (int i = start + 1; i < end; i++) {
+            int next = buffer.get(i) & 0xff;
+            if ((next & 0xc0) != 0x80) {
+                return -1;
+            }
+            letter = letter << 6 | (next & 0x3f);
+        }
+        boolean overlong = length == 2 ? letter < 0x80 : length == 3 && letter < 0x800;
+        return overlong || (letter >= 0xd800 && letter <= 0xdfff) ? -1 : letter;
+    }
+
+    /**
+	 * @method main
+     * @brief Starts a server: <code>HangmanServer [port] [threads] [dictionary|-] [log directory|-] [metrics port]</code>.
+     * @details With a log directory, games are persisted there and restored when the server restarts.
+     *          Sessions nobody plays in for SESSION_TTL_MINUTES are removed, restored ones included.
+     *          With a metrics port, metrics are served for Prometheus at <code>/metrics</code> and over JMX.
+     *          A dictionary compiled by WordPackCompiler is read in place, so starting does not depend on its
+     *          size; text files and plain packs are read into memory first.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        WordStore words = args.length > 2 && !args[2].equals("-")
+                ? new WordStore(WordSource.open(Paths.get(args[2]))) : HangmanModel.DEFAULT_WORDS;
+
+        GameMetrics metrics = null;
+        if (args.length > 4) {
+            metrics = new GameMetrics();
+            metrics.serveHttp(Integer.parseInt(args[4]));
+            try {
+                metrics.registerMBean("server");
+            } catch (JMException e) {
+                System.err.println("Hangman metrics are not available over JMX: " + e.getMessage());
+            }
+        }
+
+        GameSessionRegistry sessions;
+        if (args.length > 3 && !args[3].equals("-")) {
+            GameEventLog log = new GameEventLog(Paths.get(args[3]));
+            sessions = new GameSessionRegistry(words, log, metrics);
+            log.recover(sessions);
+            log.scheduleSnapshots(sessions, 60);
+            System.out.println("Restored " + sessions.size() + " sessions");
+        } else {
+            sessions = new GameSessionRegistry(words, GameLifecycleListener.NONE, metrics);
+        }
+        sessions.expireIdle(TimeUnit.MINUTES.toMillis(SESSION_TTL_MINUTES), 1000, null);
+
+        HangmanServer server = new HangmanServer(port, threads, sessions, new HintEngine(words, 10_000));
+        System.out.println("Hangman server listening on port " + server.getPort());
+        Thread.currentThread().join(); // serve until the process is stopped
+    }
+}
@@ -0,0 +1,233 @@
+/**
+ * @file HangmanSimulator.java
+ * @brief This file contains the HangmanSimulator class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * @class HangmanSimulator
+ * @brief Plays many games without a GUI, on a fork-join pool, to measure strategies and word difficulty.
+ * @details Games are split into chunks played in parallel, each thread with its own model and strategy.
+ *          Per-word results are summed in arrays sized by the dictionary, and per-game rows are written
+ *          to CSV chunk by chunk, so memory use does not grow with the number of games.
+ */
+public class HangmanSimulator {
+
+    private static final int CHUNK = 4096; // games played by one task
+
+    private final WordStore words; // dictionary of secret words
+    private final AtomicLongArray games; // games played per word
+    private final AtomicLongArray wins; // games won per word
+    private final AtomicLongArray misses; // wrong guesses per word
+
+    /**
+	 * @method HangmanSimulator
+     * @brief Constructor of HangmanSimulator class.
+     * @param words Dictionary of secret words.
+     */
+    public HangmanSimulator(WordStore words) {
+        this.words = words;
+        this.games = new AtomicLongArray(words.size());
+        this.wins = new AtomicLongArray(words.size());
+        this.misses = new AtomicLongArray(words.size());
+    }
+
+    /**
+	 * @method run
+     * @brief Plays games in parallel and adds their results to the per-word statistics.
+     * @param count Number of games.
+     * @param seed Seed of the simulation, the same seed plays the same words.
+     * @param strategies Creates the strategy of every worker thread.
+     * @param gameLog Where per-game CSV rows are written, or <code>null</code> for none.
+     * @param pool Pool to run on.
+     */
+    public void run(long count, long seed, Supplier<GuessingStrategy> strategies, Writer gameLog, ForkJoinPool pool) {
+        ThreadLocal<GuessingStrategy> strategy = ThreadLocal.withInitial(strategies);
+        ThreadLocal<HangmanModel> model = ThreadLocal.withInitial(() -> new HangmanModel(words));
+        pool.invoke(new GameRange(0, count, seed, strategy, model, gameLog));
+    }
+
+    /**
+     * @class GameRange
+     * @brief Task playing a range of games, split in halves until it is small enough.
+     */
+    private class GameRange extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long from; // first game number
+        private final long to; // game number after the last one
+        private final long seed; // seed of the simulation
+        private final transient ThreadLocal<GuessingStrategy> strategy; // strategy of the worker thread
+        private final transient ThreadLocal<HangmanModel> model; // model of the worker thread
+        private final transient Writer gameLog; // per-game CSV, may be null
+
+        GameRange(long from, long to, long seed, ThreadLocal<GuessingStrategy> strategy,
+                  ThreadLocal<HangmanModel> model, Writer gameLog) {
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.strategy = strategy;
+            this.model = model;
+            this.gameLog = gameLog;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                long middle = (from + to) >>> 1;
+                invokeAll(new GameRange(from, middle, seed, strategy, model, gameLog),
+                          new GameRange(middle, to, seed, strategy, model, gameLog));
+                return;
+            }
+
+            HangmanModel game = model.get();
+            GuessingStrategy player = strategy.get();
+            StringBuilder rows = gameLog == null ? null : new StringBuilder();
+
+            for (long number = from; number < to; number++) {
+                game.startNewGame(seed + number * 0x9E3779B97F4A7C15L);
+                int guesses = 0;
+                while (!game.isGameOver() && guesses < 26) {
+                    game.processGuess(player.nextGuess(game.getCurrentWord(), game.getGuessedLetters()));
+                    guesses++;
+                }
+
+                int word = game.getWordIndex();
+                boolean won = game.isWordGuessed();
+                int missed = HangmanModel.TOTAL_NUMBER_OF_GUESSES - game.getGuessesLeft();
+                games.incrementAndGet(word);
+                if (won) {
+                    wins.incrementAndGet(word);
+                }
+                misses.addAndGet(word, missed);
+
+                if (rows != null) {
+                    rows.append(number).append(',').append(words.getWord(word)).append(',')
+                        .append(won ? 1 : 0).append(',').append(missed).append(',').append(guesses).append('\n');
+                }
+            }
+
+            if (rows != null) {
+                try {
+                    synchronized (gameLog) {
+                        gameLog.append(rows);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+	 * @method getGames
+     * @brief Number of games played with a word.
+     * @param id Word id.
+     * @return Number of games.
+     */
+    public long getGames(int id) {
+        return games.get(id);
+    }
+
+    /**
+	 * @method getWins
+     * @brief Number of games won with a word.
+     * @param id Word id.
+     * @return Number of won games.
+     */
+    public long getWins(int id) {
+        return wins.get(id);
+    }
+
+    /**
+	 * @method getMeanMisses
+     * @brief Average number of wrong guesses in games with a word.
+     * @param id Word id.
+     * @return Mean misses, 0 if the word was not played.
+     */
+    public double getMeanMisses(int id) {
+        long played = games.get(id);
+        return played == 0 ? 0 : (double) misses.get(id) / played;
+    }
+
+    /**
+	 * @method writeWordSummary
+     * @brief Writes per-word results as CSV: word, games, wins, win rate, mean misses.
+     * @param path Path of the CSV file.
+     * @throws IOException If the file can not be written.
+     */
+    public void writeWordSummary(Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("word,games,wins,win_rate,mean_misses\n");
+            for (int id = 0; id < words.size(); id++) {
+                long played = games.get(id);
+                if (played == 0) {
+                    continue;
+                }
+                out.write(words.getWord(id) + "," + played + "," + wins.get(id) + ","
+                        + String.format("%.4f", (double) wins.get(id) / played) + ","
+                        + String.format("%.4f", getMeanMisses(id)) + "\n");
+            }
+        }
+    }
+
+    /**
+	 * @method main
+     * @brief Runs a simulation from the command line:
+     *        <code>HangmanSimulator &lt;dictionary|-&gt; &lt;games&gt; &lt;frequency|random|adaptive&gt; &lt;words.csv&gt; [games.csv]</code>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("usage: HangmanSimulator <dictionary|-> <games> <frequency|random|adaptive> <words.csv> [games.csv]");
+            System.exit(1);
+        }
+        WordStore words = args[0].equals("-") ? HangmanModel.DEFAULT_WORDS : new WordStore(WordSource.open(Paths.get(args[0])));
+        long count = Long.parseLong(args[1]);
+
+        Supplier<GuessingStrategy> strategies;
+        switch (args[2]) {
+            case "frequency": strategies = () -> GuessingStrategy.frequency(words.getAlphabet()); break;
+            case "random":
+                strategies = () -> GuessingStrategy.random(ThreadLocalRandom.current().nextLong(), words.getAlphabet());
+                break;
+            case "adaptive": strategies = () -> GuessingStrategy.adaptive(words); break;
+            default: throw new IllegalArgumentException("unknown strategy " + args[2]);
+        }
+
+        HangmanSimulator simulator = new HangmanSimulator(words);
+        long start = System.nanoTime();
+        if (args.length > 4) {
+            try (BufferedWriter gameLog = Files.newBufferedWriter(Paths.get(args[4]), StandardCharsets.UTF_8)) {
+                gameLog.write("game,word,won,misses,guesses\n");
+                simulator.run(count, 1, strategies, gameLog, ForkJoinPool.commonPool());
+            }
+        } else {
+            simulator.run(count, 1, strategies, null, ForkJoinPool.commonPool());
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        simulator.writeWordSummary(Paths.get(args[3]));
+
+        long won = 0;
+        for (int id = 0; id < words.size(); id++) {
+            won += simulator.getWins(id);
+        }
+        System.out.printf("%d games in %d ms, %.2f%% won%n", count, millis, won * 100.0 / count);
+    }
+}
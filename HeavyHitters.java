@@ -0,0 +1,205 @@
+/**
+ * @file HeavyHitters.java
+ * @brief This file contains the HeavyHitters class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @class HeavyHitters
+ * @brief The most frequent keys of a stream, kept in a fixed number of counters (Space-Saving).
+ * @details Up to <code>capacity</code> keys are counted. A key that is not counted when all counters are
+ *          taken replaces the key with the smallest count and inherits that count as its possible error,
+ *          so counts are never underestimated and every key seen more than total/capacity times is kept.
+ *          Summaries are mergeable: counts of the same key are added, and a key missing from a full
+ *          summary is assumed to have that summary's smallest count.
+ */
+public final class HeavyHitters {
+
+    /**
+     * @class Entry
+     * @brief A key with its estimated count.
+     */
+    public static final class Entry {
+        private final long key; // counted key
+        private long count; // estimated count, at least the true count
+        private long error; // how much the count may be too high
+
+        Entry(long key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        /**
+    	 * @method getKey
+         * @brief Counted key.
+         */
+        public long getKey() {
+            return key;
+        }
+
+        /**
+    	 * @method getCount
+         * @brief Estimated count, never less than the true count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+    	 * @method getError
+         * @brief How much the count may be too high.
+         */
+        public long getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + count + (error > 0 ? "(-" + error + ")" : "");
+        }
+    }
+
+    private final int capacity; // most keys counted
+    private final Map<Long, Entry> entries; // counted keys, guarded by this
+
+    /**
+	 * @method HeavyHitters
+     * @brief Constructor of HeavyHitters class.
+     * @param capacity Number of counters; more counters give more accurate and longer top lists.
+     */
+    public HeavyHitters(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new HashMap<>(capacity * 2);
+    }
+
+    /**
+	 * @method add
+     * @brief Counts an occurrence of a key.
+     * @param key Key.
+     */
+    public synchronized void add(long key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.count++;
+        } else if (entries.size() < capacity) {
+            entries.put(key, new Entry(key, 1, 0));
+        } else {
+            Entry smallest = smallest();
+            entries.remove(smallest.key);
+            entries.put(key, new Entry(key, smallest.count + 1, smallest.count));
+        }
+    }
+
+    /**
+	 * @method smallest
+     * @brief Entry with the smallest count.
+     */
+    private Entry smallest() {
+        Entry smallest = null;
+        for (Entry entry : entries.values()) {
+            if (smallest == null || entry.count < smallest.count) {
+                smallest = entry;
+            }
+        }
+        return smallest;
+    }
+
+    /**
+	 * @method top
+     * @brief The keys with the highest counts.
+     * @param k Most entries to return.
+     * @return Copies of the entries, highest count first.
+     */
+    public synchronized List<Entry> top(int k) {
+        List<Entry> top = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            top.add(new Entry(entry.key, entry.count, entry.error));
+        }
+        top.sort((a, b) -> Long.compare(b.count, a.count));
+        return top.subList(0, Math.min(k, top.size()));
+    }
+
+    /**
+	 * @method merge
+     * @brief Adds the counts of another summary with the same capacity.
+     * @param other Summary to add, e.g. from another node.
+     * @throws IllegalArgumentException If the capacities differ.
+     */
+    public void merge(HeavyHitters other) {
+        if (other.capacity != capacity) {
+            throw new IllegalArgumentException("heavy hitters of different capacity can not be merged");
+        }
+        List<Entry> theirs = other.top(capacity);
+        long theirMin = theirs.size() < capacity ? 0 : theirs.get(theirs.size() - 1).count;
+        synchronized (this) {
+            long ourMin = entries.size() < capacity ? 0 : smallest().count;
+            Map<Long, Entry> merged = new HashMap<>(capacity * 4);
+            for (Entry entry : entries.values()) {
+                merged.put(entry.key, new Entry(entry.key, entry.count + theirMin, entry.error + theirMin));
+            }
+            for (Entry entry : theirs) {
+                Entry ours = merged.get(entry.key);
+                if (ours != null) {
+                    // counted by both, undo the assumed count
+                    ours.count += entry.count - theirMin;
+                    ours.error += entry.error - theirMin;
+                } else {
+                    merged.put(entry.key, new Entry(entry.key, entry.count + ourMin, entry.error + ourMin));
+                }
+            }
+
+            List<Entry> sorted = new ArrayList<>(merged.values());
+            sorted.sort((a, b) -> Long.compare(b.count, a.count));
+            entries.clear();
+            for (Entry entry : sorted.subList(0, Math.min(capacity, sorted.size()))) {
+                entries.put(entry.key, entry);
+            }
+        }
+    }
+
+    /**
+	 * @method writeTo
+     * @brief Writes the summary, to be read by readFrom.
+     */
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeInt(capacity);
+        out.writeInt(entries.size());
+        for (Entry entry : entries.values()) {
+            out.writeLong(entry.key);
+            out.writeLong(entry.count);
+            out.writeLong(entry.error);
+        }
+    }
+
+    /**
+	 * @method readFrom
+     * @brief Reads a summary written by writeTo.
+     */
+    public static HeavyHitters readFrom(DataInput in) throws IOException {
+        int capacity = in.readInt();
+        int size = in.readInt();
+        if (capacity <= 0 || capacity > 1 << 20 || size < 0 || size > capacity) {
+            throw new IOException("not a heavy hitters summary");
+        }
+        HeavyHitters summary = new HeavyHitters(capacity);
+        for (int i = 0; i < size; i++) {
+            Entry entry = new Entry(in.readLong(), in.readLong(), in.readLong());
+            summary.entries.put(entry.key, entry);
+        }
+        return summary;
+    }
+}
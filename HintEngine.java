@@ -0,0 +1,450 @@
+/**
+ * @file HintEngine.java
+ * @brief This file contains the HintEngine class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @class HintEngine
+ * @brief Suggests the next letter to guess: the one that best splits the dictionary words still fitting the game.
+ * @details A guess splits the fitting words into groups by what it would reveal: the words without the
+ *          letter, and the words with it for every set of positions. The hint is the letter whose largest
+ *          group is smallest, so whatever the secret word is, as few words as possible are left; on a tie
+ *          the letter found in more words wins, as it is more likely to hit.
+ *          Answers come from, in order: a precomputed index file of common game states (memory-mapped),
+ *          a bounded LRU cache of recently computed states, and finally the candidate bitsets of the
+ *          dictionary. The index and the cache are keyed by the whole state, not only by its hash.
+ *          Counters of each kind of answer are kept for sizing the cache. Thread-safe.
+ */
+public class HintEngine {
+
+    static final int INDEX_MAGIC = 0x48574849; // "HWHI"
+    static final int INDEX_VERSION = 2; // current index format version, 1 kept only state hashes
+    private static final int INDEX_HEADER_SIZE = 16; // magic, version, number of records, number of state chars
+    private static final int RECORD_SIZE = 20; // hash (8), guessed letters (4), first char (4), length (2), letter (2)
+
+    private final WordStore words; // dictionary the secret words come from
+    private final Alphabet alphabet; // letters of the dictionary, hints are indexes of them
+    private final int[] letterOrder; // letter indexes in the order preferred on a tie
+    private final Map<String, Character> cache; // recently computed hints by state key, guarded by itself
+    private volatile ByteBuffer index; // precomputed hints sorted by state hash, null if none loaded
+
+    private final LongAdder indexHits = new LongAdder(); // hints found in the index
+    private final LongAdder cacheHits = new LongAdder(); // hints found in the cache
+    private final LongAdder misses = new LongAdder(); // hints computed from candidates
+
+    /**
+	 * @method HintEngine
+     * @brief Constructor of HintEngine class.
+     * @param words Dictionary the secret words come from.
+     * @param cacheSize Number of computed hints to keep.
+     */
+    public HintEngine(WordStore words, int cacheSize) {
+        this.words = words;
+        this.alphabet = words.getAlphabet();
+        this.letterOrder = new int[alphabet.size()];
+        for (int i = 0; i < letterOrder.length; i++) {
+            // English letters by frequency, other alphabets in their order
+            letterOrder[i] = alphabet == Alphabet.ENGLISH ? GuessingStrategy.FREQUENCY_ORDER.charAt(i) - 'a' : i;
+        }
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Character> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+	 * @method loadIndex
+     * @brief Maps a precomputed index file written by writeIndex for the same dictionary.
+     * @param path Path to the index.
+     * @throws IOException If the file can not be read or is not a hint index.
+     */
+    public void loadIndex(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < INDEX_HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("not a hint index: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != INDEX_MAGIC) {
+                throw new IOException("not a hint index: " + path);
+            }
+            if (buffer.getInt(4) != INDEX_VERSION) {
+                throw new IOException("hint index version " + buffer.getInt(4) + " is not supported, write it again: "
+                        + path);
+            }
+            if (INDEX_HEADER_SIZE + (long) buffer.getInt(8) * RECORD_SIZE + buffer.getInt(12) * 2L != size) {
+                throw new IOException("not a hint index: " + path);
+            }
+            index = buffer;
+        }
+    }
+
+    /**
+	 * @method hint
+     * @brief Suggests the next letter for a game.
+     * @param model Game to suggest for.
+     * @return A letter of the dictionary's alphabet not guessed yet.
+     */
+    public char hint(HangmanModel model) {
+        return hint(model.getCurrentWord(), model.getGuessedLetters());
+    }
+
+    /**
+	 * @method hint
+     * @brief Suggests the next letter for a game state.
+     * @param currentWord Current representation of the secret word (??r??o??).
+     * @param guessedLetters Mask of guessed letters, bit i is letter i of the alphabet.
+     * @return A letter of the dictionary's alphabet not guessed yet.
+     */
+    public char hint(String currentWord, int guessedLetters) {
+        char letter = lookupIndex(currentWord, guessedLetters);
+        if (letter != 0) {
+            indexHits.increment();
+            return letter;
+        }
+
+        String key = stateKey(currentWord, guessedLetters);
+        Character cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        letter = compute(currentWord, guessedLetters);
+        synchronized (cache) {
+            cache.put(key, letter);
+        }
+        return letter;
+    }
+
+    /**
+	 * @method compute
+     * @brief Finds the unguessed letter that best splits the words that fit a game state.
+     * @details For every letter the group of words without it is counted first; the groups of words with
+     *          it are counted only if that could still make the letter the best one.
+     * @param currentWord Current representation of the secret word.
+     * @param guessedLetters Mask of guessed letters.
+     * @return The letter whose largest group of words is smallest, on a tie the one in more words, then the
+     *         earlier one in letterOrder; the first unguessed one in letterOrder if no word fits.
+     */
+    char compute(String currentWord, int guessedLetters) {
+        if (currentWord.length() > WordStore.MAX_LENGTH) {
+            return firstUnguessed(guessedLetters);
+        }
+        CandidateIndex candidates = words.candidateIndex(currentWord.length());
+        long[] fitting = candidates.matching(currentWord, guessedLetters);
+        int total = CandidateIndex.cardinality(fitting);
+
+        int best = -1;
+        int bestLargest = Integer.MAX_VALUE;
+        int bestHits = 0;
+        for (int letter : letterOrder) {
+            if ((guessedLetters & (1 << letter)) == 0) {
+                int hits = candidates.countWithLetter(fitting, letter);
+                if (hits == 0 || total - hits > bestLargest || (total - hits == bestLargest && hits <= bestHits)) {
+                    continue; // the words without it alone are a group no smaller than the best one
+                }
+                int largest = Math.max(total - hits, candidates.largestGroupWith(fitting, letter));
+                if (largest < bestLargest || (largest == bestLargest && hits > bestHits)) {
+                    best = letter;
+                    bestLargest = largest;
+                    bestHits = hits;
+                }
+            }
+        }
+        return best < 0 ? firstUnguessed(guessedLetters) : alphabet.letterAt(best);
+    }
+
+    /**
+	 * @method firstUnguessed
+     * @brief The first letter of letterOrder not guessed yet.
+     */
+    private char firstUnguessed(int guessedLetters) {
+        for (int letter : letterOrder) {
+            if ((guessedLetters & (1 << letter)) == 0) {
+                return alphabet.letterAt(letter);
+            }
+        }
+        return alphabet.letterAt(letterOrder[0]); // all letters are guessed
+    }
+
+    /**
+	 * @method lookupIndex
+     * @brief Binary search of a state in the precomputed index.
+     * @details Records are sorted by state hash; among records with the same hash the one with the same
+     *          guessed letters and representation is the answer.
+     * @param currentWord Current representation of the secret word.
+     * @param guessedLetters Mask of guessed letters.
+     * @return The letter, or 0 if the state is not in the index.
+     */
+    private char lookupIndex(String currentWord, int guessedLetters) {
+        ByteBuffer buffer = index;
+        if (buffer == null) {
+            return 0;
+        }
+        long hash = stateHash(currentWord, guessedLetters);
+        int records = buffer.getInt(8);
+        int low = 0;
+        int high = records;
+        while (low < high) { // first record with at least the hash
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(INDEX_HEADER_SIZE + mid * RECORD_SIZE) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int chars = INDEX_HEADER_SIZE + records * RECORD_SIZE;
+        for (int record = low; record < records; record++) {
+            int at = INDEX_HEADER_SIZE + record * RECORD_SIZE;
+            if (buffer.getLong(at) != hash) {
+                break;
+            }
+            if (buffer.getInt(at + 8) == guessedLetters && buffer.getShort(at + 16) == currentWord.length()
+                    && sameChars(buffer, chars + buffer.getInt(at + 12) * 2, currentWord)) {
+                return buffer.getChar(at + 18);
+            }
+        }
+        return 0;
+    }
+
+    /**
+	 * @method sameChars
+     * @brief Checks if a buffer holds the chars of a string at a position.
+     */
+    private static boolean sameChars(ByteBuffer buffer, int position, String chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            if (buffer.getChar(position + i * 2) != chars.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+	 * @method writeIndex
+     * @brief Precomputes hints for common game states and writes them as an index file.
+     * @details Common states are the start of a game of every word length, every state after any
+     *          first guess, and every state reached by following the hints for up to <code>depth</code> guesses.
+     * @param path Path of the index to write.
+     * @param depth How many hinted guesses to follow.
+     * @throws IOException If the file can not be written.
+     */
+    public void writeIndex(Path path, int depth) throws IOException {
+        Map<String, Character> hints = new HashMap<>();
+        Set<Integer> lengths = new HashSet<>();
+        for (int id = 0; id < words.size(); id++) {
+            if (words.getLength(id) <= WordStore.MAX_LENGTH) {
+                lengths.add(words.getLength(id));
+            }
+        }
+
+        for (int length : lengths) {
+            char[] hidden = new char[length];
+            Arrays.fill(hidden, '?');
+            String start = new String(hidden);
+            addStates(start, 0, depth, hints);
+
+            // every outcome of every first guess
+            for (int letter = 0; letter < alphabet.size(); letter++) {
+                for (String next : outcomes(start, 0, letter)) {
+                    addStates(next, 1 << letter, 0, hints);
+                }
+            }
+        }
+
+        // records sorted by state hash, followed by the chars of all representations
+        List<String> states = new ArrayList<>(hints.keySet());
+        states.sort(Comparator.comparingLong(HintEngine::keyHash));
+        int chars = 0;
+        for (String state : states) {
+            chars += state.length() - 2;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(INDEX_HEADER_SIZE + states.size() * RECORD_SIZE + chars * 2);
+        buffer.putInt(INDEX_MAGIC).putInt(INDEX_VERSION).putInt(states.size()).putInt(chars);
+        int first = 0;
+        for (String state : states) {
+            int length = state.length() - 2;
+            buffer.putLong(keyHash(state)).putInt(keyGuessedLetters(state)).putInt(first).putShort((short) length)
+                    .putChar(hints.get(state));
+            first += length;
+        }
+        for (String state : states) {
+            for (int i = 0; i < state.length() - 2; i++) {
+                buffer.putChar(state.charAt(i));
+            }
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+	 * @method addStates
+     * @brief Adds the hint of a state, and of the states reached by following it, to the index being built.
+     */
+    private void addStates(String currentWord, int guessedLetters, int depth, Map<String, Character> hints) {
+        String key = stateKey(currentWord, guessedLetters);
+        if (hints.containsKey(key) || Integer.bitCount(guessedLetters) == alphabet.size()) {
+            return;
+        }
+        char letter = compute(currentWord, guessedLetters);
+        hints.put(key, letter);
+        if (depth > 0) {
+            int index = alphabet.indexOf(letter);
+            for (String next : outcomes(currentWord, guessedLetters, index)) {
+                addStates(next, guessedLetters | 1 << index, depth - 1, hints);
+            }
+        }
+    }
+
+    /**
+	 * @method outcomes
+     * @brief All representations a game state can turn into after guessing a letter (index in the alphabet).
+     */
+    private Set<String> outcomes(String currentWord, int guessedLetters, int letter) {
+        Set<String> outcomes = new HashSet<>();
+        CandidateIndex candidates = words.candidateIndex(currentWord.length());
+        long[] fitting = candidates.matching(currentWord, guessedLetters);
+        char[] next = new char[currentWord.length()];
+        for (int local = CandidateIndex.firstWord(fitting); local >= 0; local = nextWord(fitting, local)) {
+            int id = candidates.wordId(local);
+            for (int i = 0; i < next.length; i++) {
+                char c = words.letterAt(id, i);
+                next[i] = alphabet.indexOf(c) == letter ? c : currentWord.charAt(i); // shown as in the word
+            }
+            outcomes.add(new String(next));
+        }
+        return outcomes;
+    }
+
+    /**
+	 * @method nextWord
+     * @brief Next local id in a bitset after a given one.
+     * @return Local id, or -1 if there is none.
+     */
+    private static int nextWord(long[] set, int local) {
+        int from = local + 1;
+        int i = from >>> 6;
+        if (i >= set.length) {
+            return -1;
+        }
+        long bits = set[i] & (-1L << from);
+        while (bits == 0) {
+            if (++i == set.length) {
+                return -1;
+            }
+            bits = set[i];
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+	 * @method stateKey
+     * @brief Key of a game state in the cache: the representation followed by the mask as two chars.
+     */
+    static String stateKey(String currentWord, int guessedLetters) {
+        return currentWord + (char) guessedLetters + (char) (guessedLetters >>> 16);
+    }
+
+    /**
+	 * @method keyGuessedLetters
+     * @brief Mask of guessed letters of a state key.
+     */
+    private static int keyGuessedLetters(String key) {
+        return key.charAt(key.length() - 2) | key.charAt(key.length() - 1) << 16;
+    }
+
+    /**
+	 * @method keyHash
+     * @brief Hash of the state of a state key.
+     */
+    private static long keyHash(String key) {
+        return stateHash(key.substring(0, key.length() - 2), keyGuessedLetters(key));
+    }
+
+    /**
+	 * @method stateHash
+     * @brief 64-bit hash of a game state, the order of records in the index.
+     */
+    static long stateHash(String currentWord, int guessedLetters) {
+        long hash = 0xcbf29ce484222325L ^ guessedLetters;
+        for (int i = 0; i < currentWord.length(); i++) {
+            hash = (hash ^ currentWord.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+	 * @method getIndexHits
+     * @brief Number of hints answered from the precomputed index.
+     */
+    public long getIndexHits() {
+        return indexHits.sum();
+    }
+
+    /**
+	 * @method getCacheHits
+     * @brief Number of hints answered from the cache.
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+	 * @method getMisses
+     * @brief Number of hints that had to be computed.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+	 * @method main
+     * @brief Writes a hint index for a dictionary: <code>HintEngine &lt;dictionary&gt; &lt;hints.idx&gt; [depth]</code>.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: HintEngine <dictionary> <hints.idx> [depth]");
+            System.exit(1);
+        }
+        WordStore words = new WordStore(WordSource.open(Paths.get(args[0])));
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        new HintEngine(words, 0).writeIndex(Paths.get(args[1]), depth);
+    }
+}
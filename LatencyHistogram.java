@@ -0,0 +1,154 @@
+/**
+ * @file LatencyHistogram.java
+ * @brief This file contains the LatencyHistogram class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @class LatencyHistogram
+ * @brief Concurrent histogram of durations in nanoseconds, in the style of HdrHistogram.
+ * @details Buckets are log-linear: every power of two is split into 16 equal buckets, so any value is
+ *          known within about 6% while the whole range up to about 18 minutes fits in 608 counters.
+ *          Counters are striped by thread, so recording threads rarely write to the same cache lines;
+ *          reading sums the stripes.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4; // 16 buckets per power of two
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40; // values from 2^40 ns (~18 min) on share the last buckets
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS; // number of buckets
+
+    private final AtomicLongArray[] stripes; // bucket counters, one array per stripe
+    private final int stripeMask; // number of stripes - 1
+    private final LongAdder count = new LongAdder(); // number of recorded values
+    private final LongAdder sum = new LongAdder(); // sum of recorded values
+
+    /**
+	 * @method LatencyHistogram
+     * @brief Constructor of LatencyHistogram class, with a stripe per processor.
+     */
+    LatencyHistogram() {
+        int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+        stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(BUCKETS);
+        }
+        stripeMask = stripeCount - 1;
+    }
+
+    /**
+	 * @method record
+     * @brief Adds a value.
+     * @param nanos Duration in nanoseconds, negative values count as 0.
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        stripes[stripe].incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+    }
+
+    /**
+	 * @method bucket
+     * @brief Bucket of a value.
+     */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        if (exponent == MAX_EXPONENT && value >>> MAX_EXPONENT > 1) {
+            sub = SUB_BUCKETS - 1; // too large, counted in the last bucket
+        }
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+	 * @method highestValue
+     * @brief Largest value that falls into a bucket.
+     */
+    static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+
+    /**
+	 * @method getCount
+     * @brief Number of recorded values.
+     */
+    long getCount() {
+        return count.sum();
+    }
+
+    /**
+	 * @method getSum
+     * @brief Sum of recorded values in nanoseconds.
+     */
+    long getSum() {
+        return sum.sum();
+    }
+
+    /**
+	 * @method counts
+     * @brief Current count of every bucket, summed over the stripes.
+     * @return New array of BUCKETS counts.
+     */
+    long[] counts() {
+        long[] counts = new long[BUCKETS];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += stripe.get(i);
+            }
+        }
+        return counts;
+    }
+
+    /**
+	 * @method quantile
+     * @brief Value below or at which a fraction of the recorded values are.
+     * @param q Fraction, 0..1.
+     * @return Value in nanoseconds (the top of its bucket), 0 if nothing was recorded.
+     */
+    long quantile(double q) {
+        return quantile(counts(), q);
+    }
+
+    /**
+	 * @method quantile
+     * @brief Quantile of already summed bucket counts, so several quantiles can share one read.
+     * @param counts Bucket counts from counts().
+     * @param q Fraction, 0..1.
+     * @return Value in nanoseconds, 0 if the counts are empty.
+     */
+    static long quantile(long[] counts, double q) {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(counts.length - 1);
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * @file LetterMatcher.java
+ * @brief This file contains the LetterMatcher interface.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+/**
+ * @interface LetterMatcher
+ * @brief Reveals a guessed letter by scanning the letter codes of every position of a Latin-1 secret.
+ * @details HangmanModel reveals letters through an index of their positions, which it has to build for every
+ *          new secret. For long secrets (phrases) a scan comparing a whole vector of codes per instruction
+ *          needs no index and is as quick, so the model uses VECTOR for them when the JVM runs with
+ *          <code>--add-modules jdk.incubator.vector</code>, and its index otherwise. The Vector API code is in
+ *          VectorLetterMatcher, which is only loaded when the module is there.
+ */
+interface LetterMatcher {
+
+    LetterMatcher SCALAR = LetterMatcher::revealScalar; // one position at a time
+    LetterMatcher VECTOR = loadVector(); // Vector API matcher, null without the jdk.incubator.vector module
+
+    /**
+	 * @method reveal
+     * @brief Copies the characters of the positions holding a letter into the representation of the secret.
+     * @param codes Letter index of every position, -1 for characters that are no letter.
+     * @param secret Latin-1 characters of the secret.
+     * @param masked Current representation of the secret, revealed in place.
+     * @param from First position to scan.
+     * @param to Position after the last one to scan.
+     * @param letter Index of the letter.
+     * @return Number of positions holding the letter.
+     */
+    int reveal(byte[] codes, byte[] secret, byte[] masked, int from, int to, int letter);
+
+    /**
+	 * @method revealScalar
+     * @brief The scan of SCALAR, also used for the positions after the last full vector.
+     */
+    static int revealScalar(byte[] codes, byte[] secret, byte[] masked, int from, int to, int letter) {
+        int found = 0;
+        for (int i = from; i < to; i++) {
+            if (codes[i] == letter) {
+                masked[i] = secret[i];
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+	 * @method loadVector
+     * @brief Loads VectorLetterMatcher if the Vector API module was added to the JVM.
+     * @return The matcher, or <code>null</code> if the module is missing or the class can not be loaded.
+     */
+    private static LetterMatcher loadVector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (LetterMatcher) Class.forName(LetterMatcher.class.getPackageName() + ".VectorLetterMatcher")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null; // built without the module, the position index does the work
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * @file ListWordSource.java
+ * @brief This file contains the ListWordSource class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.List;
+
+/**
+ * @class ListWordSource
+ * @brief Word source backed by an in-memory list, meant for small built-in dictionaries.
+ */
+public class ListWordSource implements WordSource {
+
+    private final List<String> words; // list of words to guess
+
+    /**
+	 * @method ListWordSource
+     * @brief Constructor of ListWordSource class.
+     * @param words Words to guess, copied into an immutable list.
+     */
+    public ListWordSource(List<String> words) {
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("word list is empty");
+        }
+        this.words = List.copyOf(words);
+    }
+
+    @Override
+    public int size() {
+        return words.size();
+    }
+
+    @Override
+    public String getWord(int index) {
+        return words.get(index);
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * @file LongMap.java
+ * @brief This file contains the LongMap class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+/**
+ * @class LongMap
+ * @brief Map from long keys to values with open addressing, for one thread.
+ * @details Keys are kept in a long array, so neither a lookup nor a put boxes the key or allocates an
+ *          entry, unlike a HashMap&lt;Long, V&gt;. A key's home slot is taken from the high bits of its
+ *          mixed hash, collisions probe the next slots, and a removal shifts the following keys of the
+ *          run back instead of leaving a tombstone. The table doubles when it is half full.
+ *          A slot is free when its value is null, so null values can not be stored.
+ * @param <V> Type of the values.
+ */
+final class LongMap<V> {
+
+    private static final int MIN_CAPACITY = 16; // slots of an empty map
+
+    private long[] keys; // key in every used slot
+    private Object[] values; // value in every slot, null if the slot is free
+    private int shift; // 64 - log2(capacity), maps a hash to its home slot
+    private int size = 0; // number of keys
+
+    /**
+	 * @method LongMap
+     * @brief Constructor of LongMap class.
+     */
+    LongMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+	 * @method size
+     * @brief Number of keys in the map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+	 * @method get
+     * @brief Value of a key.
+     * @param key Key to look up.
+     * @return The value, or <code>null</code> if the key is not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int mask = values.length - 1;
+        for (int slot = home(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+	 * @method put
+     * @brief Sets the value of a key.
+     * @param key Key to set.
+     * @param value Value of the key, not null.
+     */
+    void put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        int mask = values.length - 1;
+        int slot = home(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > values.length) {
+            resize(values.length * 2);
+        }
+    }
+
+    /**
+	 * @method remove
+     * @brief Removes a key, moving the keys probed past it back so that no slot has to be marked.
+     * @param key Key to remove.
+     * @return The value the key had, or <code>null</code> if it was not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int mask = values.length - 1;
+        int slot = home(key);
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        Object removed = values[slot];
+        if (removed == null) {
+            return null;
+        }
+        int free = slot;
+        for (int next = (free + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            // a key may fill the free slot if the slot lies between its home and where it is now
+            if (((next - home(keys[next])) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+        values[free] = null;
+        size--;
+        return (V) removed;
+    }
+
+    /**
+	 * @method home
+     * @brief First slot probed for a key.
+     */
+    private int home(long key) {
+        return (int) (CountMinSketch.mix(key) >>> shift);
+    }
+
+    /**
+	 * @method allocate
+     * @brief Replaces the slots with empty ones.
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+	 * @method resize
+     * @brief Moves all keys into a table of another capacity.
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = home(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * @file PerfectHash.java
+ * @brief This file contains the PerfectHash class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+
+/**
+ * @class PerfectHash
+ * @brief Minimal perfect hash of a fixed set of keys, stored in a byte buffer (BBHash).
+ * @details Keys are hashed into a bit array GAMMA times as large as the set; keys landing alone on a bit
+ *          are placed there, the others go on to the next, smaller level with another hash. A key's index
+ *          is the number of bits set before its bit, over all levels, so n keys get indexes 0..n-1.
+ *          It takes about 3.5 bits per key and a lookup usually touches one or two levels.
+ *          A key that is not in the set gets some index or -1, so callers must check the key they find.
+ *          Section layout (big-endian): level count, number of longs, the bit offset and size of every
+ *          level, the bit array as longs and the number of bits set before every 512 bits.
+ */
+final class PerfectHash {
+
+    static final int GAMMA = 2; // size of a level relative to the keys left for it
+    private static final int MAX_LEVELS = 64; // more levels mean the keys are not distinct
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L; // odd constant spreading level seeds
+
+    /**
+     * @interface Keys
+     * @brief The key set, read again for every level so that it need not fit into memory.
+     */
+    interface Keys {
+
+        /**
+    	 * @method size
+         * @brief Number of keys.
+         */
+        int size();
+
+        /**
+    	 * @method hash
+         * @brief 64-bit hash of a key, as by hash(ByteBuffer, int, int); keys must have distinct hashes.
+         */
+        long hash(int key);
+    }
+
+    private PerfectHash() {
+    }
+
+    /**
+	 * @method build
+     * @brief Builds the hash of a key set.
+     * @details Besides the bit arrays, memory holds one bit per key for the keys not placed yet.
+     * @param keys Keys to hash.
+     * @return Section with the hash, to be looked up with index.
+     * @throws IllegalArgumentException If the keys do not have distinct hashes.
+     */
+    static ByteBuffer build(Keys keys) {
+        int count = keys.size();
+        BitSet left = new BitSet(count);
+        left.set(0, count);
+        int remaining = count;
+        long[][] levels = new long[MAX_LEVELS][];
+        int levelCount = 0;
+
+        while (remaining > 0) {
+            if (levelCount == MAX_LEVELS) {
+                throw new IllegalArgumentException("keys of a perfect hash must have distinct hashes");
+            }
+            long size = ((long) remaining * GAMMA + 63) & ~63L;
+            long[] seen = new long[(int) (size >>> 6)];
+            long[] collided = new long[seen.length];
+            for (int key = left.nextSetBit(0); key >= 0; key = left.nextSetBit(key + 1)) {
+                int bit = position(keys.hash(key), levelCount, size);
+                long mask = 1L << bit;
+                if ((seen[bit >>> 6] & mask) != 0) {
+                    collided[bit >>> 6] |= mask;
+                } else {
+                    seen[bit >>> 6] |= mask;
+                }
+            }
+            for (int key = left.nextSetBit(0); key >= 0; key = left.nextSetBit(key + 1)) {
+                int bit = position(keys.hash(key), levelCount, size);
+                if ((collided[bit >>> 6] & (1L << bit)) == 0) {
+                    left.clear(key);
+                    remaining--;
+                }
+            }
+            for (int i = 0; i < seen.length; i++) {
+                seen[i] &= ~collided[i];
+            }
+            levels[levelCount++] = seen;
+        }
+
+        int longs = 0;
+        for (int level = 0; level < levelCount; level++) {
+            longs += levels[level].length;
+        }
+        int blocks = longs / 8 + 1;
+        ByteBuffer section = ByteBuffer.allocate(sectionSize(levelCount, longs));
+        section.putInt(levelCount).putInt(longs);
+        long offset = 0;
+        for (int level = 0; level < levelCount; level++) {
+            section.putInt((int) offset).putInt(levels[level].length * 64);
+            offset += levels[level].length * 64L;
+        }
+        section.position(longsStart(levelCount));
+        int rank = 0;
+        int[] ranks = new int[blocks];
+        int index = 0;
+        for (int level = 0; level < levelCount; level++) {
+            for (long bits : levels[level]) {
+                if ((index & 7) == 0) {
+                    ranks[index >>> 3] = rank;
+                }
+                section.putLong(bits);
+                rank += Long.bitCount(bits);
+                index++;
+            }
+        }
+        if ((index & 7) == 0) {
+            ranks[index >>> 3] = rank;
+        }
+        for (int r : ranks) {
+            section.putInt(r);
+        }
+        section.flip();
+        return section;
+    }
+
+    /**
+	 * @method sectionSize
+     * @brief Bytes taken by a hash section.
+     */
+    private static int sectionSize(int levels, int longs) {
+        return longsStart(levels) + longs * 8 + (longs / 8 + 1) * 4;
+    }
+
+    /**
+	 * @method longsStart
+     * @brief Offset of the bit array in a section, aligned to 8 bytes.
+     */
+    private static int longsStart(int levels) {
+        return (8 + levels * 8 + 7) & ~7;
+    }
+
+    /**
+	 * @method index
+     * @brief Looks up the index of a key.
+     * @param section Buffer holding a section written by build.
+     * @param base Position of the section in the buffer.
+     * @param hash Hash of the key.
+     * @return Index 0..n-1 for keys of the set, some index or -1 for other keys.
+     */
+    static int index(ByteBuffer section, int base, long hash) {
+        int levels = section.getInt(base);
+        int longs = section.getInt(base + 4);
+        int bitsStart = base + longsStart(levels);
+        for (int level = 0; level < levels; level++) {
+            long offset = section.getInt(base + 8 + level * 8) & 0xffffffffL;
+            long size = section.getInt(base + 12 + level * 8) & 0xffffffffL;
+            long bit = offset + position(hash, level, size);
+            long word = section.getLong(bitsStart + (int) (bit >>> 6) * 8);
+            if ((word & (1L << bit)) != 0) {
+                int block = (int) (bit >>> 9);
+                int rank = section.getInt(bitsStart + longs * 8 + block * 4);
+                for (int i = block * 8; i < (int) (bit >>> 6); i++) {
+                    rank += Long.bitCount(section.getLong(bitsStart + i * 8));
+                }
+                return rank + Long.bitCount(word & ((1L << bit) - 1));
+            }
+        }
+        return -1;
+    }
+
+    /**
+	 * @method position
+     * @brief Bit of a key in a level.
+     */
+    private static int position(long hash, int level, long size) {
+        long z = hash + (level + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        z = z ^ (z >>> 31);
+        return (int) (((z >>> 32) * size) >>> 32);
+    }
+
+    /**
+	 * @method hash
+     * @brief 64-bit hash of the bytes of a key (FNV-1a).
+     * @param buffer Buffer holding the key.
+     * @param start Position of the first byte.
+     * @param end Position after the last byte.
+     * @return Hash.
+     */
+    static long hash(ByteBuffer buffer, int start, int end) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            h = (h ^ (buffer.get(i) & 0xff)) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+	 * @method hash
+     * @brief Hash of the UTF-8 bytes of a word, without encoding it if it is ASCII.
+     * @param word Word.
+     * @return Same hash as for the word's bytes.
+     */
+    static long hash(String word) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= 0x80) {
+                byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+                return hash(ByteBuffer.wrap(bytes), 0, bytes.length);
+            }
+            h = (h ^ c) * 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,353 @@
+/**
+ * @file ReplayArchiveReader.java
+ * @brief This file contains the ReplayArchiveReader class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * @class ReplayArchiveReader
+ * @brief Reads the games of a replay archive written by ReplayArchiveWriter, one after another.
+ * @details Only games matching a ReplayQuery are returned. A block whose statistics rule the query out is
+ *          skipped unread; otherwise the word and outcome columns are decompressed first, and the seed
+ *          and guess columns only if some game of the block matches.
+ *          Usage: <code>while (reader.next()) { reader.getWordIndex() ... }</code>
+ */
+public class ReplayArchiveReader implements Closeable {
+
+    static final int MAGIC = 0x48575241; // "HWRA"
+    static final int VERSION = 2; // current archive format version
+    static final int COUNT_BITS = 6; // bits of the number of guesses of a game
+    static final int LETTER_BITS = 5; // bits of a guessed letter's index in the alphabet
+
+    private final Path file; // archive being read
+    private final DataInputStream in; // archive stream, at the next column or block
+    private final ReplayQuery query; // which games are returned
+    private final Inflater inflater = new Inflater(); // decompresses the columns
+    private final Alphabet alphabet; // letters of the games
+    private final int countBits; // bits of the number of guesses, 5 in version 1 archives
+    private final int[] words = new int[ReplayArchiveWriter.BLOCK_GAMES]; // word indexes of the block
+    private final long[] seeds = new long[ReplayArchiveWriter.BLOCK_GAMES]; // seeds of the block
+    private final int[] guessStart = new int[ReplayArchiveWriter.BLOCK_GAMES]; // first bit of every game's guesses
+    private byte[] outcomes = new byte[0]; // won bits of the block
+    private byte[] letters = new byte[0]; // guess bits of the block
+    private byte[] raw = new byte[0]; // a decompressed column
+    private byte[] compressed = new byte[0]; // a compressed column
+    private int games = 0; // games of the block that may be returned
+    private int current = -1; // game of the block returned last
+    private long blocksSkipped = 0; // blocks skipped without decompressing anything
+
+    /**
+	 * @method ReplayArchiveReader
+     * @brief Constructor of ReplayArchiveReader class, returning every game.
+     * @param file Path of the archive.
+     * @throws IOException If the file can not be opened or is not a replay archive.
+     */
+    public ReplayArchiveReader(Path file) throws IOException {
+        this(file, ReplayQuery.ALL);
+    }
+
+    /**
+	 * @method ReplayArchiveReader
+     * @brief Constructor of ReplayArchiveReader class.
+     * @param file Path of the archive.
+     * @param query Which games to return.
+     * @throws IOException If the file can not be opened or is not a replay archive.
+     */
+    public ReplayArchiveReader(Path file, ReplayQuery query) throws IOException {
+        this.file = file;
+        this.query = query;
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+        try {
+            int version = in.readInt() == MAGIC ? in.readInt() : -1;
+            if (version == 1) {
+                alphabet = Alphabet.ENGLISH; // version 1 archives were English only, with 5-bit counts
+                countBits = 5;
+            } else if (version == VERSION) {
+                alphabet = Alphabet.of(in.readUTF());
+                countBits = COUNT_BITS;
+            } else {
+                throw new IOException("not a replay archive: " + file);
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e instanceof EOFException ? new IOException("not a replay archive: " + file) : e;
+        } catch (IllegalArgumentException e) {
+            in.close();
+            throw new IOException("not a replay archive: " + file, e); // letters that are no alphabet
+        }
+    }
+
+    /**
+	 * @method next
+     * @brief Moves to the next game matching the query.
+     * @return <code>false</code> if there are no more such games.
+     * @throws IOException If the archive can not be read or is damaged.
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            while (++current < games) {
+                if (query.matches(words[current], isWon(current))) {
+                    return true;
+                }
+            }
+            if (!readBlock()) {
+                return false;
+            }
+        }
+    }
+
+    /**
+	 * @method readBlock
+     * @brief Reads the next block, as far as the query needs it.
+     * @return <code>false</code> at the end of the archive.
+     */
+    private boolean readBlock() throws IOException {
+        games = 0;
+        current = -1;
+        int count;
+        try {
+            count = in.readInt();
+        } catch (EOFException e) {
+            return false; // no more blocks
+        }
+        int minWord = in.readInt();
+        int maxWord = in.readInt();
+        int wonGames = in.readInt();
+        if (count <= 0 || count > ReplayArchiveWriter.BLOCK_GAMES || wonGames < 0 || wonGames > count) {
+            throw new IOException("damaged replay archive: " + file);
+        }
+        if (!query.mayMatch(minWord, maxWord, count, wonGames)) {
+            for (int column = 0; column < 4; column++) {
+                skipColumn();
+            }
+            blocksSkipped++;
+            return true;
+        }
+
+        int length = readColumn();
+        int position = 0;
+        for (int i = 0; i < count; i++) {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (position == length || shift > 28) {
+                    throw new IOException("damaged replay archive: " + file);
+                }
+                byte b = raw[position++];
+                value |= (b & 0x7f) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            words[i] = value;
+        }
+        length = readColumn();
+        if (length != (count + 7) / 8) {
+            throw new IOException("damaged replay archive: " + file);
+        }
+        byte[] swap = outcomes;
+        outcomes = raw;
+        raw = swap;
+
+        boolean any = false;
+        for (int i = 0; i < count && !any; i++) {
+            any = query.matches(words[i], isWon(i));
+        }
+        if (!any) {
+            skipColumn();
+            skipColumn();
+            blocksSkipped++;
+            return true;
+        }
+
+        if (readColumn() != count * 8) {
+            throw new IOException("damaged replay archive: " + file);
+        }
+        for (int i = 0; i < count; i++) {
+            long seed = 0;
+            for (int j = 0; j < 8; j++) {
+                seed = seed << 8 | (raw[i * 8 + j] & 0xff);
+            }
+            seeds[i] = seed;
+        }
+        length = readColumn();
+        swap = letters;
+        letters = raw;
+        raw = swap;
+        int bit = 0;
+        for (int i = 0; i < count; i++) {
+            guessStart[i] = bit;
+            if (bit + countBits > length * 8) {
+                throw new IOException("damaged replay archive: " + file);
+            }
+            int guesses = readBits(bit, countBits);
+            if (guesses > alphabet.size()) {
+                throw new IOException("damaged replay archive: " + file);
+            }
+            bit += countBits + LETTER_BITS * guesses;
+        }
+        if (bit > length * 8) {
+            throw new IOException("damaged replay archive: " + file);
+        }
+        games = count;
+        return true;
+    }
+
+    /**
+	 * @method readColumn
+     * @brief Reads and decompresses the next column into raw.
+     * @return Length of the decompressed column.
+     */
+    private int readColumn() throws IOException {
+        int length = in.readInt();
+        int size = in.readInt();
+        if (length < 0 || size < 0 || length > ReplayArchiveWriter.BLOCK_GAMES * 21) { // 32 guesses take 21 bytes
+            throw new IOException("damaged replay archive: " + file);
+        }
+        if (compressed.length < size) {
+            compressed = new byte[size];
+        }
+        if (raw.length < length) {
+            raw = new byte[length];
+        }
+        in.readFully(compressed, 0, size);
+        inflater.reset();
+        inflater.setInput(compressed, 0, size);
+        try {
+            if (inflater.inflate(raw, 0, length) != length || (length > 0 && !inflater.finished())) {
+                throw new IOException("damaged replay archive: " + file);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("damaged replay archive: " + file, e);
+        }
+        return length;
+    }
+
+    /**
+	 * @method skipColumn
+     * @brief Moves past the next column without reading it.
+     */
+    private void skipColumn() throws IOException {
+        in.readInt();
+        int size = in.readInt();
+        if (size < 0) {
+            throw new IOException("damaged replay archive: " + file);
+        }
+        while (size > 0) {
+            int skipped = in.skipBytes(size);
+            if (skipped <= 0) {
+                throw new EOFException("truncated replay archive: " + file);
+            }
+            size -= skipped;
+        }
+    }
+
+    /**
+	 * @method readBits
+     * @brief Reads a code of up to 8 bits of the guess column.
+     */
+    private int readBits(int bit, int bits) {
+        int index = bit >>> 3;
+        int value = letters[index] & 0xff;
+        if (index + 1 < letters.length) {
+            value |= (letters[index + 1] & 0xff) << 8;
+        }
+        return (value >>> (bit & 7)) & ((1 << bits) - 1);
+    }
+
+    /**
+	 * @method isWon
+     * @brief Outcome of a game of the block.
+     */
+    private boolean isWon(int game) {
+        return (outcomes[game >>> 3] & (1 << (game & 7))) != 0;
+    }
+
+    /**
+	 * @method getWordIndex
+     * @brief Index of the secret word of the current game.
+     */
+    public int getWordIndex() {
+        return words[current];
+    }
+
+    /**
+	 * @method getSeed
+     * @brief Seed the current game was started from.
+     */
+    public long getSeed() {
+        return seeds[current];
+    }
+
+    /**
+	 * @method isWon
+     * @brief Checks if the current game was won.
+     */
+    public boolean isWon() {
+        return isWon(current);
+    }
+
+    /**
+	 * @method getGuessCount
+     * @brief Number of letters guessed in the current game.
+     */
+    public int getGuessCount() {
+        return readBits(guessStart[current], countBits);
+    }
+
+    /**
+	 * @method getGuess
+     * @brief One of the letters guessed in the current game.
+     * @param i Which one, in the order they were guessed.
+     * @return Letter of the archive's alphabet.
+     */
+    public char getGuess(int i) {
+        return alphabet.letterAt(readBits(guessStart[current] + countBits + LETTER_BITS * i, LETTER_BITS));
+    }
+
+    /**
+	 * @method getAlphabet
+     * @brief Getter method for the alphabet of the archived games.
+     * @return The alphabet.
+     */
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+	 * @method getGuesses
+     * @brief Letters guessed in the current game, in order.
+     */
+    public String getGuesses() {
+        char[] guesses = new char[getGuessCount()];
+        for (int i = 0; i < guesses.length; i++) {
+            guesses[i] = getGuess(i);
+        }
+        return new String(guesses);
+    }
+
+    /**
+	 * @method getBlocksSkipped
+     * @brief Number of blocks skipped so far, wholly or after the word and outcome columns.
+     */
+    public long getBlocksSkipped() {
+        return blocksSkipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+}
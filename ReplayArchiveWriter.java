@@ -0,0 +1,290 @@
+/**
+ * @file ReplayArchiveWriter.java
+ * @brief This file contains the ReplayArchiveWriter class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+
+/**
+ * @class ReplayArchiveWriter
+ * @brief Writes finished games to a replay archive read by ReplayArchiveReader.
+ * @details A game is kept as its word index, its seed, the letters guessed in order and whether it was won.
+ *          Games are collected into blocks of BLOCK_GAMES, and every block is written as columns, each
+ *          compressed on its own: word indexes as varints, outcomes as bits, seeds as 8 bytes and guesses
+ *          as 5-bit letter indexes in the archive's alphabet after a 6-bit count. The alphabet is written
+ *          in the header. Blocks start with the range of their word indexes and their number of won games,
+ *          so readers can skip what a query does not need.
+ *          As a GameLifecycleListener it records the games of a GameSessionRegistry as they are played.
+ */
+public class ReplayArchiveWriter implements GameLifecycleListener, Closeable {
+
+    static final int BLOCK_GAMES = 1 << 16; // games per block
+
+    /**
+     * @class Recording
+     * @brief A game being played in a session, until it ends.
+     */
+    private static final class Recording {
+        final int wordIndex; // word of the game
+        final long seed; // seed of the game
+        final char[] guesses = new char[Alphabet.MAX_LETTERS]; // letters guessed so far, in order
+        int count = 0; // number of letters guessed so far
+
+        Recording(int wordIndex, long seed) {
+            this.wordIndex = wordIndex;
+            this.seed = seed;
+        }
+    }
+
+    private final DataOutputStream out; // archive file
+    private final Alphabet alphabet; // letters of the games
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED); // compresses the columns
+    private final Map<Long, Recording> playing = new ConcurrentHashMap<>(); // games of sessions, by session id
+    private final int[] words = new int[BLOCK_GAMES]; // word indexes of the block
+    private final long[] seeds = new long[BLOCK_GAMES]; // seeds of the block
+    private final byte[] outcomes = new byte[BLOCK_GAMES / 8]; // won bits of the block
+    private byte[] letters = new byte[BLOCK_GAMES * 4]; // guess bits of the block
+    private int letterBytes = 0; // full bytes in letters
+    private long bitBuffer = 0; // guess bits not yet in letters
+    private int bitCount = 0; // number of bits in bitBuffer
+    private byte[] raw = new byte[BLOCK_GAMES * 8]; // a column before compression
+    private byte[] compressed = new byte[BLOCK_GAMES * 8]; // a column after compression
+    private int games = 0; // games in the block
+    private int wonGames = 0; // won games in the block
+    private int minWord = Integer.MAX_VALUE; // smallest word index in the block
+    private int maxWord = -1; // largest word index in the block
+    private long total = 0; // games written so far
+    private boolean closed = false; // games can no longer be added
+
+    /**
+	 * @method ReplayArchiveWriter
+     * @brief Constructor of ReplayArchiveWriter class for English games. Creates or truncates the archive.
+     * @param file Path of the archive to write.
+     * @throws IOException If the file can not be created.
+     */
+    public ReplayArchiveWriter(Path file) throws IOException {
+        this(file, Alphabet.ENGLISH);
+    }
+
+    /**
+	 * @method ReplayArchiveWriter
+     * @brief Constructor of ReplayArchiveWriter class. Creates or truncates the archive.
+     * @param file Path of the archive to write.
+     * @param alphabet Alphabet of the games; guesses of other alphabets are not archived.
+     * @throws IOException If the file can not be created.
+     */
+    public ReplayArchiveWriter(Path file, Alphabet alphabet) throws IOException {
+        this.alphabet = alphabet;
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        out.writeInt(ReplayArchiveReader.MAGIC);
+        out.writeInt(ReplayArchiveReader.VERSION);
+        out.writeUTF(alphabet.getLetters());
+    }
+
+    /**
+	 * @method add
+     * @brief Adds a finished game to the archive.
+     * @param wordIndex Index of the secret word in the dictionary.
+     * @param seed Seed the game was started from.
+     * @param guesses Letters of the archive's alphabet guessed in the game, in order; at most one per letter.
+     * @param won If the game was won.
+     * @throws IOException If the archive can not be written.
+     * @throws IllegalArgumentException If the guesses are not letters of the alphabet or too many.
+     */
+    public synchronized void add(int wordIndex, long seed, CharSequence guesses, boolean won) throws IOException {
+        int count = guesses.length();
+        if (count > alphabet.size() || wordIndex < 0) {
+            throw new IllegalArgumentException("a game has a word index and at most " + alphabet.size() + " guesses");
+        }
+        for (int i = 0; i < count; i++) {
+            if (alphabet.indexOf(guesses.charAt(i)) < 0) {
+                throw new IllegalArgumentException("guesses must be letters " + alphabet.getLetters() + ": " + guesses);
+            }
+        }
+        if (closed) {
+            throw new IOException("the replay archive is closed");
+        }
+
+        words[games] = wordIndex;
+        seeds[games] = seed;
+        if (won) {
+            outcomes[games >>> 3] |= 1 << (games & 7);
+            wonGames++;
+        }
+        minWord = Math.min(minWord, wordIndex);
+        maxWord = Math.max(maxWord, wordIndex);
+        writeBits(count, ReplayArchiveReader.COUNT_BITS);
+        for (int i = 0; i < count; i++) {
+            writeBits(alphabet.indexOf(guesses.charAt(i)), ReplayArchiveReader.LETTER_BITS);
+        }
+        games++;
+        total++;
+        if (games == BLOCK_GAMES) {
+            writeBlock();
+        }
+    }
+
+    /**
+	 * @method writeBits
+     * @brief Appends a code of a few bits to the guesses of the block.
+     */
+    private void writeBits(int code, int bits) {
+        bitBuffer |= (long) code << bitCount;
+        bitCount += bits;
+        while (bitCount >= 8) {
+            if (letterBytes == letters.length) {
+                letters = Arrays.copyOf(letters, letters.length * 2);
+            }
+            letters[letterBytes++] = (byte) bitBuffer;
+            bitBuffer >>>= 8;
+            bitCount -= 8;
+        }
+    }
+
+    /**
+	 * @method writeBlock
+     * @brief Writes the collected games as a block and starts a new one.
+     */
+    private void writeBlock() throws IOException {
+        if (games == 0) {
+            return;
+        }
+        if (bitCount > 0) {
+            // last bits, padded to a byte; the reader goes by the counts
+            if (letterBytes == letters.length) {
+                letters = Arrays.copyOf(letters, letters.length + 1);
+            }
+            letters[letterBytes++] = (byte) bitBuffer;
+            bitCount = 0;
+            bitBuffer = 0;
+        }
+
+        out.writeInt(games);
+        out.writeInt(minWord);
+        out.writeInt(maxWord);
+        out.writeInt(wonGames);
+
+        int length = 0;
+        for (int i = 0; i < games; i++) {
+            int value = words[i];
+            while ((value & ~0x7f) != 0) {
+                raw[length++] = (byte) (value | 0x80);
+                value >>>= 7;
+            }
+            raw[length++] = (byte) value;
+        }
+        writeColumn(raw, length);
+        writeColumn(outcomes, (games + 7) / 8);
+
+        length = 0;
+        for (int i = 0; i < games; i++) {
+            long seed = seeds[i];
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                raw[length++] = (byte) (seed >>> shift);
+            }
+        }
+        writeColumn(raw, length);
+        writeColumn(letters, letterBytes);
+
+        Arrays.fill(outcomes, (byte) 0);
+        letterBytes = 0;
+        games = 0;
+        wonGames = 0;
+        minWord = Integer.MAX_VALUE;
+        maxWord = -1;
+    }
+
+    /**
+	 * @method writeColumn
+     * @brief Writes a column compressed, after its raw and compressed lengths.
+     */
+    private void writeColumn(byte[] column, int length) throws IOException {
+        deflater.reset();
+        deflater.setInput(column, 0, length);
+        deflater.finish();
+        int size = 0;
+        while (!deflater.finished()) {
+            if (size == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            size += deflater.deflate(compressed, size, compressed.length - size);
+        }
+        out.writeInt(length);
+        out.writeInt(size);
+        out.write(compressed, 0, size);
+    }
+
+    /**
+	 * @method getGameCount
+     * @brief Getter method for the number of games added so far.
+     * @return Number of games.
+     */
+    public synchronized long getGameCount() {
+        return total;
+    }
+
+    @Override
+    public void gameStarted(long sessionId, int wordIndex, long seed) {
+        playing.put(sessionId, new Recording(wordIndex, seed));
+    }
+
+    @Override
+    public void letterGuessed(long sessionId, char letter, int guessedLetters) {
+        if (alphabet.indexOf(letter) < 0) {
+            playing.remove(sessionId); // games of other alphabets are not archived
+            return;
+        }
+        Recording game = playing.get(sessionId);
+        if (game != null && game.count < game.guesses.length) {
+            game.guesses[game.count++] = letter;
+        }
+    }
+
+    @Override
+    public void gameEnded(long sessionId, int wordIndex, boolean won, int misses) {
+        Recording game = playing.remove(sessionId);
+        if (game != null) {
+            try {
+                add(game.wordIndex, game.seed, new String(game.guesses, 0, game.count), won);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void sessionClosed(long sessionId) {
+        playing.remove(sessionId); // unfinished games are not archived
+    }
+
+    /**
+	 * @method close
+     * @brief Writes the last block and closes the archive.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writeBlock();
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * @file ReplayQuery.java
+ * @brief This file contains the ReplayQuery class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+/**
+ * @class ReplayQuery
+ * @brief Immutable description of which archived games a ReplayArchiveReader returns.
+ * @details The reader checks a query against the statistics of a block before reading it and against the
+ *          word and outcome columns before reading seeds and guesses, so games that do not match cost
+ *          little or nothing, e.g. <code>ReplayQuery.ALL.word(42).lost()</code>.
+ */
+public final class ReplayQuery {
+
+    public static final ReplayQuery ALL = new ReplayQuery(-1, 0); // every game
+
+    private static final int WON = 1; // outcome: only won games
+    private static final int LOST = 2; // outcome: only lost games
+
+    private final int wordIndex; // word of the games, -1 for any
+    private final int outcome; // WON, LOST or 0 for any
+
+    private ReplayQuery(int wordIndex, int outcome) {
+        this.wordIndex = wordIndex;
+        this.outcome = outcome;
+    }
+
+    /**
+	 * @method word
+     * @brief Query for the games of this one with a given word.
+     * @param index Index of the word in the dictionary.
+     * @return Narrower query.
+     */
+    public ReplayQuery word(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("word index must not be negative");
+        }
+        return new ReplayQuery(index, outcome);
+    }
+
+    /**
+	 * @method won
+     * @brief Query for the won games of this one.
+     * @return Narrower query.
+     */
+    public ReplayQuery won() {
+        return new ReplayQuery(wordIndex, WON);
+    }
+
+    /**
+	 * @method lost
+     * @brief Query for the lost games of this one.
+     * @return Narrower query.
+     */
+    public ReplayQuery lost() {
+        return new ReplayQuery(wordIndex, LOST);
+    }
+
+    /**
+	 * @method matches
+     * @brief Checks one game.
+     * @param word Index of the game's word.
+     * @param won If the game was won.
+     * @return <code>true</code> if the game is wanted.
+     */
+    boolean matches(int word, boolean won) {
+        return (wordIndex < 0 || word == wordIndex) && (outcome == 0 || won == (outcome == WON));
+    }
+
+    /**
+	 * @method mayMatch
+     * @brief Checks the statistics of a block.
+     * @param minWord Smallest word index in the block.
+     * @param maxWord Largest word index in the block.
+     * @param games Number of games in the block.
+     * @param wonGames Number of won games in the block.
+     * @return <code>false</code> if no game of the block can be wanted.
+     */
+    boolean mayMatch(int minWord, int maxWord, int games, int wonGames) {
+        if (wordIndex >= 0 && (wordIndex < minWord || wordIndex > maxWord)) {
+            return false;
+        }
+        return outcome == 0 || (outcome == WON ? wonGames > 0 : wonGames < games);
+    }
+
+    @Override
+    public String toString() {
+        return "games" + (wordIndex >= 0 ? " on word " + wordIndex : "")
+                + (outcome == WON ? " won" : outcome == LOST ? " lost" : "");
+    }
+}
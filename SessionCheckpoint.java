@@ -0,0 +1,180 @@
+/**
+ * @file SessionCheckpoint.java
+ * @brief This file contains the SessionCheckpoint class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+/**
+ * @class SessionCheckpoint
+ * @brief The sessions of a memory-mapped snapshot that have not been resumed yet.
+ * @details Records are sorted by session id, so a session is found by binary search in the mapping when
+ *          it is first used, and nothing is read for sessions that are never used again. Every record is
+ *          taken once, by resuming or discarding its session; the registry takes a record and puts the
+ *          resumed session into its map while holding the record's lock, so a snapshot holding the same
+ *          lock sees the session either here or in the map.
+ *          The snapshot does not keep activity times, so the sessions count as last active when the
+ *          checkpoint was opened and are expired by then, like idle live sessions.
+ *          Record: session id (8), word index (4), guessed letters (4), seed (8), as by GameSession.saveState.
+ */
+final class SessionCheckpoint {
+
+    static final int RECORD_SIZE = 24; // bytes per session
+    private static final int LOCKS = 64; // stripes of record locks, a power of two
+
+    private final ByteBuffer records; // mapped snapshot
+    private final int base; // position of the first record
+    private final int count; // number of records
+    private final BitSet taken; // records resumed or discarded, guarded by the record's lock
+    private final long opened = System.nanoTime(); // time the checkpoint was opened, the sessions' last activity
+    private final Object[] locks = new Object[LOCKS]; // lock of every record stripe
+    private int remaining; // records not taken yet, guarded by taken
+
+    /**
+	 * @method SessionCheckpoint
+     * @brief Constructor of SessionCheckpoint class.
+     * @param records Buffer holding the records, sorted by session id.
+     * @param base Position of the first record.
+     * @param count Number of records.
+     */
+    SessionCheckpoint(ByteBuffer records, int base, int count) {
+        this.records = records;
+        this.base = base;
+        this.count = count;
+        this.taken = new BitSet(count);
+        this.remaining = count;
+        for (int i = 0; i < LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+	 * @method size
+     * @brief Number of records, taken or not.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+	 * @method remaining
+     * @brief Number of sessions not resumed or discarded yet.
+     */
+    int remaining() {
+        synchronized (taken) {
+            return remaining;
+        }
+    }
+
+    /**
+	 * @method getOpened
+     * @brief Time the checkpoint was opened, taken as the last activity of its sessions.
+     * @return Value of System.nanoTime() at that moment.
+     */
+    long getOpened() {
+        return opened;
+    }
+
+    /**
+	 * @method find
+     * @brief Looks up the record of a session.
+     * @param id Session id.
+     * @return Record number, or -1 if the snapshot has no such session.
+     */
+    int find(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long found = getId(middle);
+            if (found < id) {
+                low = middle + 1;
+            } else if (found > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+	 * @method lock
+     * @brief Lock guarding whether a record is taken.
+     */
+    Object lock(int record) {
+        return locks[record & (LOCKS - 1)];
+    }
+
+    /**
+	 * @method isTaken
+     * @brief Checks if a record was resumed or discarded; hold its lock.
+     */
+    boolean isTaken(int record) {
+        synchronized (taken) {
+            return taken.get(record);
+        }
+    }
+
+    /**
+	 * @method take
+     * @brief Marks a record as resumed or discarded; hold its lock.
+     * @return <code>false</code> if it was taken before.
+     */
+    boolean take(int record) {
+        synchronized (taken) {
+            if (taken.get(record)) {
+                return false;
+            }
+            taken.set(record);
+            remaining--;
+            return true;
+        }
+    }
+
+    /**
+	 * @method getId
+     * @brief Session id of a record.
+     */
+    long getId(int record) {
+        return records.getLong(base + record * RECORD_SIZE);
+    }
+
+    /**
+	 * @method getWordIndex
+     * @brief Index of the secret word of a record.
+     */
+    int getWordIndex(int record) {
+        return records.getInt(base + record * RECORD_SIZE + 8);
+    }
+
+    /**
+	 * @method getGuessedLetters
+     * @brief Mask of guessed letters of a record.
+     */
+    int getGuessedLetters(int record) {
+        return records.getInt(base + record * RECORD_SIZE + 12);
+    }
+
+    /**
+	 * @method getSeed
+     * @brief Seed of the game of a record.
+     */
+    long getSeed(int record) {
+        return records.getLong(base + record * RECORD_SIZE + 16);
+    }
+
+    /**
+	 * @method copy
+     * @brief Copies a record as it is.
+     * @param record Record number.
+     * @param out Buffer with at least RECORD_SIZE bytes left.
+     */
+    void copy(int record, ByteBuffer out) {
+        out.put(records.slice(base + record * RECORD_SIZE, RECORD_SIZE));
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * @file SessionExpiry.java
+ * @brief This file contains the SessionExpiry class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * @class SessionExpiry
+ * @brief Removes sessions of a GameSessionRegistry that have been idle for longer than a time to live.
+ * @details Sessions are kept in a hashed timer wheel: a ring of buckets, one per tick, each holding the
+ *          sessions due in that tick (deadlines beyond one turn of the ring count remaining turns).
+ *          Playing only stores the time of the last activity in the session; the wheel is not touched.
+ *          When a bucket comes due, each session in it is either expired or, if it was active meanwhile,
+ *          moved to the bucket of its new deadline. So scheduling is O(1), activity costs one volatile
+ *          write, and each tick visits only the sessions due in it.
+ *          The wheel is owned by one background thread; new sessions are handed to it through a queue.
+ *          Sessions still saved in a checkpoint after a restart are not in the wheel: once they have been
+ *          idle since the restart for the time to live, the thread resumes and expires them, a batch per tick.
+ */
+public class SessionExpiry implements Closeable {
+
+    private static final int WHEEL_SIZE = 512; // buckets in the ring, a power of two
+    private static final int CHECKPOINT_BATCH = 4096; // saved sessions looked at per tick
+
+    private final GameSessionRegistry registry; // registry sessions are removed from
+    private final long ttlNanos; // how long a session may be idle
+    private final long tickNanos; // time covered by one bucket
+    private final Consumer<GameSession> onExpire; // called before an idle session is removed
+    private final Node[] wheel = new Node[WHEEL_SIZE]; // first node of every bucket, used by the ticker only
+    private final Queue<Node> added = new ConcurrentLinkedQueue<>(); // sessions to put into the wheel
+    private final long start; // time of tick 0
+    private long tick = 0; // number of the next tick to process, used by the ticker only
+    private volatile SessionCheckpoint checkpoint; // saved sessions to expire, null if none
+    private SessionCheckpoint walking; // checkpoint being expired, used by the ticker only
+    private int nextRecord = 0; // next record of it to look at, used by the ticker only
+    private final Thread ticker; // thread turning the wheel
+
+    /**
+     * @class Node
+     * @brief Entry of a session in the wheel.
+     */
+    private static final class Node {
+        final GameSession session; // scheduled session
+        long deadline; // time the session expires unless active meanwhile
+        long rounds; // whole turns of the wheel left before the deadline
+        Node next; // next node in the same bucket
+
+        Node(GameSession session) {
+            this.session = session;
+        }
+    }
+
+    /**
+	 * @method SessionExpiry
+     * @brief Constructor of SessionExpiry class. Starts the background thread.
+     * @details Use GameSessionRegistry.expireIdle, which also schedules the sessions.
+     * @param registry Registry sessions are removed from.
+     * @param ttlMillis How long a session may be idle, in milliseconds.
+     * @param tickMillis Precision of expiry, in milliseconds.
+     * @param onExpire Called with an idle session before it is removed, e.g. to archive it; may be <code>null</code>.
+     */
+    SessionExpiry(GameSessionRegistry registry, long ttlMillis, long tickMillis, Consumer<GameSession> onExpire) {
+        if (ttlMillis <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("time to live and tick must be positive");
+        }
+        this.registry = registry;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.onExpire = onExpire;
+        this.start = System.nanoTime();
+        ticker = new Thread(this::run, "hangman-session-expiry");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /**
+	 * @method schedule
+     * @brief Starts watching a session. Thread-safe and O(1).
+     * @param session Session to watch.
+     */
+    void schedule(GameSession session) {
+        added.add(new Node(session));
+    }
+
+    /**
+	 * @method schedule
+     * @brief Starts watching the sessions still saved in a checkpoint. Thread-safe and O(1).
+     * @param saved Checkpoint of the registry.
+     */
+    void schedule(SessionCheckpoint saved) {
+        checkpoint = saved;
+    }
+
+    /**
+	 * @method run
+     * @brief Processes every bucket when its tick is over.
+     */
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long wait = start + (tick + 1) * tickNanos - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+
+            Node node;
+            while ((node = added.poll()) != null) {
+                place(node, node.session.getLastActive() + ttlNanos);
+            }
+            expireBucket((int) (tick & (WHEEL_SIZE - 1)));
+            expireSaved();
+            tick++;
+        }
+    }
+
+    /**
+	 * @method place
+     * @brief Puts a node into the bucket of a deadline.
+     */
+    private void place(Node node, long deadline) {
+        long due = Math.max(tick, (deadline - start + tickNanos - 1) / tickNanos); // tick after which it expires
+        node.deadline = deadline;
+        node.rounds = (due - tick) / WHEEL_SIZE;
+        int bucket = (int) (due & (WHEEL_SIZE - 1));
+        node.next = wheel[bucket];
+        wheel[bucket] = node;
+    }
+
+    /**
+	 * @method expireBucket
+     * @brief Expires or moves on the sessions of a bucket that are due.
+     */
+    private void expireBucket(int bucket) {
+        Node node = wheel[bucket];
+        wheel[bucket] = null;
+        long now = System.nanoTime();
+        while (node != null) {
+            Node next = node.next;
+            GameSession session = node.session;
+            if (registry.getSession(session.getId()) != session) {
+                // removed meanwhile, forget it
+            } else if (node.rounds > 0) {
+                node.rounds--;
+                node.next = wheel[bucket];
+                wheel[bucket] = node;
+            } else {
+                long deadline = session.getLastActive() + ttlNanos;
+                if (deadline - now > 0 || !expire(session, now)) {
+                    place(node, Math.max(deadline, now + 1)); // active meanwhile, wait for the new deadline
+                }
+            }
+            node = next;
+        }
+    }
+
+    /**
+	 * @method expireSaved
+     * @brief Expires the next batch of sessions of the checkpoint, once they are idle for the time to live.
+     */
+    private void expireSaved() {
+        SessionCheckpoint saved = checkpoint;
+        long now = System.nanoTime();
+        if (saved == null || saved.getOpened() + ttlNanos - now > 0) {
+            return;
+        }
+        if (saved != walking) {
+            walking = saved;
+            nextRecord = 0;
+        }
+        int end = Math.min(saved.size(), nextRecord + CHECKPOINT_BATCH);
+        for (; nextRecord < end; nextRecord++) {
+            if (!saved.isTaken(nextRecord)) {
+                // resumed as idle since the restart; a session resumed and played meanwhile is kept
+                GameSession session = registry.getSession(saved.getId(nextRecord));
+                if (session != null) {
+                    expire(session, now);
+                }
+            }
+        }
+        if (nextRecord == saved.size() && checkpoint == saved) {
+            checkpoint = null;
+        }
+    }
+
+    /**
+	 * @method expire
+     * @brief Removes a session if it is still idle, with the session locked so no guess gets in between.
+     * @return <code>true</code> if the session was removed.
+     */
+    private boolean expire(GameSession session, long now) {
+        synchronized (session) {
+            if (session.getLastActive() + ttlNanos - now > 0) {
+                return false;
+            }
+            if (onExpire != null) {
+                try {
+                    onExpire.accept(session);
+                } catch (RuntimeException e) {
+                    System.err.println("Hangman session expiry callback failed: " + e);
+                }
+            }
+            registry.removeSession(session.getId());
+            return true;
+        }
+    }
+
+    /**
+	 * @method close
+     * @brief Stops expiring sessions.
+     */
+    @Override
+    public void close() {
+        ticker.interrupt();
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * @file TextWordSource.java
+ * @brief This file contains the TextWordSource class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * @class TextWordSource
+ * @brief Word source loaded from a plain-text list, one word per line.
+ * @details The file is streamed line by line and the words are kept as UTF-8 bytes in one
+ *          array plus an offset table, so no String is kept per word.
+ */
+public class TextWordSource implements WordSource {
+
+    private final byte[] data; // all words, one after another
+    private final int[] offsets; // word i is data[offsets[i]..offsets[i+1])
+
+    /**
+	 * @method TextWordSource
+     * @brief Constructor of TextWordSource class.
+     * @param data Bytes of all words.
+     * @param offsets Offset table, one entry more than there are words.
+     */
+    private TextWordSource(byte[] data, int[] offsets) {
+        this.data = data;
+        this.offsets = offsets;
+    }
+
+    /**
+	 * @method load
+     * @brief Reads a plain-text word list. Blank lines are skipped, words are trimmed.
+     * @param path Path to the text file (UTF-8).
+     * @return Word source with the words of the file.
+     * @throws IOException If the file can not be read or has no words.
+     */
+    public static TextWordSource load(Path path) throws IOException {
+        byte[] data = new byte[1 << 16];
+        int[] offsets = new int[1 << 12];
+        int count = 0;
+        int size = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim();
+                if (word.isEmpty()) {
+                    continue;
+                }
+                byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+
+                // grow arrays if needed
+                if (size + bytes.length > data.length) {
+                    data = Arrays.copyOf(data, Math.max(data.length * 2, size + bytes.length));
+                }
+                if (count + 2 > offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+
+                System.arraycopy(bytes, 0, data, size, bytes.length);
+                size += bytes.length;
+                offsets[++count] = size;
+            }
+        }
+
+        if (count == 0) {
+            throw new IOException("no words in " + path);
+        }
+        return new TextWordSource(Arrays.copyOf(data, size), Arrays.copyOf(offsets, count + 1));
+    }
+
+    @Override
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public String getWord(int index) {
+        int start = offsets[index];
+        return new String(data, start, offsets[index + 1] - start, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * @file VectorLetterMatcher.java
+ * @brief This file contains the VectorLetterMatcher class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * @class VectorLetterMatcher
+ * @brief LetterMatcher comparing as many letter codes at once as the CPU's widest vectors hold.
+ * @details Needs the jdk.incubator.vector module; LetterMatcher loads it by name only when the module is
+ *          present, so nothing else refers to this class.
+ */
+final class VectorLetterMatcher implements LetterMatcher {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED; // 32 or 64 codes at once
+
+    @Override
+    public int reveal(byte[] codes, byte[] secret, byte[] masked, int from, int to, int letter) {
+        int found = 0;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            VectorMask<Byte> hits = ByteVector.fromArray(SPECIES, codes, i).eq((byte) letter);
+            if (hits.anyTrue()) {
+                ByteVector.fromArray(SPECIES, masked, i).blend(ByteVector.fromArray(SPECIES, secret, i), hits)
+                        .intoArray(masked, i);
+                found += hits.trueCount();
+            }
+        }
+        return found + LetterMatcher.revealScalar(codes, secret, masked, i, to, letter);
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * @file WordConstraint.java
+ * @brief This file contains the WordConstraint class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+/**
+ * @class WordConstraint
+ * @brief Immutable description of which secret words are acceptable for a game.
+ * @details All ranges are inclusive. Difficulty is the score computed by WordStore from the letter frequencies of
+ *          the alphabet, from 0 (easy) to 100 (hard); it can only be limited for alphabets that have them.
+ */
+public final class WordConstraint {
+
+    public static final WordConstraint ANY = new WordConstraint(1, WordStore.MAX_LENGTH, 0, Alphabet.MAX_LETTERS, 0, 100); // any word
+    public static final WordConstraint EASY = new WordConstraint(4, 8, 3, 6, 0, 50); // short words of common letters
+    public static final WordConstraint MEDIUM = new WordConstraint(6, 10, 5, 8, 40, 60); // average words
+    public static final WordConstraint HARD = new WordConstraint(8, 14, 7, Alphabet.MAX_LETTERS, 55, 100); // long words of rare letters
+
+    private final int minLength; // shortest word length
+    private final int maxLength; // longest word length
+    private final int minDistinct; // fewest distinct letters
+    private final int maxDistinct; // most distinct letters
+    private final int minDifficulty; // lowest difficulty score
+    private final int maxDifficulty; // highest difficulty score
+
+    /**
+	 * @method WordConstraint
+     * @brief Constructor of WordConstraint class.
+     * @param minLength Shortest word length.
+     * @param maxLength Longest word length.
+     * @param minDistinct Fewest distinct letters.
+     * @param maxDistinct Most distinct letters.
+     * @param minDifficulty Lowest difficulty score.
+     * @param maxDifficulty Highest difficulty score.
+     */
+    public WordConstraint(int minLength, int maxLength, int minDistinct, int maxDistinct,
+                          int minDifficulty, int maxDifficulty) {
+        if (minLength > maxLength || minDistinct > maxDistinct || minDifficulty > maxDifficulty) {
+            throw new IllegalArgumentException("empty range in word constraint");
+        }
+        this.minLength = Math.max(minLength, 1);
+        this.maxLength = Math.min(maxLength, WordStore.MAX_LENGTH);
+        this.minDistinct = Math.max(minDistinct, 0);
+        this.maxDistinct = Math.min(maxDistinct, Alphabet.MAX_LETTERS);
+        this.minDifficulty = minDifficulty;
+        this.maxDifficulty = maxDifficulty;
+    }
+
+    /**
+	 * @method ofLength
+     * @brief Constraint on word length only.
+     * @param minLength Shortest word length.
+     * @param maxLength Longest word length.
+     * @return Constraint accepting any word with length in the range.
+     */
+    public static WordConstraint ofLength(int minLength, int maxLength) {
+        return new WordConstraint(minLength, maxLength, 0, Alphabet.MAX_LETTERS, 0, 100);
+    }
+
+    /**
+	 * @method getMinLength
+     * @brief Getter method for the shortest accepted word length.
+     * @return Shortest word length.
+     */
+    public int getMinLength() {
+        return minLength;
+    }
+
+    /**
+	 * @method getMaxLength
+     * @brief Getter method for the longest accepted word length.
+     * @return Longest word length, at most WordStore.MAX_LENGTH.
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+	 * @method getMinDistinct
+     * @brief Getter method for the fewest accepted distinct letters.
+     * @return Fewest distinct letters.
+     */
+    public int getMinDistinct() {
+        return minDistinct;
+    }
+
+    /**
+	 * @method getMaxDistinct
+     * @brief Getter method for the most accepted distinct letters.
+     * @return Most distinct letters, at most Alphabet.MAX_LETTERS.
+     */
+    public int getMaxDistinct() {
+        return maxDistinct;
+    }
+
+    /**
+	 * @method getMinDifficulty
+     * @brief Getter method for the lowest accepted difficulty score.
+     * @return Lowest difficulty score.
+     */
+    public int getMinDifficulty() {
+        return minDifficulty;
+    }
+
+    /**
+	 * @method getMaxDifficulty
+     * @brief Getter method for the highest accepted difficulty score.
+     * @return Highest difficulty score.
+     */
+    public int getMaxDifficulty() {
+        return maxDifficulty;
+    }
+
+    @Override
+    public String toString() {
+        return "length " + minLength + ".." + maxLength + ", distinct letters " + minDistinct + ".." + maxDistinct
+                + ", difficulty " + minDifficulty + ".." + maxDifficulty;
+    }
+}
@@ -0,0 +1,384 @@
+/**
+ * @file WordPackCompiler.java
+ * @brief This file contains the WordPackCompiler class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * @class WordPackCompiler
+ * @brief Compiles raw word lists into an indexed word pack read by WordPackSource.
+ * @details Every line is trimmed and folded to the letters of an Alphabet (small letters without accents,
+ *          English by default); lines that are then not 1 to WordStore.MAX_LENGTH letters (what the game
+ *          can be played with) are counted and left out.
+ *          Valid words are sorted in runs of a bounded size, every run is spilled to a temporary file and
+ *          the runs are merged dropping duplicates, so any number of lines fits into the same memory.
+ *          The merged words go to an indexed WordPackWriter, which adds their metadata and perfect hash.
+ *          With phrases, lines are sentences of up to MAX_PHRASE_LENGTH characters instead: runs of white
+ *          space become one space, letters are folded and any other character but letters of other
+ *          alphabets is kept, to be shown from the start of a game.
+ *          Usage: <code>WordPackCompiler [-run words] [-alphabet name] [-phrases] out.pack words.txt...</code>
+ */
+public class WordPackCompiler {
+
+    static final int DEFAULT_RUN_WORDS = 1 << 20; // words sorted in memory at a time
+    static final int MAX_PHRASE_LENGTH = 4096; // longest phrase kept
+    private static final int REPORTED_INVALID = 10; // invalid lines printed to stderr
+
+    private final int runWords; // words sorted in memory at a time
+    private final Alphabet alphabet; // letters of the words
+    private final boolean phrases; // lines are phrases, not words
+    private long lines = 0; // lines read
+    private long invalid = 0; // lines that were not valid words
+    private long duplicates = 0; // valid words dropped as duplicates
+    private int words = 0; // words written to the pack
+
+    /**
+	 * @method WordPackCompiler
+     * @brief Constructor of WordPackCompiler class for English words with the default run size.
+     */
+    public WordPackCompiler() {
+        this(DEFAULT_RUN_WORDS, Alphabet.ENGLISH);
+    }
+
+    /**
+	 * @method WordPackCompiler
+     * @brief Constructor of WordPackCompiler class.
+     * @param runWords Words sorted in memory at a time, bounding the memory used.
+     * @param alphabet Letters of the words, stored in the pack.
+     */
+    public WordPackCompiler(int runWords, Alphabet alphabet) {
+        this(runWords, alphabet, false);
+    }
+
+    /**
+	 * @method WordPackCompiler
+     * @brief Constructor of WordPackCompiler class.
+     * @param runWords Words sorted in memory at a time, bounding the memory used.
+     * @param alphabet Letters of the words, stored in the pack.
+     * @param phrases If lines are phrases, with spaces and punctuation, rather than words.
+     */
+    public WordPackCompiler(int runWords, Alphabet alphabet, boolean phrases) {
+        if (runWords < 1) {
+            throw new IllegalArgumentException("run size must be positive");
+        }
+        this.runWords = runWords;
+        this.alphabet = alphabet;
+        this.phrases = phrases;
+    }
+
+    /**
+	 * @method compile
+     * @brief Compiles word lists into one pack.
+     * @param packFile Path of the pack to write.
+     * @param inputs Text files, one word per line.
+     * @throws IOException If a file can not be read or written, or no valid word was found.
+     */
+    public void compile(Path packFile, List<Path> inputs) throws IOException {
+        Path dir = packFile.toAbsolutePath().getParent();
+        List<Path> runs = new ArrayList<>();
+        String[] run = new String[Math.min(runWords, 1 << 16)];
+        int size = 0;
+        try {
+            for (Path input : inputs) {
+                try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                    String line;
+                    int lineNumber = 0;
+                    while ((line = reader.readLine()) != null) {
+                        lines++;
+                        lineNumber++;
+                        String word = normalize(line);
+                        if (word == null) {
+                            if (!line.isBlank() && invalid++ < REPORTED_INVALID) {
+                                System.err.println(input + ":" + lineNumber + ": not a valid "
+                                        + (phrases ? "phrase: " : "word: ") + line);
+                            }
+                            continue;
+                        }
+                        if (size == run.length) {
+                            if (size == runWords) {
+                                runs.add(spill(dir, run, size));
+                                size = 0;
+                            } else {
+                                run = Arrays.copyOf(run, Math.min(runWords, size * 2));
+                            }
+                        }
+                        run[size++] = word;
+                    }
+                }
+            }
+
+            try (WordPackWriter writer = new WordPackWriter(packFile, alphabet)) {
+                if (runs.isEmpty()) {
+                    size = sortDistinct(run, size);
+                    for (int i = 0; i < size; i++) {
+                        writer.add(run[i]);
+                    }
+                    words = size;
+                } else {
+                    if (size > 0) {
+                        runs.add(spill(dir, run, size));
+                    }
+                    run = null; // the merge needs only a line per run
+                    merge(runs, writer);
+                }
+            }
+        } finally {
+            for (Path file : runs) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+	 * @method normalize
+     * @brief Turns a line into a word the game can be played with.
+     * @param line Raw line.
+     * @return Word of small letters of the alphabet, or <code>null</code> if the line is not one.
+     */
+    String normalize(String line) {
+        if (phrases) {
+            return normalizePhrase(line);
+        }
+        String word = line.trim();
+        if (word.isEmpty() || word.length() > WordStore.MAX_LENGTH * 2) {
+            return null; // even with every other character an accent it would be too long
+        }
+        word = alphabet.normalize(word);
+        return word == null || word.isEmpty() || word.length() > WordStore.MAX_LENGTH ? null : word;
+    }
+
+    /**
+	 * @method normalizePhrase
+     * @brief Turns a line into a phrase the game can be played with.
+     * @param line Raw line.
+     * @return Phrase with single spaces and small letters of the alphabet, or <code>null</code> if the line
+     *         is too long, has no letter or has letters of another alphabet.
+     */
+    String normalizePhrase(String line) {
+        String phrase = Normalizer.normalize(line.strip(), Normalizer.Form.NFC); // accents joined to letters
+        if (phrase.isEmpty() || phrase.length() > MAX_PHRASE_LENGTH * 2) {
+            return null;
+        }
+        char[] folded = new char[phrase.length()];
+        int length = 0;
+        boolean letters = false;
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = phrase.charAt(i);
+            int index = alphabet.indexOf(c);
+            if (index >= 0) {
+                folded[length++] = alphabet.letterAt(index);
+                letters = true;
+            } else if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                if (length > 0 && folded[length - 1] != ' ') {
+                    folded[length++] = ' ';
+                }
+            } else if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue; // nothing to compose with, the accent is dropped
+            } else if (Character.isLetter(c) || Character.isSurrogate(c) || Character.isISOControl(c)) {
+                return null; // unguessable, or would break the byte order of the pack
+            } else {
+                folded[length++] = c; // punctuation and digits are shown as they are
+            }
+        }
+        if (length > 0 && folded[length - 1] == ' ') {
+            length--; // trailing space that strip does not know
+        }
+        return letters && length <= MAX_PHRASE_LENGTH ? new String(folded, 0, length) : null;
+    }
+
+    /**
+	 * @method sortDistinct
+     * @brief Sorts words and moves each distinct one to the front once.
+     * @return Number of distinct words.
+     */
+    private int sortDistinct(String[] run, int size) {
+        Arrays.sort(run, 0, size); // letters are not surrogates, so this is the UTF-8 byte order of the pack
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct > 0 && run[i].equals(run[distinct - 1])) {
+                duplicates++;
+            } else {
+                run[distinct++] = run[i];
+            }
+        }
+        return distinct;
+    }
+
+    /**
+	 * @method spill
+     * @brief Writes a sorted run of distinct words to a temporary file.
+     * @return The temporary file.
+     */
+    private Path spill(Path dir, String[] run, int size) throws IOException {
+        size = sortDistinct(run, size);
+        Path file = Files.createTempFile(dir, "run", ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < size; i++) {
+                writer.write(run[i]);
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+
+    /**
+	 * @class Run
+     * @brief A spilled run being merged, at its smallest word not merged yet.
+     */
+    private static final class Run implements Comparable<Run> {
+        final BufferedReader reader; // rest of the run
+        String word; // smallest word not merged yet
+
+        Run(Path file) throws IOException {
+            reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+            word = reader.readLine();
+        }
+
+        boolean advance() {
+            try {
+                word = reader.readLine();
+                return word != null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public int compareTo(Run other) {
+            return word.compareTo(other.word);
+        }
+    }
+
+    /**
+	 * @method merge
+     * @brief Merges sorted runs into the pack, keeping one of equal words.
+     */
+    private void merge(List<Path> files, WordPackWriter writer) throws IOException {
+        PriorityQueue<Run> queue = new PriorityQueue<>(files.size());
+        List<Run> open = new ArrayList<>(files.size());
+        try {
+            for (Path file : files) {
+                Run run = new Run(file);
+                open.add(run);
+                if (run.word != null) {
+                    queue.add(run);
+                }
+            }
+            String last = null;
+            while (!queue.isEmpty()) {
+                Run run = queue.poll();
+                if (run.word.equals(last)) {
+                    duplicates++;
+                } else {
+                    writer.add(run.word);
+                    last = run.word;
+                    words++;
+                }
+                if (run.advance()) {
+                    queue.add(run);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (Run run : open) {
+                run.reader.close();
+            }
+        }
+    }
+
+    /**
+	 * @method isPhrases
+     * @brief Checks if lines are compiled as phrases.
+     */
+    public boolean isPhrases() {
+        return phrases;
+    }
+
+    /**
+	 * @method getLines
+     * @brief Getter method for the number of lines read.
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+	 * @method getInvalid
+     * @brief Getter method for the number of non-blank lines that were not valid words.
+     */
+    public long getInvalid() {
+        return invalid;
+    }
+
+    /**
+	 * @method getDuplicates
+     * @brief Getter method for the number of valid words dropped as duplicates.
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+	 * @method getWords
+     * @brief Getter method for the number of words in the pack.
+     */
+    public int getWords() {
+        return words;
+    }
+
+    /**
+	 * @method main
+     * @brief Compiles word lists: <code>WordPackCompiler [-run words] [-alphabet name] [-phrases] out.pack words.txt...</code>.
+     */
+    public static void main(String[] args) throws IOException {
+        int first = 0;
+        int runWords = DEFAULT_RUN_WORDS;
+        Alphabet alphabet = Alphabet.ENGLISH;
+        boolean phrases = false;
+        while (args.length - first > 1 && args[first].startsWith("-")) {
+            if (args[first].equals("-run")) {
+                runWords = Integer.parseInt(args[first + 1]);
+            } else if (args[first].equals("-alphabet")) {
+                alphabet = Alphabet.forName(args[first + 1]);
+            } else if (args[first].equals("-phrases")) {
+                phrases = true;
+                first--; // no value
+            } else {
+                break;
+            }
+            first += 2;
+        }
+        if (args.length - first < 2) {
+            System.err.println("usage: WordPackCompiler [-run words] [-alphabet english|russian|greek|letters]"
+                    + " [-phrases] <out.pack> <words.txt>...");
+            System.exit(1);
+        }
+        List<Path> inputs = new ArrayList<>();
+        for (int i = first + 1; i < args.length; i++) {
+            inputs.add(Paths.get(args[i]));
+        }
+        WordPackCompiler compiler = new WordPackCompiler(runWords, alphabet, phrases);
+        long start = System.nanoTime();
+        compiler.compile(Paths.get(args[first]), inputs);
+        System.out.printf("%d lines, %d invalid, %d duplicates, %d words in %.1f s%n", compiler.getLines(),
+                compiler.getInvalid(), compiler.getDuplicates(), compiler.getWords(),
+                (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,298 @@
+/**
+ * @file WordPackSource.java
+ * @brief This file contains the WordPackSource class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @class WordPackSource
+ * @brief Word source reading a binary word pack through a memory-mapped file.
+ * @details Pack layout (big-endian): a header of four ints (magic, version, number of words,
+ *          position of the offset table), then the UTF-8 bytes of all words one after another,
+ *          then the offset table of count+1 ints. Word i is stored between offsets i and i+1.
+ *          Indexed packs (version 2, written by WordPackCompiler) have a header of eight ints that also
+ *          holds the positions of a metadata table, a PerfectHash section, an id table and the alphabet.
+ *          Their words are sorted and distinct; the metadata table has 8 bytes per word (letter mask over
+ *          the alphabet, length, difficulty) and the id table maps the perfect hash index of a word to its
+ *          id, so indexOf takes constant time. The alphabet is stored as an int length and UTF-8 letters;
+ *          its position is 0 for English.
+ *          Opening a pack does not depend on its size and no String is built until a word is asked for.
+ *          Packs are written by WordPackWriter and are limited to 2 GB.
+ */
+public class WordPackSource implements WordSource {
+
+    static final int MAGIC = 0x48574B50; // "HWKP"
+    static final int VERSION = 1; // format version of plain packs
+    static final int INDEXED_VERSION = 2; // format version of indexed packs
+    static final int HEADER_SIZE = 16; // magic, version, count, offset table position
+    static final int INDEXED_HEADER_SIZE = 32; // also metadata, hash, id table and alphabet positions
+    static final int METADATA_SIZE = 8; // letter mask, length (short), difficulty, unused byte
+
+    private final ByteBuffer buffer; // mapped pack file
+    private final int count; // number of words
+    private final int offsetTable; // position of the offset table
+    private final int metadataTable; // position of the metadata table, 0 for plain packs
+    private final int hashSection; // position of the perfect hash, 0 for plain packs
+    private final int idTable; // position of the id table, 0 for plain packs
+    private final Alphabet alphabet; // alphabet of the words
+
+    /**
+	 * @method WordPackSource
+     * @brief Constructor of WordPackSource class.
+     * @param buffer Mapped pack file.
+     * @param count Number of words.
+     * @param offsetTable Position of the offset table.
+     * @param metadataTable Position of the metadata table, 0 if there is none.
+     * @param hashSection Position of the perfect hash, 0 if there is none.
+     * @param idTable Position of the id table, 0 if there is none.
+     * @param alphabet Alphabet of the words.
+     */
+    private WordPackSource(ByteBuffer buffer, int count, int offsetTable, int metadataTable, int hashSection,
+                           int idTable, Alphabet alphabet) {
+        this.buffer = buffer;
+        this.count = count;
+        this.offsetTable = offsetTable;
+        this.metadataTable = metadataTable;
+        this.hashSection = hashSection;
+        this.idTable = idTable;
+        this.alphabet = alphabet;
+    }
+
+    /**
+	 * @method open
+     * @brief Maps a word pack file into memory.
+     * @param path Path to the pack.
+     * @return Word source reading the pack.
+     * @throws IOException If the file can not be read or is not a valid pack.
+     */
+    public static WordPackSource open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("not a word pack: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+
+            int version = buffer.getInt(4);
+            int count = buffer.getInt(8);
+            int offsetTable = buffer.getInt(12);
+            int headerSize = version == INDEXED_VERSION ? INDEXED_HEADER_SIZE : HEADER_SIZE;
+            if (buffer.getInt(0) != MAGIC || (version != VERSION && version != INDEXED_VERSION) || count <= 0
+                    || fileSize < headerSize || offsetTable < headerSize
+                    || offsetTable + (count + 1L) * 4 > fileSize) {
+                throw new IOException("not a word pack: " + path);
+            }
+            if (version == VERSION) {
+                return new WordPackSource(buffer, count, offsetTable, 0, 0, 0, Alphabet.ENGLISH);
+            }
+
+            int metadataTable = buffer.getInt(16);
+            int hashSection = buffer.getInt(20);
+            int idTable = buffer.getInt(24);
+            int alphabetSection = buffer.getInt(28);
+            if (metadataTable < offsetTable + (count + 1L) * 4 || hashSection < metadataTable + (long) count * METADATA_SIZE
+                    || (hashSection & 7) != 0 || idTable < hashSection || idTable + (long) count * 4 > fileSize
+                    || (alphabetSection != 0 && (alphabetSection < idTable + (long) count * 4
+                            || alphabetSection > fileSize - 4 || buffer.getInt(alphabetSection) < 0
+                            || alphabetSection + 4L + buffer.getInt(alphabetSection) > fileSize))) {
+                throw new IOException("damaged word pack: " + path);
+            }
+            Alphabet alphabet = Alphabet.ENGLISH;
+            if (alphabetSection != 0) {
+                byte[] letters = new byte[buffer.getInt(alphabetSection)];
+                buffer.get(alphabetSection + 4, letters);
+                try {
+                    alphabet = Alphabet.of(new String(letters, StandardCharsets.UTF_8));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("damaged word pack: " + path, e);
+                }
+            }
+            return new WordPackSource(buffer, count, offsetTable, metadataTable, hashSection, idTable, alphabet);
+        }
+    }
+
+    /**
+	 * @method isWordPack
+     * @brief Checks if a file starts like a word pack.
+     * @param path Path to the file.
+     * @return <code>true</code> if the file has the pack magic number, <code>false</code> otherwise.
+     * @throws IOException If the file can not be read.
+     */
+    public static boolean isWordPack(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // read until 4 bytes are there or the file ends
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public String getWord(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("word index " + index + " out of " + count);
+        }
+        int start = buffer.getInt(offsetTable + index * 4);
+        int end = buffer.getInt(offsetTable + index * 4 + 4);
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+	 * @method isIndexed
+     * @brief Checks if the pack has metadata and a perfect hash, i.e. was written by WordPackCompiler.
+     * @return <code>true</code> for indexed packs, <code>false</code> for plain ones.
+     */
+    public boolean isIndexed() {
+        return hashSection != 0;
+    }
+
+    /**
+	 * @method indexOf
+     * @brief Looks up the id of a word without building any String or map.
+     * @details Indexed packs hash the word once and compare it with the single candidate word;
+     *          plain packs are searched from the start.
+     * @param word Word to look up.
+     * @return Id of the word, or -1 if it is not in the pack.
+     */
+    public int indexOf(String word) {
+        if (!isIndexed()) {
+            for (int id = 0; id < count; id++) {
+                if (matches(id, word)) {
+                    return id;
+                }
+            }
+            return -1;
+        }
+        int index = PerfectHash.index(buffer, hashSection, PerfectHash.hash(word));
+        if (index < 0 || index >= count) {
+            return -1;
+        }
+        int id = buffer.getInt(idTable + index * 4);
+        return matches(id, word) ? id : -1;
+    }
+
+    /**
+	 * @method contains
+     * @brief Checks if a word is in the pack.
+     * @param word Word to look up.
+     * @return <code>true</code> if the pack has the word.
+     */
+    public boolean contains(String word) {
+        return indexOf(word) >= 0;
+    }
+
+    /**
+	 * @method matches
+     * @brief Compares a stored word with a string, without decoding it if the string is ASCII.
+     */
+    private boolean matches(int id, String word) {
+        int start = buffer.getInt(offsetTable + id * 4);
+        int end = buffer.getInt(offsetTable + id * 4 + 4);
+        if (end - start != word.length()) {
+            return end - start > word.length() && getWord(id).equals(word); // longer only if not ASCII
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= 0x80) {
+                return getWord(id).equals(word);
+            }
+            if (buffer.get(start + i) != (byte) c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+	 * @method getBuffer
+     * @brief The mapped pack, for reading words in place; not to be changed.
+     */
+    ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+	 * @method getOffset
+     * @brief Position of the first byte of a word in the pack, or of the end of the last word for the count.
+     * @param id Word id, or the number of words.
+     * @return Position in the buffer.
+     */
+    int getOffset(int id) {
+        return buffer.getInt(offsetTable + id * 4);
+    }
+
+    /**
+	 * @method getLetterMask
+     * @brief Mask of letters of a word, bit i is getAlphabet().letterAt(i), read from the metadata of indexed packs.
+     * @param id Word id.
+     * @return Mask of letters.
+     */
+    public int getLetterMask(int id) {
+        if (!isIndexed()) {
+            return alphabet.letterMask(getWord(id));
+        }
+        checkIndex(id);
+        return buffer.getInt(metadataTable + id * METADATA_SIZE);
+    }
+
+    /**
+	 * @method getLength
+     * @brief Length of a word in characters, read from the metadata of indexed packs.
+     * @param id Word id.
+     * @return Length of the word.
+     */
+    public int getLength(int id) {
+        if (!isIndexed()) {
+            return getWord(id).length();
+        }
+        checkIndex(id);
+        return buffer.getShort(metadataTable + id * METADATA_SIZE + 4);
+    }
+
+    /**
+	 * @method getDifficulty
+     * @brief Difficulty score of a word, read from the metadata of indexed packs.
+     * @param id Word id.
+     * @return Score from 0 to 100.
+     */
+    public int getDifficulty(int id) {
+        if (!isIndexed()) {
+            return WordStore.difficultyOf(getLetterMask(id), alphabet);
+        }
+        checkIndex(id);
+        return buffer.get(metadataTable + id * METADATA_SIZE + 6);
+    }
+
+    /**
+	 * @method checkIndex
+     * @brief Rejects word ids out of range.
+     */
+    private void checkIndex(int id) {
+        if (id < 0 || id >= count) {
+            throw new IndexOutOfBoundsException("word index " + id + " out of " + count);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/**
+ * @file WordPackWriter.java
+ * @brief This file contains the WordPackWriter class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * @class WordPackWriter
+ * @brief Writes binary word packs read by WordPackSource.
+ * @details Words are streamed to the pack as they are added, and the offset table is spooled to a
+ *          temporary file, so memory use does not depend on the number of words.
+ *          An indexed writer takes distinct words in ascending byte order, spools their metadata too
+ *          and adds a PerfectHash of the words on close; its memory use grows by a few bits per word.
+ *          Letter masks of the metadata are over the pack's alphabet, which is stored unless it is English.
+ */
+public class WordPackWriter implements Closeable {
+
+    private final Path packFile; // pack being written
+    private final Path offsetsFile; // temporary file with the offset table
+    private final FileChannel channel; // channel of the pack file
+    private final DataOutputStream offsets; // stream of the offset table
+    private final Path metadataFile; // temporary file with the metadata table, null if not indexed
+    private final DataOutputStream metadata; // stream of the metadata table, null if not indexed
+    private final Alphabet alphabet; // alphabet of the words of an indexed pack
+    private byte[] previous = null; // bytes of the last word of an indexed pack
+    private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16); // buffer of word bytes
+    private long position; // file position of the next word
+    private long flushed = 0; // file position where the buffer starts
+    private int count = 0; // number of words added so far
+
+    /**
+	 * @method WordPackWriter
+     * @brief Constructor of WordPackWriter class. Creates or truncates a plain pack file.
+     * @param packFile Path of the pack to write.
+     * @throws IOException If the files can not be created.
+     */
+    public WordPackWriter(Path packFile) throws IOException {
+        this(packFile, false);
+    }
+
+    /**
+	 * @method WordPackWriter
+     * @brief Constructor of WordPackWriter class. Creates or truncates the pack file.
+     * @param packFile Path of the pack to write.
+     * @param indexed If the pack gets metadata and a perfect hash; words must then be added sorted.
+     * @throws IOException If the files can not be created.
+     */
+    public WordPackWriter(Path packFile, boolean indexed) throws IOException {
+        this(packFile, indexed, Alphabet.ENGLISH);
+    }
+
+    /**
+	 * @method WordPackWriter
+     * @brief Constructor of WordPackWriter class. Creates or truncates an indexed pack file.
+     * @param packFile Path of the pack to write.
+     * @param alphabet Alphabet of the words, stored in the pack; words must be added sorted.
+     * @throws IOException If the files can not be created.
+     */
+    public WordPackWriter(Path packFile, Alphabet alphabet) throws IOException {
+        this(packFile, true, alphabet);
+    }
+
+    /**
+	 * @method WordPackWriter
+     * @brief Constructor of WordPackWriter class. Creates or truncates the pack file.
+     */
+    private WordPackWriter(Path packFile, boolean indexed, Alphabet alphabet) throws IOException {
+        this.packFile = packFile;
+        this.alphabet = alphabet;
+        Path dir = packFile.toAbsolutePath().getParent();
+        this.offsetsFile = Files.createTempFile(dir, "offsets", ".tmp");
+        this.metadataFile = indexed ? Files.createTempFile(dir, "metadata", ".tmp") : null;
+        this.channel = FileChannel.open(packFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.offsets = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(offsetsFile)));
+        this.metadata = indexed ? new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(metadataFile))) : null;
+        this.position = indexed ? WordPackSource.INDEXED_HEADER_SIZE : WordPackSource.HEADER_SIZE;
+        this.offsets.writeInt((int) position);
+        this.buffer.position((int) position); // room for the header, written on close
+    }
+
+    /**
+	 * @method add
+     * @brief Appends a word to the pack.
+     * @param word Word to append.
+     * @throws IOException If the pack can not be written or grows over 2 GB.
+     * @throws IllegalArgumentException If an indexed pack gets a word not greater than the one before.
+     */
+    public void add(String word) throws IOException {
+        byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+        long tables = metadata == null ? (count + 2L) * 4 : (count + 1L) * 17 + 8; // offsets, metadata, hash, ids
+        if (position + bytes.length + tables > Integer.MAX_VALUE) {
+            throw new IOException("word pack is larger than 2 GB: " + packFile);
+        }
+        if (metadata != null) {
+            if (previous != null && Arrays.compareUnsigned(previous, bytes) >= 0) {
+                throw new IllegalArgumentException("words of an indexed pack must be distinct and sorted: " + word);
+            }
+            previous = bytes;
+            int mask = alphabet.letterMask(word);
+            metadata.writeInt(mask);
+            metadata.writeShort(Math.min(word.length(), Short.MAX_VALUE));
+            metadata.writeByte(WordStore.difficultyOf(mask, alphabet));
+            metadata.writeByte(0);
+        }
+
+        int written = 0;
+        while (written < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+            int chunk = Math.min(buffer.remaining(), bytes.length - written);
+            buffer.put(bytes, written, chunk);
+            written += chunk;
+        }
+
+        position += bytes.length;
+        offsets.writeInt((int) position);
+        count++;
+    }
+
+    /**
+	 * @method close
+     * @brief Appends the tables, writes the header and closes the pack.
+     * @throws IOException If the pack can not be written or no words were added.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            offsets.close();
+            if (metadata != null) {
+                metadata.close();
+            }
+            if (count == 0) {
+                throw new IOException("no words written to " + packFile);
+            }
+            flushBuffer();
+
+            // offset table follows the words
+            long offsetTable = position;
+            long end = append(offsetsFile, offsetTable);
+            ByteBuffer header;
+            if (metadata == null) {
+                header = ByteBuffer.allocate(WordPackSource.HEADER_SIZE);
+                header.putInt(WordPackSource.MAGIC).putInt(WordPackSource.VERSION).putInt(count).putInt((int) offsetTable);
+            } else {
+                long metadataTable = end;
+                long hashSection = (append(metadataFile, metadataTable) + 7) & ~7L;
+                long idTable = writeIndex((int) offsetTable, hashSection);
+                long alphabetSection = 0;
+                if (alphabet != Alphabet.ENGLISH) {
+                    byte[] letters = alphabet.getLetters().getBytes(StandardCharsets.UTF_8);
+                    alphabetSection = idTable + count * 4L;
+                    if (alphabetSection + 4 + letters.length > Integer.MAX_VALUE) {
+                        throw new IOException("word pack is larger than 2 GB: " + packFile);
+                    }
+                    ByteBuffer section = ByteBuffer.allocate(4 + letters.length).putInt(letters.length).put(letters);
+                    section.flip();
+                    while (section.hasRemaining()) {
+                        channel.write(section, alphabetSection + section.position());
+                    }
+                }
+                header = ByteBuffer.allocate(WordPackSource.INDEXED_HEADER_SIZE);
+                header.putInt(WordPackSource.MAGIC).putInt(WordPackSource.INDEXED_VERSION).putInt(count)
+                        .putInt((int) offsetTable).putInt((int) metadataTable).putInt((int) hashSection)
+                        .putInt((int) idTable).putInt((int) alphabetSection);
+            }
+            header.flip();
+            channel.write(header, 0);
+        } finally {
+            channel.close();
+            Files.deleteIfExists(offsetsFile);
+            if (metadataFile != null) {
+                Files.deleteIfExists(metadataFile);
+            }
+        }
+    }
+
+    /**
+	 * @method append
+     * @brief Copies a spooled table into the pack.
+     * @param table Temporary file with the table.
+     * @param at File position of the table in the pack.
+     * @return File position after the table.
+     * @throws IOException If a file can not be read or written.
+     */
+    private long append(Path table, long at) throws IOException {
+        try (FileChannel in = FileChannel.open(table, StandardOpenOption.READ)) {
+            long done = 0;
+            while (done < in.size()) {
+                done += in.transferTo(done, in.size() - done, channel.position(at + done));
+            }
+            return at + done;
+        }
+    }
+
+    /**
+	 * @method writeIndex
+     * @brief Builds the perfect hash of the words written so far and appends it and the id table.
+     * @param offsetTable File position of the offset table.
+     * @param hashSection File position of the hash, aligned to 8 bytes.
+     * @return File position of the id table.
+     * @throws IOException If the pack can not be read, written or gets over 2 GB.
+     */
+    private long writeIndex(int offsetTable, long hashSection) throws IOException {
+        ByteBuffer pack = channel.map(FileChannel.MapMode.READ_ONLY, 0, offsetTable + (count + 1L) * 4);
+        PerfectHash.Keys keys = new PerfectHash.Keys() {
+            @Override
+            public int size() {
+                return count;
+            }
+
+            @Override
+            public long hash(int key) {
+                return PerfectHash.hash(pack, pack.getInt(offsetTable + key * 4), pack.getInt(offsetTable + key * 4 + 4));
+            }
+        };
+        ByteBuffer section;
+        try {
+            section = PerfectHash.build(keys);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("words of " + packFile + " have colliding hashes", e);
+        }
+        long idTable = hashSection + section.remaining();
+        if (idTable + count * 4L > Integer.MAX_VALUE) {
+            throw new IOException("word pack is larger than 2 GB: " + packFile);
+        }
+        while (section.hasRemaining()) {
+            channel.write(section, hashSection + section.position());
+        }
+
+        // id of the word at every hash index, written through a mapping so it need not fit into memory
+        ByteBuffer ids = channel.map(FileChannel.MapMode.READ_WRITE, idTable, count * 4L);
+        for (int id = 0; id < count; id++) {
+            ids.putInt(PerfectHash.index(section, 0, keys.hash(id)) * 4, id);
+        }
+        return idTable;
+    }
+
+    /**
+	 * @method flushBuffer
+     * @brief Writes buffered bytes to the pack file.
+     * @throws IOException If the pack can not be written.
+     */
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            flushed += channel.write(buffer, flushed);
+        }
+        buffer.clear();
+    }
+
+    /**
+	 * @method convert
+     * @brief Converts a plain-text word list to a word pack, streaming it line by line.
+     * @param textFile Text file, one word per line. Blank lines are skipped, words are trimmed.
+     * @param packFile Path of the pack to write.
+     * @throws IOException If a file can not be read or written.
+     */
+    public static void convert(Path textFile, Path packFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(textFile, StandardCharsets.UTF_8);
+             WordPackWriter writer = new WordPackWriter(packFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim();
+                if (!word.isEmpty()) {
+                    writer.add(word);
+                }
+            }
+        }
+    }
+
+    /**
+	 * @method main
+     * @brief Converts a text word list to a word pack: <code>WordPackWriter words.txt words.pack</code>.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: WordPackWriter <words.txt> <words.pack>");
+            System.exit(1);
+        }
+        convert(Paths.get(args[0]), Paths.get(args[1]));
+    }
+}
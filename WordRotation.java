@@ -0,0 +1,141 @@
+/**
+ * @file WordRotation.java
+ * @brief This file contains the WordRotation class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+/**
+ * @class WordRotation
+ * @brief A player's walk through the dictionary in a random order without repeats.
+ * @details The order is a permutation of word indexes given by a keyed Feistel cipher over the smallest
+ *          power-of-four range holding the dictionary; indexes falling outside the dictionary are
+ *          encrypted again until they fall inside (cycle walking), which takes under four rounds on average.
+ *          The whole state is the key and the position, so it is as cheap for millions of players
+ *          as for one, and it can be saved and restored with getKey and getPosition.
+ *          Once every word was given, the next pass uses a new key derived from the old one.
+ *          Not thread-safe; GameSession uses it under the session lock.
+ */
+public final class WordRotation {
+
+    private static final int ROUNDS = 4; // Feistel rounds, enough for an order that looks random
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L; // odd constant spreading round keys
+
+    private final int size; // number of words in the dictionary
+    private final int halfBits; // bits of each half of the cipher's block
+    private long key; // key of the current pass
+    private int position; // words already given in the current pass
+
+    /**
+	 * @method WordRotation
+     * @brief Constructor of WordRotation class, starting a new rotation.
+     * @param size Number of words in the dictionary.
+     * @param key Key choosing the order, e.g. a random number stored with the player.
+     */
+    public WordRotation(int size, long key) {
+        this(size, key, 0);
+    }
+
+    /**
+	 * @method WordRotation
+     * @brief Constructor of WordRotation class, continuing a saved rotation.
+     * @param size Number of words in the dictionary; the order changes if it changes.
+     * @param key Key returned by getKey.
+     * @param position Position returned by getPosition.
+     * @throws IllegalArgumentException If the dictionary is empty or the position is not in it.
+     */
+    public WordRotation(int size, long key, int position) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("the dictionary is empty");
+        }
+        if (position < 0 || position > size) {
+            throw new IllegalArgumentException("position " + position + " is not in a dictionary of " + size);
+        }
+        int bits = 32 - Integer.numberOfLeadingZeros(size - 1);
+        this.size = size;
+        this.halfBits = Math.max(1, (bits + 1) / 2);
+        this.key = key;
+        this.position = position;
+    }
+
+    /**
+	 * @method next
+     * @brief Gives the index of the next word of the rotation.
+     * @return Index of a word not given since the current pass started.
+     */
+    public int next() {
+        if (position == size) {
+            key = mix(key + GOLDEN_GAMMA); // every word was given, start a pass in another order
+            position = 0;
+        }
+        return permute(position++);
+    }
+
+    /**
+	 * @method permute
+     * @brief Maps a position of the current pass to a word index.
+     * @param position Position, 0..size-1.
+     * @return Word index, different for every position.
+     */
+    int permute(int position) {
+        int index = encrypt(position);
+        while (index >= size) {
+            index = encrypt(index);
+        }
+        return index;
+    }
+
+    /**
+	 * @method encrypt
+     * @brief Balanced Feistel network over numbers of 2*halfBits bits.
+     */
+    private int encrypt(int value) {
+        int mask = (1 << halfBits) - 1;
+        int left = value >>> halfBits;
+        int right = value & mask;
+        for (int round = 0; round < ROUNDS; round++) {
+            int next = left ^ ((int) mix(right + key + (round + 1) * GOLDEN_GAMMA) & mask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    /**
+	 * @method mix
+     * @brief Finalizer of SplittableRandom (variant 13 of Stafford's mix).
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+	 * @method getSize
+     * @brief Getter method for the number of words rotated through.
+     * @return Size of the dictionary.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+	 * @method getKey
+     * @brief Getter method for the key of the current pass, to save the rotation.
+     * @return Key.
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+	 * @method getPosition
+     * @brief Getter method for how many words of the current pass were given, to save the rotation.
+     * @return Position.
+     */
+    public int getPosition() {
+        return position;
+    }
+}
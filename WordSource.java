@@ -0,0 +1,57 @@
+/**
+ * @file WordSource.java
+ * @brief This file contains the WordSource interface.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * @interface WordSource
+ * @brief A dictionary of secret words with random access by index.
+ * @details Implementations must be safe to read from several threads, so one source
+ *          can be shared by all games.
+ */
+public interface WordSource {
+
+    /**
+	 * @method size
+     * @brief Number of words in the dictionary.
+     * @return Number of words.
+     */
+    int size();
+
+    /**
+	 * @method getWord
+     * @brief Gets a word by its index (word id).
+     * @param index Index of a word, from 0 to size()-1.
+     * @return The word.
+     */
+    String getWord(int index);
+
+    /**
+	 * @method getAlphabet
+     * @brief Alphabet the words are played with.
+     * @return The alphabet, English unless the source says otherwise.
+     */
+    default Alphabet getAlphabet() {
+        return Alphabet.ENGLISH;
+    }
+
+    /**
+	 * @method open
+     * @brief Opens a dictionary file, either a binary word pack or a plain-text list.
+     * @param path Path to the file.
+     * @return Word source reading that file.
+     * @throws IOException If the file can not be read.
+     */
+    static WordSource open(Path path) throws IOException {
+        if (WordPackSource.isWordPack(path)) {
+            return WordPackSource.open(path);
+        }
+        return TextWordSource.load(path);
+    }
+}
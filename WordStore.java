@@ -0,0 +1,386 @@
+/**
+ * @file WordStore.java
+ * @brief This file contains the WordStore class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * @class WordStore
+ * @brief Compact word dictionary with indexes for picking words by length, distinct letters and difficulty.
+ * @details All words are packed into one off-heap byte buffer. Per word it keeps the length, the mask of
+ *          its letters and a difficulty score. Words are grouped into buckets by (length, distinct letters),
+ *          each bucket sorted by difficulty and with the position where every difficulty score starts in it,
+ *          so a random word for a constraint is found without scanning the dictionary or searching a bucket:
+ *          the work is two array reads in every bucket in the range, so O(buckets).
+ *          Indexed packs (written by WordPackCompiler) already hold the words and their metadata, so they
+ *          are read in place from the mapping: opening the store does not depend on the number of words,
+ *          and the buckets are built from the metadata table when first needed.
+ *          Words longer than MAX_LENGTH are kept but never picked by a constraint.
+ */
+public class WordStore implements WordSource {
+
+    static final int MAX_LENGTH = 64; // longest word that is indexed
+    private static final int MAX_DIFFICULTY = 100; // highest difficulty score
+
+    private final ByteBuffer data; // bytes of all words, one after another; the mapped pack if read in place
+    private final WordPackSource pack; // indexed pack the words are read from in place, null if copied
+    private final int count; // number of words
+    private final Alphabet alphabet; // alphabet of the words
+
+    // per word, null if read in place
+    private final int[] offsets; // word i is data[offsets[i]..offsets[i+1])
+    private final short[] lengths; // length of every word in characters, at most Short.MAX_VALUE
+    private final int[] letterMasks; // mask of letters of every word, bit i is letter i of the alphabet
+    private final byte[] difficulties; // difficulty score of every word, 0..100
+
+    private volatile int[][] buckets; // ids per (length, distinct letters), sorted by difficulty; null until needed
+    private int[][] difficultyStarts; // per bucket, index of its first word of every score 0..101; null if empty
+    private final ConcurrentHashMap<Integer, CandidateIndex> candidateIndexes = new ConcurrentHashMap<>(); // built when first needed
+
+    /**
+	 * @method WordStore
+     * @brief Constructor of WordStore class. Reads an indexed pack in place, copies and indexes any other source.
+     * @param source Words to store.
+     */
+    public WordStore(WordSource source) {
+        count = source.size();
+        alphabet = source.getAlphabet();
+        if (source instanceof WordPackSource && ((WordPackSource) source).isIndexed()) {
+            pack = (WordPackSource) source;
+            data = pack.getBuffer();
+            offsets = null;
+            lengths = null;
+            letterMasks = null;
+            difficulties = null;
+            return; // buckets are built from the pack's metadata when first needed
+        }
+        pack = null;
+        offsets = new int[count + 1];
+        lengths = new short[count];
+        letterMasks = new int[count];
+        difficulties = new byte[count];
+
+        // pack words and compute their metadata
+        ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(count * 8, 16));
+        for (int id = 0; id < count; id++) {
+            String word = source.getWord(id);
+            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < bytes.length) {
+                ByteBuffer bigger = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + bytes.length));
+                buffer.flip();
+                bigger.put(buffer);
+                buffer = bigger;
+            }
+            buffer.put(bytes);
+            offsets[id + 1] = buffer.position();
+            lengths[id] = (short) Math.min(word.length(), Short.MAX_VALUE);
+
+            int mask = alphabet.letterMask(word);
+            difficulties[id] = (byte) difficultyOf(mask, alphabet);
+            letterMasks[id] = mask;
+        }
+        data = buffer;
+        buckets = buildBuckets();
+    }
+
+    /**
+	 * @method buckets
+     * @brief Buckets of word ids, built on first use for a pack read in place.
+     */
+    private int[][] buckets() {
+        int[][] built = buckets;
+        if (built == null) {
+            synchronized (this) {
+                built = buckets;
+                if (built == null) {
+                    built = buildBuckets();
+                    buckets = built;
+                }
+            }
+        }
+        return built;
+    }
+
+    /**
+	 * @method buildBuckets
+     * @brief Groups all indexed words by (length, distinct letters) and sorts every group by difficulty.
+     * @details Also sets difficultyStarts, which the write of the returned buckets publishes.
+     */
+    private int[][] buildBuckets() {
+        int[] bucketSizes = new int[(MAX_LENGTH + 1) * (Alphabet.MAX_LETTERS + 1)];
+        for (int id = 0; id < count; id++) {
+            int length = getLength(id);
+            if (length <= MAX_LENGTH) {
+                bucketSizes[bucketOf(length, Integer.bitCount(getLetterMask(id)))]++;
+            }
+        }
+        int[][] built = new int[bucketSizes.length][];
+        for (int b = 0; b < built.length; b++) {
+            built[b] = new int[bucketSizes[b]];
+            bucketSizes[b] = 0;
+        }
+        for (int id = 0; id < count; id++) {
+            int length = getLength(id);
+            if (length <= MAX_LENGTH) {
+                int b = bucketOf(length, Integer.bitCount(getLetterMask(id)));
+                built[b][bucketSizes[b]++] = id;
+            }
+        }
+        int[][] starts = new int[built.length][];
+        for (int b = 0; b < built.length; b++) {
+            if (built[b].length > 0) {
+                starts[b] = sortByDifficulty(built[b]);
+            }
+        }
+        difficultyStarts = starts;
+        return built;
+    }
+
+    /**
+	 * @method difficultyOf
+     * @brief Difficulty score of a word: the rarer its letters are on average, the harder it is to guess.
+     * @param mask Mask of letters of the word.
+     * @param alphabet Alphabet of the word, with the frequencies of its letters.
+     * @return Score from 0 (only the most common letter) to 100 (only the rarest letters); 0 for alphabets
+     *         whose letter frequencies are not known.
+     */
+    static int difficultyOf(int mask, Alphabet alphabet) {
+        int distinct = Integer.bitCount(mask);
+        if (distinct == 0 || !alphabet.hasFrequencies()) {
+            return 0;
+        }
+        int sum = 0;
+        int top = 0; // frequency of the most common letter
+        for (int letter = 0; letter < alphabet.size(); letter++) {
+            int frequency = alphabet.getFrequency(letter);
+            top = Math.max(top, frequency);
+            if ((mask & (1 << letter)) != 0) {
+                sum += frequency;
+            }
+        }
+        return 100 - sum * 100 / (distinct * top);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    @Override
+    public String getWord(int index) {
+        if (pack != null) {
+            return pack.getWord(index);
+        }
+        int start = offsets[index];
+        byte[] bytes = new byte[offsets[index + 1] - start];
+        data.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+	 * @method getLength
+     * @brief Length of a word in characters.
+     * @param id Word id.
+     * @return Length of the word.
+     */
+    public int getLength(int id) {
+        return pack != null ? pack.getLength(id) : lengths[id];
+    }
+
+    /**
+	 * @method letterAt
+     * @brief Character at a position of a word.
+     * @details Read straight from the store if the word is ASCII, otherwise the word is decoded first.
+     * @param id Word id.
+     * @param position Position in the word, in characters.
+     * @return The character.
+     */
+    public char letterAt(int id, int position) {
+        if (isAscii(id)) {
+            return (char) (data.get(offset(id) + position) & 0xFF);
+        }
+        return getWord(id).charAt(position);
+    }
+
+    /**
+	 * @method isAscii
+     * @brief Checks if a word is stored one byte per character.
+     * @param id Word id.
+     * @return <code>true</code> if all characters of the word are ASCII.
+     */
+    boolean isAscii(int id) {
+        return offset(id + 1) - offset(id) == getLength(id); // any other character takes more than one byte
+    }
+
+    /**
+	 * @method offset
+     * @brief Position of the first byte of a word in the data, or the end of the data for the word count.
+     */
+    private int offset(int id) {
+        return pack != null ? pack.getOffset(id) : offsets[id];
+    }
+
+    /**
+	 * @method wordsOfLength
+     * @brief Ids of all indexed words of a length.
+     * @param length Word length.
+     * @return New array of word ids, empty if the length is not indexed.
+     */
+    public int[] wordsOfLength(int length) {
+        if (length < 1 || length > MAX_LENGTH) {
+            return new int[0];
+        }
+        int[][] all = buckets();
+        int size = 0;
+        for (int distinct = 0; distinct <= Alphabet.MAX_LETTERS; distinct++) {
+            size += all[bucketOf(length, distinct)].length;
+        }
+        int[] ids = new int[size];
+        int filled = 0;
+        for (int distinct = 0; distinct <= Alphabet.MAX_LETTERS; distinct++) {
+            int[] bucket = all[bucketOf(length, distinct)];
+            System.arraycopy(bucket, 0, ids, filled, bucket.length);
+            filled += bucket.length;
+        }
+        return ids;
+    }
+
+    /**
+	 * @method candidateIndex
+     * @brief Bitset index of all words of a length, built on first use and then shared.
+     * @param length Word length.
+     * @return The index.
+     */
+    CandidateIndex candidateIndex(int length) {
+        return candidateIndexes.computeIfAbsent(length, l -> new CandidateIndex(this, l));
+    }
+
+    /**
+	 * @method getLetterMask
+     * @brief Mask of letters of a word, bit i is letter i of the alphabet of the words.
+     * @param id Word id.
+     * @return Mask of letters.
+     */
+    public int getLetterMask(int id) {
+        return pack != null ? pack.getLetterMask(id) : letterMasks[id];
+    }
+
+    /**
+	 * @method getDifficulty
+     * @brief Difficulty score of a word.
+     * @param id Word id.
+     * @return Score from 0 to 100.
+     */
+    public int getDifficulty(int id) {
+        return pack != null ? pack.getDifficulty(id) : difficulties[id];
+    }
+
+    /**
+	 * @method countWords
+     * @brief Counts words matching a constraint.
+     * @param constraint Constraint to match.
+     * @return Number of matching words.
+     * @throws IllegalArgumentException If the constraint limits difficulty and the words are not rated.
+     */
+    public int countWords(WordConstraint constraint) {
+        return pick(constraint, -1);
+    }
+
+    /**
+	 * @method pickWord
+     * @brief Picks a random word matching a constraint, every matching word equally likely.
+     * @param constraint Constraint to match.
+     * @param random Source of randomness.
+     * @return Id of the picked word, or -1 if no word matches.
+     * @throws IllegalArgumentException If the constraint limits difficulty and the words are not rated.
+     */
+    public int pickWord(WordConstraint constraint, RandomGenerator random) {
+        int total = countWords(constraint);
+        if (total == 0) {
+            return -1;
+        }
+        return pick(constraint, random.nextInt(total));
+    }
+
+    /**
+	 * @method pick
+     * @brief Walks the buckets of a constraint, counting matching words or finding one of them.
+     * @details Each non-empty bucket costs two reads of its difficulty starts, whatever its size.
+     * @param constraint Constraint to match.
+     * @param target Number of matching words to skip, or -1 to count all of them.
+     * @return Word id found at target, or the number of matching words if target is -1.
+     */
+    private int pick(WordConstraint constraint, int target) {
+        if (!alphabet.hasFrequencies() && (constraint.getMinDifficulty() > 0 || constraint.getMaxDifficulty() < 100)) {
+            throw new IllegalArgumentException("words of the alphabet " + alphabet.getName() + " have no difficulty");
+        }
+        int[][] all = buckets();
+        int[][] starts = difficultyStarts; // set before buckets was
+        int minDifficulty = Math.max(constraint.getMinDifficulty(), 0);
+        int maxDifficulty = Math.min(constraint.getMaxDifficulty(), MAX_DIFFICULTY);
+        if (minDifficulty > maxDifficulty) {
+            return target < 0 ? 0 : -1;
+        }
+        int seen = 0;
+        for (int length = constraint.getMinLength(); length <= constraint.getMaxLength(); length++) {
+            int maxDistinct = Math.min(constraint.getMaxDistinct(), length);
+            for (int distinct = constraint.getMinDistinct(); distinct <= maxDistinct; distinct++) {
+                int b = bucketOf(length, distinct);
+                int[] bucket = all[b];
+                if (bucket.length == 0) {
+                    continue;
+                }
+                int from = starts[b][minDifficulty];
+                int to = starts[b][maxDifficulty + 1];
+                if (target >= 0 && target < seen + to - from) {
+                    return bucket[from + target - seen];
+                }
+                seen += to - from;
+            }
+        }
+        return target < 0 ? seen : -1;
+    }
+
+    /**
+	 * @method sortByDifficulty
+     * @brief Sorts word ids by difficulty (counting sort, scores are 0..100), keeping id order for ties.
+     * @param bucket Word ids to sort.
+     * @return Index of the first word of every score 0..101 in the sorted bucket; 101 is the end.
+     */
+    private int[] sortByDifficulty(int[] bucket) {
+        int[] start = new int[MAX_DIFFICULTY + 2];
+        for (int id : bucket) {
+            start[getDifficulty(id) + 1]++;
+        }
+        for (int d = 0; d <= MAX_DIFFICULTY; d++) {
+            start[d + 1] += start[d];
+        }
+        int[] starts = start.clone(); // the placing below moves start on
+        int[] sorted = new int[bucket.length];
+        for (int id : bucket) {
+            sorted[start[getDifficulty(id)]++] = id;
+        }
+        System.arraycopy(sorted, 0, bucket, 0, bucket.length);
+        return starts;
+    }
+
+    /**
+	 * @method bucketOf
+     * @brief Index of the bucket for a word length and number of distinct letters.
+     */
+    private static int bucketOf(int length, int distinct) {
+        return length * (Alphabet.MAX_LETTERS + 1) + distinct;
+    }
+}
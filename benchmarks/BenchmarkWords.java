@@ -0,0 +1,87 @@
+/**
+ * @file BenchmarkWords.java
+ * @brief This file contains the BenchmarkWords class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.SplittableRandom;
+
+/**
+ * @class BenchmarkWords
+ * @brief Dictionaries of random words and phrases the benchmarks play on.
+ * @details The words depend only on the count and length asked for, so every run plays the same games.
+ */
+final class BenchmarkWords {
+
+    private BenchmarkWords() {
+    }
+
+    /**
+	 * @method randomWords
+     * @brief Builds a dictionary of random words.
+     * @param count Number of words.
+     * @param length Length of every word.
+     * @return Dictionary of the words.
+     */
+    static WordStore randomWords(int count, int length) {
+        SplittableRandom random = new SplittableRandom(count * 31L + length);
+        return new WordStore(new WordSource() {
+            @Override
+            public int size() {
+                return count;
+            }
+
+            @Override
+            public String getWord(int index) {
+                char[] word = new char[length];
+                for (int i = 0; i < length; i++) {
+                    word[i] = (char) ('a' + random.nextInt(26));
+                }
+                return new String(word);
+            }
+        });
+    }
+
+    /**
+	 * @method randomPhrases
+     * @brief Dictionary of random English phrases: sentences of random words with commas and full stops.
+     * @param count Number of phrases.
+     * @param length Length of every phrase.
+     * @return Dictionary generating the phrases on demand.
+     */
+    static WordStore randomPhrases(int count, int length) {
+        return new WordStore(new WordSource() {
+            @Override
+            public int size() {
+                return count;
+            }
+
+            @Override
+            public String getWord(int index) {
+                SplittableRandom random = new SplittableRandom(index * 31L + length);
+                char[] phrase = new char[length];
+                boolean capital = true;
+                int word = 0;
+                for (int i = 0; i < length; i++) {
+                    if (word > 0 && random.nextInt(6) == 0 && i + 2 < length) {
+                        int mark = random.nextInt(8);
+                        if (mark < 2) {
+                            phrase[i++] = mark == 0 ? '.' : ',';
+                            capital = mark == 0;
+                        }
+                        phrase[i] = ' ';
+                        word = 0;
+                    } else {
+                        char c = (char) ('a' + random.nextInt(26));
+                        phrase[i] = capital ? Character.toUpperCase(c) : c;
+                        capital = false;
+                        word++;
+                    }
+                }
+                return new String(phrase);
+            }
+        });
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ * @file GuessPipelineBenchmark.java
+ * @brief This file contains the GuessPipelineBenchmark class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @class GuessPipelineBenchmark
+ * @brief Guesses of clients playing many sessions each: every session behind its lock against a GuessPipeline.
+ * @details Every benchmark thread is a client with CLIENT_SESSIONS sessions of its own, guessing in them one
+ *          after another. lockPerSession plays them through a GameSessionRegistry, sharded submits the guesses
+ *          to one pipeline shared by all clients and keeps up to WINDOW of them in flight, as a server thread
+ *          would for its connections. Besides the time per guess, the latency of every guess (for sharded,
+ *          from submitting it to its result) is recorded and its percentiles printed after every iteration.
+ *          Run with several threads, e.g. <code>-t 4</code>, for the shards to be contended.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuessPipelineBenchmark {
+
+    static final int CLIENT_SESSIONS = 256; // sessions of every client
+    static final int WINDOW = 256; // most requests a sharded client has in flight
+    static final int MAX_CLIENTS = 4096; // clients whose results are counted apart
+
+    /**
+     * @class Latency
+     * @brief Latencies of the guesses of all clients, printed as percentiles after every iteration.
+     */
+    @State(Scope.Benchmark)
+    public static class Latency {
+        final LatencyHistogram histogram = new LatencyHistogram(); // latency of every guess
+        final WordStore words = BenchmarkWords.randomWords(64, 8); // dictionary of all sessions
+        private long[] before; // bucket counts when the iteration started
+
+        /**
+    	 * @method startIteration
+         * @brief Remembers the counts, so that only the latencies of the iteration are printed.
+         */
+        @Setup(Level.Iteration)
+        public void startIteration() {
+            before = histogram.counts();
+        }
+
+        /**
+    	 * @method endIteration
+         * @brief Prints the percentiles of the latencies of the iteration.
+         */
+        @TearDown(Level.Iteration)
+        public void endIteration() {
+            long[] counts = histogram.counts();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] -= before[i];
+            }
+            System.out.printf("latency p50 %d ns, p99 %d ns, p99.9 %d ns%n", LatencyHistogram.quantile(counts, 0.5),
+                    LatencyHistogram.quantile(counts, 0.99), LatencyHistogram.quantile(counts, 0.999));
+        }
+    }
+
+    /**
+     * @class LockedClient
+     * @brief Sessions of a client in a registry of its own.
+     */
+    @State(Scope.Thread)
+    public static class LockedClient {
+        private final GameSession[] sessions = new GameSession[CLIENT_SESSIONS]; // sessions of the client
+        private long count = 0; // guesses so far
+
+        /**
+    	 * @method setUp
+         * @brief Creates the sessions.
+         * @param latency Holds the dictionary.
+         */
+        @Setup
+        public void setUp(Latency latency) {
+            GameSessionRegistry registry = new GameSessionRegistry(latency.words);
+            for (int s = 0; s < CLIENT_SESSIONS; s++) {
+                sessions[s] = registry.createSession();
+            }
+        }
+    }
+
+    /**
+     * @class Pipeline
+     * @brief The pipeline shared by all sharded clients, with one shard per core.
+     */
+    @State(Scope.Benchmark)
+    public static class Pipeline implements GuessPipeline.Listener {
+        final AtomicLongArray completed = new AtomicLongArray(MAX_CLIENTS); // results received by every client
+        final AtomicInteger clients = new AtomicInteger(); // clients created so far
+        GuessPipeline pipeline; // plays the guesses
+        private LatencyHistogram latency; // latency of every guess
+
+        /**
+    	 * @method setUp
+         * @brief Starts the pipeline.
+         * @param latency Holds the dictionary and the histogram.
+         */
+        @Setup
+        public void setUp(Latency latency) {
+            this.latency = latency.histogram;
+            pipeline = new GuessPipeline(latency.words, Runtime.getRuntime().availableProcessors(), 4096, this);
+        }
+
+        /**
+    	 * @method tearDown
+         * @brief Stops the pipeline.
+         */
+        @TearDown
+        public void tearDown() {
+            pipeline.close();
+        }
+
+        @Override
+        public void published(GuessPipeline.Results results) {
+            long now = System.nanoTime();
+            long client = -1;
+            int received = 0;
+            for (int i = 0; i < results.size(); i++) {
+                long tag = results.getTag(i);
+                if (tag != Long.MIN_VALUE) {
+                    latency.record(now - tag);
+                }
+                long owner = results.getSessionId(i) / CLIENT_SESSIONS;
+                if (owner != client) {
+                    if (received > 0) {
+                        completed.addAndGet((int) client, received);
+                    }
+                    client = owner;
+                    received = 0;
+                }
+                received++;
+            }
+            if (received > 0) {
+                completed.addAndGet((int) client, received);
+            }
+        }
+    }
+
+    /**
+     * @class ShardedClient
+     * @brief Sessions of a client in the shared pipeline.
+     */
+    @State(Scope.Thread)
+    public static class ShardedClient {
+        private int number; // index of the client's counter of results
+        private long firstSession; // id of the client's first session
+        private long before; // results counted for the client before it started
+        private long count = 0; // guesses submitted so far
+        private long submitted = 0; // requests submitted so far
+
+        /**
+    	 * @method setUp
+         * @brief Takes the next client number.
+         * @param pipeline Shared pipeline.
+         */
+        @Setup
+        public void setUp(Pipeline pipeline) {
+            number = pipeline.clients.getAndIncrement() % MAX_CLIENTS;
+            firstSession = (long) number * CLIENT_SESSIONS;
+            before = pipeline.completed.get(number);
+        }
+    }
+
+    /**
+	 * @method lockPerSession
+     * @brief Guesses the next letter in the client's next session, starting a new game before 'a'.
+     * @param client Sessions of this thread.
+     * @param latency Records the time of the guess.
+     * @return Guesses left, so that the guess can not be optimized away.
+     */
+    @Benchmark
+    public int lockPerSession(LockedClient client, Latency latency) {
+        GameSession session = client.sessions[(int) (client.count % CLIENT_SESSIONS)];
+        int letter = (int) (client.count / CLIENT_SESSIONS % 26);
+        client.count++;
+        long start = System.nanoTime();
+        if (letter == 0) {
+            session.startNewGame();
+        }
+        session.processGuess((char) ('a' + letter));
+        int left = session.getGuessesLeft();
+        latency.histogram.record(System.nanoTime() - start);
+        return left;
+    }
+
+    /**
+	 * @method sharded
+     * @brief Submits the next guess of the client's next session, waiting while the window is full.
+     * @param client Sessions of this thread.
+     * @param pipeline Shared pipeline.
+     * @return Requests submitted so far.
+     */
+    @Benchmark
+    public long sharded(ShardedClient client, Pipeline pipeline) {
+        long session = client.firstSession + client.count % CLIENT_SESSIONS;
+        int letter = (int) (client.count / CLIENT_SESSIONS % 26);
+        client.count++;
+        while (client.submitted - (pipeline.completed.get(client.number) - client.before) >= WINDOW) {
+            Thread.yield(); // wait for results before sending more
+        }
+        if (letter == 0) {
+            pipeline.pipeline.startNewGame(session, Long.MIN_VALUE);
+            client.submitted++;
+        }
+        pipeline.pipeline.processGuess(session, (char) ('a' + letter), System.nanoTime());
+        return ++client.submitted;
+    }
+}
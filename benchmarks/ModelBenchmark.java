@@ -0,0 +1,98 @@
+/**
+ * @file ModelBenchmark.java
+ * @brief This file contains the ModelBenchmark class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @class ModelBenchmark
+ * @brief Hot paths of HangmanModel for words of 5 to 500 letters.
+ * @details Every thread plays its own model, so running with more than one thread shows how games
+ *          on different threads get in each other's way. processGuess guesses every letter in turn
+ *          and starts the same word again after the last one, so a restart is spread over 26 guesses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+
+    @Param({"5", "50", "500"})
+    public int length; // length of every word
+
+    private HangmanModel model; // game of this thread
+    private int letter = 0; // index of the letter processGuess guesses next
+
+    /**
+	 * @method setUp
+     * @brief Starts a game on a dictionary of random words and guesses 'e' in it.
+     */
+    @Setup
+    public void setUp() {
+        model = new HangmanModel(BenchmarkWords.randomWords(64, length));
+        model.processGuess('e');
+    }
+
+    /**
+	 * @method processGuess
+     * @brief Guesses the next letter of the alphabet.
+     * @return Guesses left, so that the guess can not be optimized away.
+     */
+    @Benchmark
+    public int processGuess() {
+        if (letter == 0) {
+            model.startGame(model.getWordIndex());
+        }
+        model.processGuess((char) ('a' + letter));
+        letter = (letter + 1) % 26;
+        return model.getGuessesLeft();
+    }
+
+    /**
+	 * @method getCurrentWord
+     * @brief Builds the view of the word with one letter guessed.
+     * @return The view.
+     */
+    @Benchmark
+    public String getCurrentWord() {
+        return model.getCurrentWord();
+    }
+
+    /**
+	 * @method isWordGuessed
+     * @brief Checks if the word with one letter guessed is guessed.
+     * @return <code>false</code>.
+     */
+    @Benchmark
+    public boolean isWordGuessed() {
+        return model.isWordGuessed();
+    }
+
+    /**
+	 * @method getCurrentGameStatus
+     * @brief Builds the status line of the game.
+     * @return The status line.
+     */
+    @Benchmark
+    public String getCurrentGameStatus() {
+        return model.getCurrentGameStatus();
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * @file PhraseBenchmark.java
+ * @brief This file contains the PhraseBenchmark class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @class PhraseBenchmark
+ * @brief Games on phrases of 2048 characters: revealed through the position index against scanned by a LetterMatcher.
+ * @details The start and guess benchmarks play through models that use the position index, the scalar matcher or
+ *          the vector matcher; a guess guesses every letter in turn and starts the phrase again after the last
+ *          one, without building the view. The reveal benchmarks call the matchers alone on one phrase.
+ *          The benchmark JVM gets the jdk.incubator.vector module; without it VECTOR is null and the vector
+ *          benchmarks measure the scalar matcher.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class PhraseBenchmark {
+
+    static final int LENGTH = 2048; // characters of every phrase
+
+    private HangmanModel indexed; // game revealing through the position index
+    private HangmanModel scalar; // game scanned by the scalar matcher
+    private HangmanModel vector; // game scanned by the vector matcher
+    private LetterMatcher vectorMatcher; // the vector matcher, or the scalar one without the module
+    private int next = 0; // phrase started next
+    private int letter = 0; // index of the letter guessed next
+    private final byte[] codes = new byte[LENGTH]; // letter of every position of the first phrase, -1 if none
+    private final byte[] secret = new byte[LENGTH]; // characters of the first phrase
+    private final byte[] masked = new byte[LENGTH]; // representation the reveal benchmarks reveal into
+
+    /**
+	 * @method setUp
+     * @brief Creates the models of this thread on random phrases and works out the codes of the first one.
+     */
+    @Setup
+    public void setUp() {
+        WordStore phrases = BenchmarkWords.randomPhrases(64, LENGTH);
+        vectorMatcher = LetterMatcher.VECTOR != null ? LetterMatcher.VECTOR : LetterMatcher.SCALAR;
+        indexed = model(phrases, null);
+        scalar = model(phrases, LetterMatcher.SCALAR);
+        vector = model(phrases, vectorMatcher);
+
+        String phrase = phrases.getWord(0);
+        for (int i = 0; i < LENGTH; i++) {
+            char c = phrase.charAt(i);
+            codes[i] = (byte) phrases.getAlphabet().indexOf(c);
+            secret[i] = (byte) c;
+            masked[i] = codes[i] < 0 ? (byte) c : (byte) '?';
+        }
+    }
+
+    /**
+	 * @method model
+     * @brief Model on the phrases revealing with a matcher.
+     */
+    private static HangmanModel model(WordStore phrases, LetterMatcher matcher) {
+        HangmanModel model = new HangmanModel(phrases);
+        model.setLetterMatcher(matcher);
+        model.startGame(0);
+        return model;
+    }
+
+    /**
+	 * @method startIndexed
+     * @brief Starts a game on the next phrase, building its position index.
+     * @return Guesses left, so that the start can not be optimized away.
+     */
+    @Benchmark
+    public int startIndexed() {
+        return start(indexed);
+    }
+
+    /**
+	 * @method startScanned
+     * @brief Starts a game on the next phrase without a position index.
+     * @return Guesses left.
+     */
+    @Benchmark
+    public int startScanned() {
+        return start(vector);
+    }
+
+    /**
+	 * @method guessIndexed
+     * @brief Guesses the next letter through the position index.
+     * @return Guesses left, so that the guess can not be optimized away.
+     */
+    @Benchmark
+    public int guessIndexed() {
+        return guess(indexed);
+    }
+
+    /**
+	 * @method guessScalar
+     * @brief Guesses the next letter, scanning one position at a time.
+     * @return Guesses left.
+     */
+    @Benchmark
+    public int guessScalar() {
+        return guess(scalar);
+    }
+
+    /**
+	 * @method guessVector
+     * @brief Guesses the next letter, scanning a vector of positions at a time.
+     * @return Guesses left.
+     */
+    @Benchmark
+    public int guessVector() {
+        return guess(vector);
+    }
+
+    /**
+	 * @method revealScalar
+     * @brief Reveals the next letter in the first phrase with the scalar matcher alone.
+     * @return Positions revealed.
+     */
+    @Benchmark
+    public int revealScalar() {
+        letter = (letter + 1) % 26;
+        return LetterMatcher.SCALAR.reveal(codes, secret, masked, 0, LENGTH, letter);
+    }
+
+    /**
+	 * @method revealVector
+     * @brief Reveals the next letter in the first phrase with the vector matcher alone.
+     * @return Positions revealed.
+     */
+    @Benchmark
+    public int revealVector() {
+        letter = (letter + 1) % 26;
+        return vectorMatcher.reveal(codes, secret, masked, 0, LENGTH, letter);
+    }
+
+    /**
+	 * @method start
+     * @brief Starts a game on the next phrase.
+     */
+    private int start(HangmanModel model) {
+        model.startGame(next);
+        next = (next + 1) & 63;
+        return model.getGuessesLeft();
+    }
+
+    /**
+	 * @method guess
+     * @brief Guesses the next letter of the alphabet, starting the phrase again before 'a'.
+     */
+    private int guess(HangmanModel model) {
+        if (letter == 0) {
+            model.startGame(model.getWordIndex());
+        }
+        model.processGuess((char) ('a' + letter));
+        letter = (letter + 1) % 26;
+        return model.getGuessesLeft();
+    }
+}
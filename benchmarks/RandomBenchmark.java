@@ -0,0 +1,106 @@
+/**
+ * @file RandomBenchmark.java
+ * @brief This file contains the RandomBenchmark class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @class RandomBenchmark
+ * @brief Ways of picking a random word: a new Random on every pick, as the model used to, against
+ *        ThreadLocalRandom and a SplittableRandom of every thread.
+ * @details Every new Random() takes a seed from one shared counter, so picks on many threads wait for
+ *          each other; the other two keep their state per thread. Run with ThreadSweep to compare them
+ *          on 1 to 64 threads. The model benchmarks start whole games the old way and the current way.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomBenchmark {
+
+    private static final int WORDS = 1000; // number of words to pick from
+
+    private final SplittableRandom splittable = new SplittableRandom(); // generator of this thread
+    private HangmanModel model; // game of this thread
+
+    /**
+	 * @method setUp
+     * @brief Creates the model of this thread.
+     */
+    @Setup
+    public void setUp() {
+        model = new HangmanModel(BenchmarkWords.randomWords(WORDS, 8));
+    }
+
+    /**
+	 * @method newRandomPerCall
+     * @brief Picks a word index with a new Random, as the model did before game seeds.
+     * @return Word index.
+     */
+    @Benchmark
+    public int newRandomPerCall() {
+        return new Random().nextInt(WORDS);
+    }
+
+    /**
+	 * @method threadLocalRandom
+     * @brief Picks a word index from a seed of ThreadLocalRandom, as the model does by default.
+     * @return Word index.
+     */
+    @Benchmark
+    public int threadLocalRandom() {
+        return HangmanModel.indexForSeed(ThreadLocalRandom.current().nextLong(), WORDS);
+    }
+
+    /**
+	 * @method splittableRandom
+     * @brief Picks a word index from a seed of this thread's SplittableRandom.
+     * @return Word index.
+     */
+    @Benchmark
+    public int splittableRandom() {
+        return HangmanModel.indexForSeed(splittable.nextLong(), WORDS);
+    }
+
+    /**
+	 * @method modelNewRandomPerCall
+     * @brief Starts a game on a word picked with a new Random.
+     * @return Word index.
+     */
+    @Benchmark
+    public int modelNewRandomPerCall() {
+        model.startGame(new Random().nextInt(WORDS));
+        return model.getWordIndex();
+    }
+
+    /**
+	 * @method modelStartNewGame
+     * @brief Starts a game the way the model does.
+     * @return Word index.
+     */
+    @Benchmark
+    public int modelStartNewGame() {
+        model.startNewGame();
+        return model.getWordIndex();
+    }
+}
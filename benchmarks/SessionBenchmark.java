@@ -0,0 +1,83 @@
+/**
+ * @file SessionBenchmark.java
+ * @brief This file contains the SessionBenchmark class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @class SessionBenchmark
+ * @brief Guesses through a GameSession without and with metrics, to see what measuring costs.
+ * @details Every thread plays its own sessions. Every letter is guessed in turn and a new game is started
+ *          after the last one, so a new game is spread over 26 guesses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionBenchmark {
+
+    private GameSession plain; // session without metrics
+    private GameSession measured; // session recording into metrics of this thread
+    private int letter = 0; // index of the letter guessed next
+
+    /**
+	 * @method setUp
+     * @brief Creates the sessions of this thread on a dictionary of random words.
+     */
+    @Setup
+    public void setUp() {
+        WordStore words = BenchmarkWords.randomWords(64, 8);
+        plain = new GameSession(0, words, GameLifecycleListener.NONE, null);
+        measured = new GameSession(1, words, GameLifecycleListener.NONE, new GameMetrics());
+    }
+
+    /**
+	 * @method plain
+     * @brief Guesses the next letter in the session without metrics.
+     * @return Guesses left, so that the guess can not be optimized away.
+     */
+    @Benchmark
+    public int plain() {
+        return guess(plain);
+    }
+
+    /**
+	 * @method metrics
+     * @brief Guesses the next letter in the session with metrics.
+     * @return Guesses left.
+     */
+    @Benchmark
+    public int metrics() {
+        return guess(measured);
+    }
+
+    /**
+	 * @method guess
+     * @brief Guesses the next letter of the alphabet, starting a new game before 'a'.
+     */
+    private int guess(GameSession session) {
+        if (letter == 0) {
+            session.startNewGame();
+        }
+        session.processGuess((char) ('a' + letter));
+        letter = (letter + 1) % 26;
+        return session.getGuessesLeft();
+    }
+}
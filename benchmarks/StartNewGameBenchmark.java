@@ -0,0 +1,80 @@
+/**
+ * @file StartNewGameBenchmark.java
+ * @brief This file contains the StartNewGameBenchmark class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @class StartNewGameBenchmark
+ * @brief Starting games on dictionaries of 10 to 10M words.
+ * @details The dictionary is built once and shared by all threads, every thread has its own model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class StartNewGameBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size; // number of words of the dictionary
+
+    private WordStore words; // dictionary of 8-letter random words
+
+    /**
+     * @class Game
+     * @brief Model of one thread.
+     */
+    @State(Scope.Thread)
+    public static class Game {
+        private HangmanModel model; // game of this thread
+
+        /**
+    	 * @method setUp
+         * @brief Creates the model on the shared dictionary.
+         * @param benchmark Benchmark holding the dictionary.
+         */
+        @Setup
+        public void setUp(StartNewGameBenchmark benchmark) {
+            model = new HangmanModel(benchmark.words);
+        }
+    }
+
+    /**
+	 * @method setUp
+     * @brief Builds the dictionary.
+     */
+    @Setup
+    public void setUp() {
+        words = BenchmarkWords.randomWords(size, 8);
+    }
+
+    /**
+	 * @method startNewGame
+     * @brief Starts a game on a random word.
+     * @param game Model of this thread.
+     * @return Index of the word, so that the pick can not be optimized away.
+     */
+    @Benchmark
+    public int startNewGame(Game game) {
+        game.model.startNewGame();
+        return game.model.getWordIndex();
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * @file ThreadSweep.java
+ * @brief This file contains the ThreadSweep class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * @class ThreadSweep
+ * @brief Runs benchmarks on a growing number of threads with the GC profiler and prints one table.
+ * @details Usage: <code>ThreadSweep [regex] [1,2,4,8,16,32,64]</code>; the regex selects benchmarks as
+ *          JMH does and defaults to RandomBenchmark. The table has the time per operation and the bytes
+ *          allocated per operation (gc.alloc.rate.norm) of every benchmark at every thread count.
+ */
+public class ThreadSweep {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64}; // thread counts run by default
+
+    /**
+	 * @method main
+     * @brief Runs the sweep and prints the table.
+     */
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : RandomBenchmark.class.getSimpleName();
+        int[] threadCounts = args.length > 1
+                ? Arrays.stream(args[1].split(",")).mapToInt(Integer::parseInt).toArray() : THREADS;
+
+        List<RunResult> results = new ArrayList<>();
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build();
+            results.addAll(new Runner(options).run());
+        }
+
+        System.out.printf("%n%-56s %7s %12s %10s%n", "benchmark", "threads", "ns/op", "B/op");
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark();
+            for (String key : result.getParams().getParamsKeys()) {
+                name += " " + key + "=" + result.getParams().getParam(key);
+            }
+            double bytes = Double.NaN;
+            for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+                if (secondary.getKey().endsWith("gc.alloc.rate.norm")) {
+                    bytes = secondary.getValue().getScore();
+                }
+            }
+            System.out.printf("%-56s %7d %12.2f %10.1f%n", name.replace("hangman.", ""),
+                    result.getParams().getThreads(), result.getPrimaryResult().getScore(), bytes);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * @file GameEventLogTest.java
+ * @brief This file contains the GameEventLogTest class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @class GameEventLogTest
+ * @brief Tests that the sessions of a registry come back from its event log after a restart.
+ */
+class GameEventLogTest {
+
+    private static final int SEGMENT_SIZE = 4096; // small segments, so a few games span several of them
+
+    @TempDir
+    Path directory; // directory of the log
+
+    /**
+	 * @method recoversSessionsFromEvents
+     * @brief Sessions come back with their words and guesses; closed ones do not come back.
+     */
+    @Test
+    void recoversSessionsFromEvents() throws IOException, InterruptedException {
+        List<long[]> states = new ArrayList<>();
+        long closed;
+        try (GameEventLog log = new GameEventLog(directory, SEGMENT_SIZE, 1)) {
+            GameSessionRegistry registry = new GameSessionRegistry(HangmanModel.DEFAULT_WORDS, log);
+            for (int i = 0; i < 100; i++) {
+                GameSession session = registry.createSession();
+                for (int letter = 0; letter < i % 20; letter++) {
+                    session.processGuess((char) ('a' + (letter * 7 + i) % 26));
+                }
+            }
+            closed = registry.createSession().getId();
+            registry.removeSession(closed);
+            log.sync();
+            for (GameSession session : registry.sessions()) {
+                states.add(stateOf(session));
+            }
+        }
+
+        try (GameEventLog log = new GameEventLog(directory, SEGMENT_SIZE, 1)) {
+            GameSessionRegistry registry = new GameSessionRegistry(HangmanModel.DEFAULT_WORDS, log);
+            assertTrue(log.recover(registry) > 100);
+            assertEquals(states.size(), registry.size());
+            for (long[] state : states) {
+                GameSession session = registry.getSession(state[0]);
+                assertNotNull(session);
+                assertEquals(state[1], session.getWordIndex());
+                assertEquals(state[2], session.getGuessedLetters());
+                assertEquals(state[3], session.getGameSeed());
+            }
+            assertNull(registry.getSession(closed));
+            assertTrue(registry.createSession().getId() > closed, "ids are not given out again");
+        }
+    }
+
+    /**
+	 * @method recoversSnapshotAndLaterEvents
+     * @brief Sessions saved by a snapshot come back with the guesses logged after it.
+     */
+    @Test
+    void recoversSnapshotAndLaterEvents() throws IOException, InterruptedException {
+        long[] before;
+        long[] after;
+        long untouched;
+        try (GameEventLog log = new GameEventLog(directory, SEGMENT_SIZE, 1)) {
+            GameSessionRegistry registry = new GameSessionRegistry(HangmanModel.DEFAULT_WORDS, log);
+            GameSession played = registry.createSession();
+            untouched = registry.createSession().getId();
+            for (int i = 0; i < 500; i++) {
+                registry.createSession().processGuess('e');
+            }
+            played.processGuess('a');
+            before = stateOf(played);
+            log.snapshot(registry);
+            played.processGuess('o');
+            played.processGuess('z');
+            after = stateOf(played);
+            log.sync();
+        }
+
+        try (GameEventLog log = new GameEventLog(directory, SEGMENT_SIZE, 1)) {
+            GameSessionRegistry registry = new GameSessionRegistry(HangmanModel.DEFAULT_WORDS, log);
+            assertEquals(2, log.recover(registry), "only the events after the snapshot are replayed");
+            assertEquals(502, registry.size());
+            assertTrue(registry.sessions().size() <= 1, "saved sessions are resumed when used");
+            GameSession played = registry.getSession(before[0]);
+            assertEquals(after[2], played.getGuessedLetters());
+            assertEquals(after[1], played.getWordIndex());
+            assertNotNull(registry.getSession(untouched));
+        }
+    }
+
+    /**
+	 * @method sessionCreatedDuringSnapshotSurvives
+     * @brief A session whose start is logged while a snapshot is taken comes back, with its guess.
+     * @details The creator stops between logging the start and registering the session until the snapshot
+     *          is done or half a second has passed. Without registration being atomic with respect to the
+     *          snapshot, the session would be in neither the snapshot nor the events replayed after it.
+     */
+    @Test
+    void sessionCreatedDuringSnapshotSurvives() throws Exception {
+        CountDownLatch logged = new CountDownLatch(1);
+        CountDownLatch saved = new CountDownLatch(1);
+        AtomicBoolean racing = new AtomicBoolean();
+        AtomicReference<GameSession> raced = new AtomicReference<>();
+        try (GameEventLog log = new GameEventLog(directory, SEGMENT_SIZE, 1)) {
+            GameLifecycleListener pause = new GameLifecycleListener() {
+                @Override
+                public void gameStarted(long sessionId, int wordIndex, long seed) {
+                    if (racing.getAndSet(false)) {
+                        logged.countDown();
+                        try {
+                            saved.await(500, TimeUnit.MILLISECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+            };
+            GameSessionRegistry registry = new GameSessionRegistry(HangmanModel.DEFAULT_WORDS,
+                    GameLifecycleListener.all(log, pause));
+            for (int i = 0; i < 10; i++) {
+                registry.createSession().processGuess('e');
+            }
+
+            racing.set(true);
+            Thread creator = new Thread(() -> {
+                GameSession session = registry.createSession();
+                session.processGuess('e');
+                raced.set(session);
+            });
+            creator.start();
+            logged.await();
+            Thread snapshot = new Thread(() -> {
+                try {
+                    log.snapshot(registry);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                saved.countDown();
+            });
+            snapshot.start();
+            snapshot.join();
+            creator.join();
+            log.sync();
+        }
+
+        try (GameEventLog log = new GameEventLog(directory, SEGMENT_SIZE, 1)) {
+            GameSessionRegistry registry = new GameSessionRegistry(HangmanModel.DEFAULT_WORDS, log);
+            log.recover(registry);
+            assertEquals(11, registry.size());
+            GameSession session = registry.getSession(raced.get().getId());
+            assertNotNull(session, "the session created during the snapshot was lost");
+            assertEquals(raced.get().getGuessedLetters(), session.getGuessedLetters());
+        }
+    }
+
+    /**
+	 * @method stateOf
+     * @brief Id, word index, guessed letters and seed of a session.
+     */
+    private static long[] stateOf(GameSession session) {
+        return new long[] {session.getId(), session.getWordIndex(), session.getGuessedLetters(),
+                session.getGameSeed()};
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * @file HangmanModelTest.java
+ * @brief This file contains the HangmanModelTest class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @class HangmanModelTest
+ * @brief Tests of the letter masks and the allocation-free guess path of HangmanModel.
+ */
+class HangmanModelTest {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean(); // allocation counters
+    private static final List<String> WORDS = List.of("accretion", "boisterous", "dullard", "feigned",
+            "haughty", "insipid", "noisome", "obdurate", "parsimonious", "sycophant"); // words to guess
+
+    /**
+	 * @method guessPathDoesNotAllocate
+     * @brief A million guesses, with the checks a game makes after each, allocate nothing.
+     * @details New games are started between the measured stretches, since picking a word may allocate.
+     */
+    @Test
+    void guessPathDoesNotAllocate() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "allocation counters are not supported");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        HangmanModel model = new HangmanModel(new ListWordSource(WORDS));
+
+        playGuesses(model, 200_000); // warm up, so the measured guesses run compiled code
+        assertEquals(0, playGuesses(model, 1_000_000));
+    }
+
+    /**
+	 * @method playGuesses
+     * @brief Guesses every letter in turn, starting the next word after the last letter.
+     * @param model Model to play.
+     * @param guesses Number of guesses.
+     * @return Bytes allocated by the guesses alone.
+     */
+    private static long playGuesses(HangmanModel model, int guesses) {
+        long allocated = 0;
+        long checks = 0;
+        for (int done = 0; done < guesses; ) {
+            model.startGame((model.getWordIndex() + 1) % WORDS.size());
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int letter = 0; letter < 26 && done < guesses; letter++, done++) {
+                model.processGuess((char) ('a' + letter));
+                checks += model.getGuessesLeft() + (model.isLetterGuessed('e') ? 1 : 0)
+                        + (model.isWordGuessed() ? 1 : 0) + (model.isGameOver() ? 1 : 0);
+            }
+            allocated += THREADS.getCurrentThreadAllocatedBytes() - before;
+        }
+        assertTrue(checks > 0);
+        return allocated;
+    }
+
+    /**
+	 * @method winAndLoss
+     * @brief A game is won when the mask of guessed letters covers the word and lost after six misses.
+     */
+    @Test
+    void winAndLoss() {
+        HangmanModel model = new HangmanModel(new ListWordSource(List.of("noisome")));
+        for (char letter : "nosime".toCharArray()) {
+            model.processGuess(letter);
+        }
+        assertTrue(model.isWordGuessed());
+        assertTrue(model.isGameOver());
+        assertEquals("noisome", model.getCurrentWord());
+
+        model.startGame(0);
+        for (char letter : "abcdfg".toCharArray()) {
+            model.processGuess(letter);
+        }
+        assertEquals(0, model.getGuessesLeft());
+        assertFalse(model.isWordGuessed());
+        assertTrue(model.isGameOver());
+    }
+
+    /**
+	 * @method repeatedAndFoldedGuesses
+     * @brief A letter costs a guess once, a capital counts as its letter and other characters are ignored.
+     */
+    @Test
+    void repeatedAndFoldedGuesses() {
+        HangmanModel model = new HangmanModel(new ListWordSource(List.of("dullard")));
+        model.processGuess('x');
+        model.processGuess('x');
+        model.processGuess('X');
+        model.processGuess('7');
+        assertEquals(HangmanModel.TOTAL_NUMBER_OF_GUESSES - 1, model.getGuessesLeft());
+
+        model.processGuess('L');
+        assertTrue(model.isLetterGuessed('l'));
+        assertEquals("??ll???", model.getCurrentWord());
+        assertEquals(HangmanModel.TOTAL_NUMBER_OF_GUESSES - 1, model.getGuessesLeft());
+    }
+
+    /**
+	 * @method scannedPhrasesRevealLikeTheIndex
+     * @brief A long phrase shows the same after every guess whether it is scanned, one position or a vector
+     *        at a time, or revealed through the position index.
+     */
+    @Test
+    void scannedPhrasesRevealLikeTheIndex() {
+        assertNotNull(LetterMatcher.VECTOR, "the build runs the tests with the jdk.incubator.vector module");
+        String phrase = "The quick brown fox jumps over the lazy dog, caf\u00e9 au lait. ".repeat(5) + "Fin!";
+        LetterMatcher[] matchers = {null, LetterMatcher.SCALAR, LetterMatcher.VECTOR};
+        HangmanModel[] models = new HangmanModel[matchers.length];
+        for (int m = 0; m < models.length; m++) {
+            models[m] = new HangmanModel(new ListWordSource(List.of(phrase)));
+            models[m].setLetterMatcher(matchers[m]);
+            models[m].startGame(0);
+        }
+        String hidden = models[0].getCurrentWord();
+        assertEquals(phrase.replaceAll("[A-Za-z\\u00e9]", "?"), hidden);
+        for (char letter = 'a'; letter <= 'z'; letter++) {
+            for (HangmanModel model : models) {
+                model.processGuess(letter);
+            }
+            for (int m = 1; m < models.length; m++) {
+                assertEquals(models[0].getCurrentWord(), models[m].getCurrentWord(), "after " + letter);
+            }
+        }
+        assertEquals(phrase, models[2].getCurrentWord());
+        assertTrue(models[2].isWordGuessed());
+    }
+}
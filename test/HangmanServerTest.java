@@ -0,0 +1,280 @@
+/**
+ * @file HangmanServerTest.java
+ * @brief This file contains the HangmanServerTest class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @class HangmanServerTest
+ * @brief Tests of the server protocol, played over real sockets.
+ */
+class HangmanServerTest {
+
+    private GameSessionRegistry sessions; // sessions of the server
+    private HangmanServer server; // server under test
+
+    /**
+	 * @method start
+     * @brief Starts a server with one event loop on a free port.
+     */
+    @BeforeEach
+    void start() throws IOException {
+        sessions = new GameSessionRegistry();
+        server = new HangmanServer(0, 1, sessions, null);
+    }
+
+    /**
+	 * @method stop
+     * @brief Stops the server.
+     */
+    @AfterEach
+    void stop() throws IOException {
+        server.close();
+    }
+
+    /**
+	 * @method resumesAfterReconnecting
+     * @brief A client that comes back takes its game back with the id it was greeted with.
+     */
+    @Test
+    void resumesAfterReconnecting() throws IOException {
+        long id;
+        String state;
+        try (Client client = new Client()) {
+            id = client.greeting();
+            state = client.request("GUESS e");
+            assertTrue(state.startsWith("OK "), state);
+        }
+        try (Client client = new Client()) {
+            long other = client.greeting();
+            assertEquals(state, client.request("RESUME " + id), "the session went away with its connection");
+            assertNull(sessions.getSession(other), "the unused session of the new connection is kept");
+            assertTrue(client.request("GUESS e").startsWith("OK "));
+            assertEquals(1 << ('e' - 'a'), sessions.getSession(id).getGuessedLetters());
+        }
+    }
+
+    /**
+	 * @method rejectsUnknownSessions
+     * @brief RESUME of an id nobody has or of something else than a number is an error.
+     */
+    @Test
+    void rejectsUnknownSessions() throws IOException {
+        try (Client client = new Client()) {
+            client.greeting();
+            assertEquals("ERR no session 999", client.request("RESUME 999"));
+            assertEquals("ERR no session with that id", client.request("RESUME x1"));
+        }
+    }
+
+    /**
+	 * @method quitEndsTheSession
+     * @brief QUIT removes the session along with the connection.
+     */
+    @Test
+    void quitEndsTheSession() throws IOException, InterruptedException {
+        try (Client client = new Client()) {
+            long id = client.greeting();
+            client.request("STATE");
+            client.send("QUIT");
+            SessionExpiryTest.waitFor(() -> sessions.getSession(id) == null);
+        }
+        assertEquals(0, sessions.size());
+    }
+
+    /**
+	 * @method expiredSessionIsReplaced
+     * @brief A request in a session removed meanwhile starts a new session and says so.
+     */
+    @Test
+    void expiredSessionIsReplaced() throws IOException {
+        try (Client client = new Client()) {
+            long id = client.greeting();
+            sessions.removeSession(id);
+            String reply = client.request("STATE");
+            assertTrue(reply.startsWith("ERR session expired, new session "), reply);
+            long next = Long.parseLong(reply.substring(reply.lastIndexOf(' ') + 1));
+            assertNotNull(sessions.getSession(next));
+            assertTrue(client.request("STATE").startsWith("OK "));
+        }
+    }
+
+    /**
+	 * @method playsOtherAlphabets
+     * @brief Letters of the dictionary's alphabet are guessed and shown in UTF-8, capitals folded.
+     */
+    @Test
+    void playsOtherAlphabets() throws IOException {
+        server.close();
+        sessions = new GameSessionRegistry(new WordSource() {
+            @Override
+            public int size() {
+                return 1;
+            }
+
+            @Override
+            public String getWord(int index) {
+                return "\u043a\u043e\u0442";
+            }
+
+            @Override
+            public Alphabet getAlphabet() {
+                return Alphabet.RUSSIAN;
+            }
+        });
+        server = new HangmanServer(0, 1, sessions, null);
+        try (Client client = new Client()) {
+            client.greeting();
+            assertTrue(client.request("GUESS \u043a").startsWith("OK \u043a?? "));
+            assertTrue(client.request("GUESS \u041e").startsWith("OK \u043a\u043e? "));
+            assertTrue(client.request("GUESS e").startsWith("ERR letter must be one of "));
+            assertTrue(client.request("GUESS \u043a\u043e").startsWith("ERR letter must be one of "));
+            String won = client.request("GUESS \u0442");
+            assertTrue(won.matches("OK \u043a\u043e\u0442 \\d+ WON"), won);
+        }
+    }
+
+    /**
+	 * @method throttlesClientsThatDoNotRead
+     * @brief A client sending requests without reading the replies is stopped, and gets every reply later.
+     * @details The requests are more than the socket buffers hold, so once the server stops reading from the
+     *          client the games it starts stop growing while the client is still sending.
+     */
+    @Test
+    void throttlesClientsThatDoNotRead() throws Exception {
+        server.close();
+        AtomicLong started = new AtomicLong();
+        sessions = new GameSessionRegistry(HangmanModel.DEFAULT_WORDS, new GameLifecycleListener() {
+            @Override
+            public void gameStarted(long sessionId, int wordIndex, long seed) {
+                started.incrementAndGet();
+            }
+        });
+        server = new HangmanServer(0, 1, sessions, null);
+
+        int requests = 1_000_000;
+        byte[] chunk = new byte[4 * 1000];
+        for (int i = 0; i < chunk.length; i += 4) {
+            System.arraycopy("NEW\n".getBytes(StandardCharsets.US_ASCII), 0, chunk, i, 4);
+        }
+        try (Socket flooding = new Socket(); Client other = new Client()) {
+            flooding.setReceiveBufferSize(8 * 1024);
+            flooding.setSendBufferSize(8 * 1024);
+            flooding.connect(new InetSocketAddress("localhost", server.getPort()));
+            Thread sender = new Thread(() -> {
+                try {
+                    OutputStream out = flooding.getOutputStream();
+                    for (int i = 0; i < requests / 1000; i++) {
+                        out.write(chunk);
+                    }
+                } catch (IOException e) {
+                    // the test fails on the count of replies
+                }
+            });
+            sender.setDaemon(true);
+            sender.start();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            long before;
+            do {
+                before = started.get();
+                Thread.sleep(500);
+            } while (started.get() != before && System.nanoTime() < deadline);
+            assertEquals(before, started.get(), "the server kept reading from a client that does not read");
+            assertTrue(before < requests / 2, before + " requests were played without reading a reply");
+            assertTrue(sender.isAlive());
+            other.greeting();
+            assertTrue(other.request("STATE").startsWith("OK "), "the server stopped answering others");
+
+            InputStream in = flooding.getInputStream();
+            byte[] buffer = new byte[64 * 1024];
+            long lines = 0;
+            while (lines < requests + 1) { // the greeting and a reply to every request
+                int read = in.read(buffer);
+                assertFalse(read < 0, "the connection was closed after " + lines + " lines");
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+            }
+            sender.join();
+            assertEquals(0, in.available(), "more replies than requests");
+        }
+    }
+
+    /**
+     * @class Client
+     * @brief Blocking client of the test server.
+     */
+    private final class Client implements Closeable {
+        private final Socket socket; // connection to the server
+        private final BufferedReader in; // reply lines
+        private final OutputStream out; // request lines
+
+        Client() throws IOException {
+            socket = new Socket("localhost", server.getPort());
+            socket.setSoTimeout(10_000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = socket.getOutputStream();
+        }
+
+        /**
+    	 * @method greeting
+         * @brief Reads the greeting.
+         * @return Id of the session of the connection.
+         */
+        long greeting() throws IOException {
+            String line = in.readLine();
+            assertTrue(line.startsWith("HELLO "), line);
+            return Long.parseLong(line.substring(6));
+        }
+
+        /**
+    	 * @method send
+         * @brief Sends a request line.
+         */
+        void send(String line) throws IOException {
+            out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+
+        /**
+    	 * @method request
+         * @brief Sends a request line and reads its reply.
+         */
+        String request(String line) throws IOException {
+            send(line);
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * @file SessionCheckpointTest.java
+ * @brief This file contains the SessionCheckpointTest class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @class SessionCheckpointTest
+ * @brief Tests of sessions resumed from a checkpoint when first used, and of their expiry.
+ */
+class SessionCheckpointTest {
+
+    private static final int SESSIONS = 1000; // sessions saved in the checkpoint
+
+    /**
+	 * @method resumesSessionsWhenUsed
+     * @brief Saved sessions are counted at once but restored only when looked up, with their game state.
+     */
+    @Test
+    void resumesSessionsWhenUsed() {
+        GameSessionRegistry saved = playedRegistry();
+        GameSessionRegistry registry = new GameSessionRegistry();
+        registry.resumeLazily(checkpointOf(saved));
+
+        assertEquals(SESSIONS, registry.size());
+        assertEquals(0, registry.sessions().size());
+        for (GameSession before : saved.sessions()) {
+            GameSession after = registry.getSession(before.getId());
+            assertNotNull(after);
+            assertEquals(before.getWordIndex(), after.getWordIndex());
+            assertEquals(before.getGuessedLetters(), after.getGuessedLetters());
+            assertEquals(before.getGameSeed(), after.getGameSeed());
+            assertEquals(before.getCurrentWord(), after.getCurrentWord());
+        }
+        assertEquals(SESSIONS, registry.sessions().size());
+        assertEquals(SESSIONS, registry.size());
+        assertNull(registry.getSession(SESSIONS + 5));
+    }
+
+    /**
+	 * @method savesWithoutResuming
+     * @brief A snapshot of a registry with a checkpoint copies the saved sessions without resuming them.
+     */
+    @Test
+    void savesWithoutResuming() {
+        GameSessionRegistry saved = playedRegistry();
+        GameSessionRegistry registry = new GameSessionRegistry();
+        registry.resumeLazily(checkpointOf(saved));
+        GameSession played = registry.getSession(7);
+        played.processGuess('q');
+        registry.removeSession(8);
+        GameSession created = registry.createSession();
+        assertTrue(created.getId() >= SESSIONS, "ids of saved sessions are given out again");
+
+        GameSessionRegistry copy = new GameSessionRegistry();
+        copy.resumeLazily(checkpointOf(registry));
+        assertEquals(2, registry.sessions().size(), "saving resumed sessions");
+        assertEquals(SESSIONS, copy.size(), "one session removed and one created");
+        assertEquals(played.getGuessedLetters(), copy.getSession(7).getGuessedLetters());
+        assertNull(copy.getSession(8));
+        assertNotNull(copy.getSession(created.getId()));
+    }
+
+    /**
+	 * @method savedSessionsExpire
+     * @brief Saved sessions count as idle since the checkpoint was opened; one played since is kept.
+     */
+    @Test
+    void savedSessionsExpire() throws InterruptedException {
+        GameSessionRegistry registry = new GameSessionRegistry();
+        registry.resumeLazily(checkpointOf(playedRegistry()));
+        try (SessionExpiry expiry = registry.expireIdle(2000, 10, null)) {
+            GameSession played = registry.getSession(3);
+            Thread.sleep(1000);
+            played.processGuess('z');
+            SessionExpiryTest.waitFor(() -> registry.size() == 1);
+            assertEquals(played, registry.getSession(3));
+        }
+    }
+
+    /**
+	 * @method playedRegistry
+     * @brief Registry of sessions with ids 0 to SESSIONS-1 and a few guesses in each.
+     */
+    private static GameSessionRegistry playedRegistry() {
+        GameSessionRegistry registry = new GameSessionRegistry();
+        for (int i = 0; i < SESSIONS; i++) {
+            GameSession session = registry.createSession();
+            for (int letter = 0; letter < i % 8; letter++) {
+                session.processGuess((char) ('a' + (letter * 5 + i) % 26));
+            }
+        }
+        return registry;
+    }
+
+    /**
+	 * @method checkpointOf
+     * @brief Saves the sessions of a registry into a checkpoint, as a snapshot does.
+     */
+    private static SessionCheckpoint checkpointOf(GameSessionRegistry registry) {
+        ByteBuffer records = registry.saveSessions(0);
+        return new SessionCheckpoint(records, 0, records.position() / SessionCheckpoint.RECORD_SIZE);
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * @file SessionExpiryTest.java
+ * @brief This file contains the SessionExpiryTest class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @class SessionExpiryTest
+ * @brief Tests of the timer wheel removing idle sessions.
+ * @details Times are generous, so that a slow machine does not fail the tests: a session must be gone
+ *          within seconds after its time to live and must still be there well before it.
+ */
+class SessionExpiryTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000; // longest wait for a session to expire
+
+    /**
+	 * @method idleSessionsExpire
+     * @brief Idle sessions are removed and handed to the callback, active ones are kept.
+     */
+    @Test
+    void idleSessionsExpire() throws InterruptedException {
+        GameSessionRegistry registry = new GameSessionRegistry();
+        List<GameSession> expired = new CopyOnWriteArrayList<>();
+        GameSession idle = registry.createSession();
+        GameSession active = registry.createSession();
+        try (SessionExpiry expiry = registry.expireIdle(300, 10, expired::add)) {
+            GameSession later = registry.createSession();
+            long end = System.currentTimeMillis() + 1500;
+            while (System.currentTimeMillis() < end) {
+                active.startNewGame();
+                Thread.sleep(20);
+            }
+            assertNull(registry.getSession(idle.getId()));
+            assertNull(registry.getSession(later.getId()), "sessions created after the start expire too");
+            assertNotNull(registry.getSession(active.getId()));
+            assertTrue(expired.contains(idle) && expired.contains(later) && !expired.contains(active));
+
+            waitFor(() -> registry.size() == 0);
+            assertEquals(3, expired.size());
+        }
+    }
+
+    /**
+	 * @method deadlinesBeyondOneTurn
+     * @brief A time to live longer than a turn of the wheel is waited for in whole.
+     */
+    @Test
+    void deadlinesBeyondOneTurn() throws InterruptedException {
+        GameSessionRegistry registry = new GameSessionRegistry();
+        GameSession session = registry.createSession();
+        try (SessionExpiry expiry = registry.expireIdle(2000, 1, null)) { // 512 buckets of 1 ms
+            Thread.sleep(1000);
+            assertNotNull(registry.getSession(session.getId()), "expired before its time to live");
+            waitFor(() -> registry.getSession(session.getId()) == null);
+        }
+    }
+
+    /**
+	 * @method removedSessionsAreForgotten
+     * @brief A session removed by hand is not handed to the callback.
+     */
+    @Test
+    void removedSessionsAreForgotten() throws InterruptedException {
+        GameSessionRegistry registry = new GameSessionRegistry();
+        List<GameSession> expired = new CopyOnWriteArrayList<>();
+        GameSession removed = registry.createSession();
+        GameSession kept = registry.createSession();
+        try (SessionExpiry expiry = registry.expireIdle(100, 10, expired::add)) {
+            registry.removeSession(removed.getId());
+            waitFor(() -> registry.size() == 0);
+            assertEquals(List.of(kept), expired);
+        }
+    }
+
+    /**
+	 * @method rejectsBadArguments
+     * @brief Times must be positive and a registry has one expiry at a time.
+     */
+    @Test
+    void rejectsBadArguments() {
+        GameSessionRegistry registry = new GameSessionRegistry();
+        assertThrows(IllegalArgumentException.class, () -> registry.expireIdle(0, 10, null));
+        assertThrows(IllegalArgumentException.class, () -> registry.expireIdle(100, -1, null));
+        try (SessionExpiry expiry = registry.expireIdle(100, 10, null)) {
+            assertThrows(IllegalStateException.class, () -> registry.expireIdle(100, 10, null));
+        }
+    }
+
+    /**
+	 * @method waitFor
+     * @brief Waits until a condition holds, failing after TIMEOUT_MILLIS.
+     */
+    static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < end, "timed out");
+            Thread.sleep(10);
+        }
+    }
+}
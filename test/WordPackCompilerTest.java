@@ -0,0 +1,180 @@
+/**
+ * @file WordPackCompilerTest.java
+ * @brief This file contains the WordPackCompilerTest class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @class WordPackCompilerTest
+ * @brief Tests that compiled packs hold every valid word once, sorted, and find words by perfect hash.
+ */
+class WordPackCompilerTest {
+
+    @TempDir
+    Path directory; // word lists and packs
+
+    /**
+	 * @method compilesDistinctSortedWords
+     * @brief Lines are folded, invalid ones are counted and left out, duplicates are dropped across files.
+     */
+    @Test
+    void compilesDistinctSortedWords() throws IOException {
+        Path first = write("first.txt", "  Haughty", "dullard", "", "two words", "x7", "feigned", "dullard");
+        Path second = write("second.txt", "DULLARD", "insipid", "caf\u00e9", "haughty");
+        WordPackCompiler compiler = new WordPackCompiler();
+        Path pack = directory.resolve("words.pack");
+        compiler.compile(pack, List.of(first, second));
+
+        assertEquals(11, compiler.getLines());
+        assertEquals(2, compiler.getInvalid());
+        assertEquals(3, compiler.getDuplicates());
+        assertEquals(5, compiler.getWords());
+        assertEquals(List.of("cafe", "dullard", "feigned", "haughty", "insipid"), wordsOf(WordPackSource.open(pack)));
+    }
+
+    /**
+	 * @method spilledRunsGiveTheSamePack
+     * @brief Runs of a few words, spilled and merged, give the same words as one run in memory.
+     */
+    @Test
+    void spilledRunsGiveTheSamePack() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            lines.add(word(i % 3000)); // every word up to 2000 twice
+        }
+        Path input = write("many.txt", lines.toArray(new String[0]));
+
+        WordPackCompiler inMemory = new WordPackCompiler();
+        inMemory.compile(directory.resolve("memory.pack"), List.of(input));
+        WordPackCompiler spilled = new WordPackCompiler(7, Alphabet.ENGLISH);
+        spilled.compile(directory.resolve("spilled.pack"), List.of(input));
+
+        assertEquals(3000, spilled.getWords());
+        assertEquals(2000, spilled.getDuplicates());
+        assertEquals(wordsOf(WordPackSource.open(directory.resolve("memory.pack"))),
+                wordsOf(WordPackSource.open(directory.resolve("spilled.pack"))));
+    }
+
+    /**
+	 * @method findsWordsByHash
+     * @brief indexOf finds every word at its id and nothing else, and the metadata describes the words.
+     */
+    @Test
+    void findsWordsByHash() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            lines.add(word(i));
+        }
+        Path pack = directory.resolve("words.pack");
+        new WordPackCompiler().compile(pack, List.of(write("words.txt", lines.toArray(new String[0]))));
+
+        WordPackSource source = WordPackSource.open(pack);
+        assertTrue(source.isIndexed());
+        for (int id = 0; id < source.size(); id++) {
+            String word = source.getWord(id);
+            assertEquals(id, source.indexOf(word));
+            assertEquals(word.length(), source.getLength(id));
+            assertEquals(Alphabet.ENGLISH.letterMask(word), source.getLetterMask(id));
+        }
+        assertEquals(-1, source.indexOf("notinthepack"));
+        assertEquals(-1, source.indexOf(""));
+    }
+
+    /**
+	 * @method compilesOtherAlphabets
+     * @brief Words of another alphabet are folded to its small letters, rated with its letter frequencies, and
+     *        English lines are invalid.
+     */
+    @Test
+    void compilesOtherAlphabets() throws IOException {
+        String cat = "\u043a\u043e\u0442";
+        String house = "\u0434\u043e\u043c";
+        Path input = write("russian.txt", cat, "\u041a\u041e\u0422", house, "cat");
+        WordPackCompiler compiler = new WordPackCompiler(WordPackCompiler.DEFAULT_RUN_WORDS, Alphabet.RUSSIAN);
+        Path pack = directory.resolve("russian.pack");
+        compiler.compile(pack, List.of(input));
+
+        assertEquals(1, compiler.getInvalid());
+        assertEquals(1, compiler.getDuplicates());
+        WordPackSource source = WordPackSource.open(pack);
+        assertEquals(Alphabet.RUSSIAN, source.getAlphabet());
+        assertEquals(List.of(house, cat), wordsOf(source));
+        assertEquals(1, source.indexOf(cat));
+        int catLetters = Alphabet.RUSSIAN.letterMask(cat);
+        assertEquals(WordStore.difficultyOf(catLetters, Alphabet.RUSSIAN), source.getDifficulty(1));
+        assertTrue(source.getDifficulty(0) > source.getDifficulty(1), "\u0434\u043e\u043c has rarer letters");
+    }
+
+    /**
+	 * @method normalizesPhrases
+     * @brief Phrases keep punctuation and single spaces, and are dropped for letters of other alphabets.
+     */
+    @Test
+    void normalizesPhrases() {
+        WordPackCompiler compiler = new WordPackCompiler(WordPackCompiler.DEFAULT_RUN_WORDS, Alphabet.ENGLISH, true);
+        assertEquals("hello, world!", compiler.normalize("  Hello,\t  World!  "));
+        assertNull(compiler.normalize("1, 2, 3"));
+        assertNull(compiler.normalize("hello \u043c\u0438\u0440"));
+    }
+
+    /**
+	 * @method rejectsListsWithoutWords
+     * @brief A pack is not written when no line is a valid word.
+     */
+    @Test
+    void rejectsListsWithoutWords() throws IOException {
+        Path input = write("empty.txt", "", "123", "!!!");
+        assertThrows(IOException.class, () -> new WordPackCompiler().compile(directory.resolve("empty.pack"),
+                List.of(input)));
+    }
+
+    /**
+	 * @method word
+     * @brief Distinct word for a number: its digits base 26 as letters.
+     */
+    private static String word(int number) {
+        StringBuilder word = new StringBuilder("w");
+        do {
+            word.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        return word.toString();
+    }
+
+    /**
+	 * @method write
+     * @brief Writes lines to a file of the test directory.
+     */
+    private Path write(String name, String... lines) throws IOException {
+        return Files.write(directory.resolve(name), List.of(lines), StandardCharsets.UTF_8);
+    }
+
+    /**
+	 * @method wordsOf
+     * @brief All words of a pack, by id.
+     */
+    private static List<String> wordsOf(WordSource source) {
+        List<String> words = new ArrayList<>();
+        for (int id = 0; id < source.size(); id++) {
+            words.add(source.getWord(id));
+        }
+        return words;
+    }
+}
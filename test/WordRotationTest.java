@@ -0,0 +1,104 @@
+/**
+ * @file WordRotationTest.java
+ * @brief This file contains the WordRotationTest class.
+ * @author Sergei Rogov U231N0051
+ * @date 18.10.2026
+ */
+package hangman;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @class WordRotationTest
+ * @brief Tests that a rotation gives every word once per pass, in an order depending on its key.
+ */
+class WordRotationTest {
+
+    /**
+	 * @method everyPassIsAPermutation
+     * @brief Each pass gives every index of the dictionary exactly once, also around powers of four.
+     */
+    @Test
+    void everyPassIsAPermutation() {
+        for (int size : new int[] {1, 2, 3, 4, 5, 15, 16, 17, 1000, 4095, 4096, 4097, 100_000}) {
+            WordRotation rotation = new WordRotation(size, size * 31L);
+            for (int pass = 0; pass < 3; pass++) {
+                int[] order = pass(rotation);
+                BitSet seen = new BitSet(size);
+                for (int index : order) {
+                    assertTrue(index >= 0 && index < size, index + " is not in a dictionary of " + size);
+                    assertFalse(seen.get(index), index + " was given twice in a pass over " + size);
+                    seen.set(index);
+                }
+            }
+        }
+    }
+
+    /**
+	 * @method ordersDependOnTheKey
+     * @brief Different keys and the passes of one key give different orders, not the identity.
+     */
+    @Test
+    void ordersDependOnTheKey() {
+        int size = 1000;
+        WordRotation rotation = new WordRotation(size, 1);
+        int[] first = pass(rotation);
+        int[] second = pass(rotation);
+        assertFalse(Arrays.equals(first, second), "the next pass repeats the order");
+        assertTrue(rotation.getKey() != 1, "the next pass keeps the key");
+        assertFalse(Arrays.equals(first, pass(new WordRotation(size, 2))), "two keys give one order");
+
+        int inPlace = 0;
+        for (int i = 0; i < size; i++) {
+            inPlace += first[i] == i ? 1 : 0;
+        }
+        assertTrue(inPlace < 20, inPlace + " words keep their place");
+    }
+
+    /**
+	 * @method restoredRotationContinues
+     * @brief A rotation restored from its key and position goes on with the same words.
+     */
+    @Test
+    void restoredRotationContinues() {
+        WordRotation rotation = new WordRotation(777, 42);
+        for (int i = 0; i < 500; i++) {
+            rotation.next();
+        }
+        WordRotation restored = new WordRotation(777, rotation.getKey(), rotation.getPosition());
+        assertEquals(500, restored.getPosition());
+        assertArrayEquals(pass(rotation), pass(restored));
+    }
+
+    /**
+	 * @method rejectsBadArguments
+     * @brief The dictionary must not be empty and the position must be in it.
+     */
+    @Test
+    void rejectsBadArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new WordRotation(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new WordRotation(10, 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> new WordRotation(10, 1, 11));
+    }
+
+    /**
+	 * @method pass
+     * @brief Takes as many words from a rotation as its dictionary has.
+     */
+    private static int[] pass(WordRotation rotation) {
+        int[] order = new int[rotation.getSize()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = rotation.next();
+        }
+        return order;
+    }
+}